@@ -3,6 +3,7 @@ package com.library.management;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot Application Class
@@ -16,9 +17,13 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
  * 
  * @EnableJpaAuditing enables automatic auditing of JPA entities
  * (like automatically setting created/updated timestamps)
+ * 
+ * @EnableScheduling enables @Scheduled background jobs
+ * (like reconciling the in-memory book statistics)
  */
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class LibraryManagementApplication {
 
     /**
@@ -0,0 +1,57 @@
+package com.library.management.config;
+
+import com.library.management.service.cache.TwoTierCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Cache Configuration
+ *
+ * Enables the Spring cache abstraction for BookService reads. Every cache is
+ * two-tiered: a local Caffeine near-cache in front of a remote tier. The remote
+ * tier is any CacheManager bean named "remoteCacheManager"; an in-process stand-in
+ * is registered with library.cache.remote-tier=in-memory.
+ *
+ * Entries are evicted after commit by BookCacheEventListener whenever a book
+ * changes.
+ *
+ * @Configuration: Marks this class as a configuration class
+ * @EnableCaching: Activates @Cacheable processing
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache names used by BookService
+     */
+    public static final String BOOKS_BY_ID = "booksById";
+    public static final String BOOKS_BY_ISBN = "booksByIsbn";
+    public static final String AVAILABLE_BOOKS = "availableBooks";
+    public static final String BOOKS_BY_LANGUAGE = "booksByLanguage";
+    public static final String BOOKS_BY_STATUS = "booksByStatus";
+
+    /**
+     * Create the two-tier cache manager used by @Cacheable
+     *
+     * @param properties library properties
+     * @param remoteCacheManager the remote tier, if a bean named "remoteCacheManager" exists
+     * @return cache manager
+     */
+    @Bean
+    @Primary
+    public CacheManager cacheManager(LibraryProperties properties,
+                                     @Qualifier("remoteCacheManager") ObjectProvider<CacheManager> remoteCacheManager) {
+        CacheManager remote = remoteCacheManager.getIfAvailable();
+        if (remote == null && properties.getCache().getRemoteTier() == LibraryProperties.RemoteTier.IN_MEMORY) {
+            remote = new ConcurrentMapCacheManager();
+        }
+        return new TwoTierCacheManager(properties.getCache(), remote);
+    }
+}
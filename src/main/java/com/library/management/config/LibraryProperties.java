@@ -0,0 +1,406 @@
+package com.library.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Library Properties
+ *
+ * Type-safe binding for the application specific "library.*" settings.
+ * Each nested class groups the settings of one feature.
+ *
+ * @ConfigurationProperties: Binds properties with the given prefix to this class
+ * @Data: Lombok annotation for getters, setters, toString, etc.
+ */
+@Component
+@ConfigurationProperties(prefix = "library")
+@Data
+public class LibraryProperties {
+
+    /**
+     * Book statistics settings
+     */
+    private Statistics statistics = new Statistics();
+
+    /**
+     * Book search settings
+     */
+    private Search search = new Search();
+
+    /**
+     * User activity leaderboard settings
+     */
+    private Leaderboard leaderboard = new Leaderboard();
+
+    /**
+     * Hibernate second-level cache settings
+     */
+    private SecondLevelCache secondLevelCache = new SecondLevelCache();
+
+    /**
+     * Service level (Spring) cache settings
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * Book inventory (copy count) settings
+     */
+    private Inventory inventory = new Inventory();
+
+    /**
+     * Bulk catalog import settings
+     */
+    private CatalogImport catalogImport = new CatalogImport();
+
+    /**
+     * Archival of soft deleted rows
+     */
+    private Archive archive = new Archive();
+
+    /**
+     * Overdue detection settings
+     */
+    private Overdue overdue = new Overdue();
+
+    /**
+     * Nightly fine accrual settings
+     */
+    private FineAccrual fineAccrual = new FineAccrual();
+
+    /**
+     * Per-user borrowing summary cache settings
+     */
+    private BorrowingSummary borrowingSummary = new BorrowingSummary();
+
+    /**
+     * Book Statistics Settings
+     */
+    @Data
+    public static class Statistics {
+
+        /**
+         * How /books/statistics is answered
+         */
+        private StatisticsMode mode = StatisticsMode.QUERY;
+
+        /**
+         * Delay between two reconciliations of the in-memory counters (milliseconds)
+         */
+        private long reconcileIntervalMs = 60000;
+    }
+
+    /**
+     * Book Search Settings
+     */
+    @Data
+    public static class Search {
+
+        /**
+         * Which engine answers full-text book searches
+         */
+        private SearchMode mode = SearchMode.LIKE;
+
+        /**
+         * Number of books read per batch when building the in-process index
+         */
+        private int indexBatchSize = 1000;
+
+        /**
+         * Delay between two checks whether the in-process index needs compaction (milliseconds)
+         */
+        private long indexCompactionIntervalMs = 300000;
+    }
+
+    /**
+     * User Activity Leaderboard Settings
+     */
+    @Data
+    public static class Leaderboard {
+
+        /**
+         * Number of users tracked per leaderboard period (bounds memory use)
+         */
+        private int capacity = 1000;
+
+        /**
+         * Months (1-12) in which an academic term starts
+         */
+        private List<Integer> termStartMonths = new ArrayList<>(List.of(1, 9));
+
+        /**
+         * When the leaderboards are rebuilt from the borrowing records (cron expression)
+         */
+        private String rebuildCron = "0 30 2 * * *";
+    }
+
+    /**
+     * Hibernate Second-Level Cache Settings
+     */
+    @Data
+    public static class SecondLevelCache {
+
+        /**
+         * Default maximum number of entries per cache region
+         */
+        private long maximumSize = 10000;
+
+        /**
+         * Default time after which a cached entry expires
+         */
+        private Duration timeToLive = Duration.ofMinutes(30);
+
+        /**
+         * Per-region overrides, keyed by region name (books, users, borrowing-records,
+         * default-query-results-region)
+         */
+        private Map<String, Region> regions = new HashMap<>();
+    }
+
+    /**
+     * Settings of a single cache region (unset values fall back to the defaults)
+     */
+    @Data
+    public static class Region {
+
+        /**
+         * Maximum number of entries in the region
+         */
+        private Long maximumSize;
+
+        /**
+         * Time after which an entry of the region expires
+         */
+        private Duration timeToLive;
+    }
+
+    /**
+     * Service Level Cache Settings
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * Maximum number of entries per cache in the local near-cache
+         */
+        private long nearMaximumSize = 10000;
+
+        /**
+         * Time after which a near-cache entry expires; bounds how long another
+         * instance can serve a value that was changed elsewhere
+         */
+        private Duration nearTimeToLive = Duration.ofSeconds(60);
+
+        /**
+         * Which remote tier sits behind the near-cache
+         */
+        private RemoteTier remoteTier = RemoteTier.NONE;
+    }
+
+    /**
+     * Book Inventory Settings
+     */
+    @Data
+    public static class Inventory {
+
+        /**
+         * How concurrent changes to copy counts are serialized
+         */
+        private InventoryMode mode = InventoryMode.OPTIMISTIC;
+
+        /**
+         * Attempts of an operation that keeps hitting optimistic locking conflicts
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * Base delay between two attempts; grows with each attempt and is jittered (milliseconds)
+         */
+        private long retryBackoffMs = 10;
+    }
+
+    /**
+     * Bulk Catalog Import Settings
+     */
+    @Data
+    public static class CatalogImport {
+
+        /**
+         * Books written per transaction; bounds memory use and the work lost when a chunk fails
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Row errors listed in the import result; further errors are only counted
+         */
+        private int maxReportedErrors = 1000;
+    }
+
+    /**
+     * Soft Delete Archive Settings
+     */
+    @Data
+    public static class Archive {
+
+        /**
+         * How long a row stays deleted in its live table before it is archived
+         */
+        private Duration retention = Duration.ofDays(90);
+
+        /**
+         * Rows moved per transaction
+         */
+        private int batchSize = 1000;
+
+        /**
+         * When the archive job runs (Spring cron expression)
+         */
+        private String cron = "0 0 3 * * *";
+    }
+
+    /**
+     * Overdue Detection Settings
+     */
+    @Data
+    public static class Overdue {
+
+        /**
+         * Day slots of the timing wheel; loans due further ahead wait in an overflow map
+         */
+        private int wheelSlots = 128;
+
+        /**
+         * Loans flipped to OVERDUE per UPDATE statement
+         */
+        private int batchSize = 500;
+
+        /**
+         * When loans that fell due are flipped to OVERDUE (Spring cron expression)
+         */
+        private String tickCron = "0 5 0 * * *";
+
+        /**
+         * Interval of the rebuild of the timing wheel from the database
+         */
+        private long rebuildIntervalMs = 3600000;
+    }
+
+    /**
+     * Fine Accrual Settings
+     */
+    @Data
+    public static class FineAccrual {
+
+        /**
+         * When the fines of overdue loans are brought up to date (Spring cron expression)
+         */
+        private String cron = "0 30 0 * * *";
+
+        /**
+         * Loans per chunk; each chunk is one UPDATE in its own transaction
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Chunks processed at the same time
+         */
+        private int parallelism = 4;
+    }
+
+    /**
+     * Borrowing Summary Settings
+     */
+    @Data
+    public static class BorrowingSummary {
+
+        /**
+         * Maximum number of summaries kept in the in-process cache
+         */
+        private long cacheMaximumSize = 10000;
+
+        /**
+         * Time after which a cached summary expires; bounds how long a summary
+         * changed by another instance can be served
+         */
+        private Duration cacheTimeToLive = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Statistics Mode Enumeration
+     */
+    public enum StatisticsMode {
+        /**
+         * One aggregate SQL query per request
+         */
+        QUERY,
+
+        /**
+         * In-memory counters maintained from book mutations
+         */
+        COUNTERS
+    }
+
+    /**
+     * Search Mode Enumeration
+     */
+    public enum SearchMode {
+        /**
+         * LOWER(...) LIKE '%term%' over the searchable columns
+         */
+        LIKE,
+
+        /**
+         * PostgreSQL tsvector/GIN index ranked with ts_rank
+         */
+        FULL_TEXT,
+
+        /**
+         * In-process inverted index built from the catalog at startup
+         */
+        INDEX
+    }
+
+    /**
+     * Remote Cache Tier Enumeration
+     *
+     * A bean of type CacheManager named "remoteCacheManager" (for example a
+     * RedisCacheManager) is always used as the remote tier when present.
+     */
+    public enum RemoteTier {
+        /**
+         * Near-cache only
+         */
+        NONE,
+
+        /**
+         * In-process map standing in for a shared cache (tests, single instance)
+         */
+        IN_MEMORY
+    }
+
+    /**
+     * Inventory Mode Enumeration
+     */
+    public enum InventoryMode {
+        /**
+         * Read-modify-write checked by the entity version, retried on conflict
+         */
+        OPTIMISTIC,
+
+        /**
+         * Read-modify-write under a SELECT ... FOR UPDATE row lock
+         */
+        PESSIMISTIC,
+
+        /**
+         * Single conditional UPDATE statement, e.g. copies_available - 1 WHERE copies_available > 0
+         */
+        ATOMIC
+    }
+}
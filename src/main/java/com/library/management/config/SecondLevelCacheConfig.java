@@ -0,0 +1,101 @@
+package com.library.management.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Second-Level Cache Configuration
+ *
+ * Hibernate caches Book, User and BorrowingRecord entities and the results of
+ * cacheable queries in local Caffeine caches, accessed through the JCache API.
+ * No external cache service is involved.
+ *
+ * Every region is created here with the size and time-to-live from the
+ * "library.second-level-cache.*" properties, then handed to Hibernate's JCache
+ * region factory. Spring Boot's HibernateMetricsAutoConfiguration publishes the
+ * Hibernate statistics (hibernate.generate_statistics) to Micrometer, which
+ * includes hit, miss and put counts per region
+ * (hibernate.second.level.cache.requests and .puts).
+ *
+ * @Configuration: Marks this class as a configuration class
+ */
+@Configuration
+@Slf4j
+public class SecondLevelCacheConfig {
+
+    /**
+     * Entity regions, named by the @Cache annotations of the entities
+     */
+    public static final String BOOKS_REGION = "books";
+    public static final String USERS_REGION = "users";
+    public static final String BORROWING_RECORDS_REGION = "borrowing-records";
+
+    /**
+     * Hibernate's regions for cached query results and table modification timestamps
+     */
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Create the JCache manager holding all second-level cache regions
+     *
+     * @param properties library properties
+     * @return Caffeine-backed JCache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(LibraryProperties properties) {
+        CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        LibraryProperties.SecondLevelCache settings = properties.getSecondLevelCache();
+        for (String region : List.of(BOOKS_REGION, USERS_REGION, BORROWING_RECORDS_REGION, QUERY_RESULTS_REGION)) {
+            LibraryProperties.Region override = settings.getRegions().getOrDefault(region, new LibraryProperties.Region());
+            long maximumSize = override.getMaximumSize() != null ? override.getMaximumSize() : settings.getMaximumSize();
+            Duration timeToLive = override.getTimeToLive() != null ? override.getTimeToLive() : settings.getTimeToLive();
+            createRegion(cacheManager, region, OptionalLong.of(maximumSize), OptionalLong.of(timeToLive.toNanos()));
+            log.info("Created second-level cache region {} (maximum size {}, time to live {})",
+                    region, maximumSize, timeToLive);
+        }
+
+        // Timestamps decide whether cached query results are stale, so they must
+        // never be evicted before the results that depend on them
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, OptionalLong.empty(), OptionalLong.empty());
+
+        return cacheManager;
+    }
+
+    /**
+     * Let Hibernate's JCache region factory use the regions created above
+     *
+     * @param hibernateCacheManager the JCache manager
+     * @return Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region,
+                                     OptionalLong maximumSize, OptionalLong expireAfterWriteNanos) {
+        if (cacheManager.getCache(region) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(expireAfterWriteNanos);
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -1,6 +1,12 @@
 package com.library.management.controller;
 
+import com.library.management.dto.BookBulkDeleteResultDTO;
 import com.library.management.dto.BookDTO;
+import com.library.management.dto.BookImportResultDTO;
+import com.library.management.dto.CursorPageDTO;
+import com.library.management.dto.SliceDTO;
+import com.library.management.service.BookExportService;
+import com.library.management.service.BookImportService;
 import com.library.management.service.BookService;
 import com.library.management.model.Book;
 import jakarta.validation.Valid;
@@ -9,12 +15,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/books")
@@ -24,6 +35,8 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
 
     /**
      * Create a new book
@@ -38,6 +51,59 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
     }
 
+    /**
+     * Import books in bulk from the request body
+     * 
+     * The body is streamed, not buffered, so catalogs of any size can be sent.
+     * 
+     * @param format CSV (with a header row) or JSONL (one book object per line)
+     * @param body the request body
+     * @return counts and row errors of the import
+     */
+    @PostMapping("/import")
+    public ResponseEntity<BookImportResultDTO> importBooks(
+            @RequestParam(defaultValue = "CSV") BookImportService.ImportFormat format,
+            InputStream body) {
+        log.info("Importing books from {} data", format);
+        BookImportResultDTO result = bookImportService.importBooks(body, format);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Export the whole catalog
+     * 
+     * The books are written to the response while they are read from the
+     * database, so the export runs in constant memory.
+     * 
+     * @param format CSV (with a header row) or JSONL (one book object per line)
+     * @param gzip whether to compress the file
+     * @return the catalog as a file download
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(defaultValue = "CSV") BookExportService.ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Exporting books as {} (gzip: {})", format, gzip);
+        String filename = "books." + format.name().toLowerCase() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : format == BookExportService.ExportFormat.CSV ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(output);
+                bookExportService.exportBooks(compressed, format);
+                compressed.finish();
+            } else {
+                bookExportService.exportBooks(output, format);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     /**
      * Get a book by ID
      * 
@@ -65,6 +131,38 @@ public class BookController {
         return ResponseEntity.ok(books);
     }
 
+    /**
+     * Get all books as a slice, selected with count=false (no COUNT(*) query)
+     * 
+     * @param approximateTotal whether to include an estimated total
+     * @param pageable pagination information
+     * @return slice of book DTOs
+     */
+    @GetMapping(params = "count=false")
+    public ResponseEntity<SliceDTO<BookDTO>> getAllBooksSlice(
+            @RequestParam(defaultValue = "false") boolean approximateTotal,
+            @PageableDefault(size = 20, sort = "title") Pageable pageable) {
+        log.info("Fetching all books as slice: {}", pageable);
+        SliceDTO<BookDTO> books = bookService.getAllBooksSlice(pageable, approximateTotal);
+        return ResponseEntity.ok(books);
+    }
+
+    /**
+     * Get all books with keyset pagination (ordered by ID, no count query)
+     * 
+     * @param cursor nextCursor of the previous page (omit for the first page)
+     * @param size page size
+     * @return cursor page of book DTOs
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<BookDTO>> scrollAllBooks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Scrolling all books after cursor: {}", cursor);
+        CursorPageDTO<BookDTO> books = bookService.scrollAllBooks(cursor, size);
+        return ResponseEntity.ok(books);
+    }
+
     /**
      * Update a book
      * 
@@ -93,6 +191,19 @@ public class BookController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Delete many books at once, e.g. when retiring a collection
+     * 
+     * @param ids the book IDs
+     * @return the number of deleted books and the IDs of the books kept because they are borrowed
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BookBulkDeleteResultDTO> deleteBooks(@RequestBody List<Long> ids) {
+        log.info("Deleting {} books", ids.size());
+        BookBulkDeleteResultDTO result = bookService.deleteBooks(ids);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Search books by title
      * 
@@ -191,17 +302,63 @@ public class BookController {
         return ResponseEntity.ok(books);
     }
 
+    /**
+     * Search books by multiple criteria as a slice, selected with count=false (no COUNT(*) query)
+     * 
+     * @param title title to search for (optional)
+     * @param author author to search for (optional)
+     * @param category category to search for (optional)
+     * @param approximateTotal whether to include a (cached) total
+     * @param pageable pagination information
+     * @return slice of matching book DTOs
+     */
+    @GetMapping(value = "/search", params = "count=false")
+    public ResponseEntity<SliceDTO<BookDTO>> searchBooksByCriteriaSlice(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean approximateTotal,
+            @PageableDefault(size = 20, sort = "title") Pageable pageable) {
+        log.info("Searching books by criteria as slice - title: {}, author: {}, category: {}", title, author, category);
+        SliceDTO<BookDTO> books = bookService.searchBooksByCriteriaSlice(title, author, category, pageable, approximateTotal);
+        return ResponseEntity.ok(books);
+    }
+
+    /**
+     * Search books by multiple criteria with keyset pagination (ordered by ID, no count query)
+     * 
+     * @param title title to search for (optional)
+     * @param author author to search for (optional)
+     * @param category category to search for (optional)
+     * @param cursor nextCursor of the previous page (omit for the first page)
+     * @param size page size
+     * @return cursor page of matching book DTOs
+     */
+    @GetMapping("/search/scroll")
+    public ResponseEntity<CursorPageDTO<BookDTO>> scrollBooksByCriteria(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Scrolling books by criteria - title: {}, author: {}, category: {}", title, author, category);
+        CursorPageDTO<BookDTO> books = bookService.scrollBooksByCriteria(title, author, category, cursor, size);
+        return ResponseEntity.ok(books);
+    }
+
     /**
      * Get most popular books
      * 
+     * @param window time window to rank by (WEEK, MONTH, YEAR or ALL_TIME)
      * @param pageable pagination information
-     * @return page of most popular book DTOs
+     * @return page of most popular book DTOs, most borrowed first
      */
     @GetMapping("/popular")
     public ResponseEntity<Page<BookDTO>> getMostPopularBooks(
-            @PageableDefault(size = 10, sort = "id") Pageable pageable) {
-        log.info("Fetching most popular books");
-        Page<BookDTO> books = bookService.getMostPopularBooks(pageable);
+            @RequestParam(defaultValue = "MONTH") BookService.PopularityWindow window,
+            @PageableDefault(size = 10) Pageable pageable) {
+        log.info("Fetching most popular books for window: {}", window);
+        Page<BookDTO> books = bookService.getMostPopularBooks(window, pageable);
         return ResponseEntity.ok(books);
     }
 
@@ -219,6 +376,38 @@ public class BookController {
         return ResponseEntity.ok(books);
     }
 
+    /**
+     * Get recently added books as a slice, selected with count=false (no COUNT(*) query)
+     * 
+     * @param approximateTotal whether to include an estimated total
+     * @param pageable pagination information
+     * @return slice of recently added book DTOs
+     */
+    @GetMapping(value = "/recent", params = "count=false")
+    public ResponseEntity<SliceDTO<BookDTO>> getRecentlyAddedBooksSlice(
+            @RequestParam(defaultValue = "false") boolean approximateTotal,
+            @PageableDefault(size = 10) Pageable pageable) {
+        log.info("Fetching recently added books as slice");
+        SliceDTO<BookDTO> books = bookService.getRecentlyAddedBooksSlice(pageable, approximateTotal);
+        return ResponseEntity.ok(books);
+    }
+
+    /**
+     * Get recently added books with keyset pagination (newest first, no count query)
+     * 
+     * @param cursor nextCursor of the previous page (omit for the first page)
+     * @param size page size
+     * @return cursor page of recently added book DTOs
+     */
+    @GetMapping("/recent/scroll")
+    public ResponseEntity<CursorPageDTO<BookDTO>> scrollRecentlyAddedBooks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Scrolling recently added books after cursor: {}", cursor);
+        CursorPageDTO<BookDTO> books = bookService.scrollRecentlyAddedBooks(cursor, size);
+        return ResponseEntity.ok(books);
+    }
+
     /**
      * Get books by language
      * 
@@ -317,6 +506,42 @@ public class BookController {
         return ResponseEntity.ok(books);
     }
 
+    /**
+     * Full-text search books as a slice, selected with count=false (no COUNT(*) query)
+     * 
+     * @param searchTerm the term to search for
+     * @param approximateTotal whether to include a (cached) total
+     * @param pageable pagination information
+     * @return slice of books matching the search term
+     */
+    @GetMapping(value = "/search/full-text", params = "count=false")
+    public ResponseEntity<SliceDTO<BookDTO>> searchBooksSlice(
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "false") boolean approximateTotal,
+            @PageableDefault(size = 20, sort = "title") Pageable pageable) {
+        log.info("Full-text searching books as slice with term: {}", searchTerm);
+        SliceDTO<BookDTO> books = bookService.searchBooksSlice(searchTerm, pageable, approximateTotal);
+        return ResponseEntity.ok(books);
+    }
+
+    /**
+     * Full-text search books with keyset pagination (ordered by ID, no count query)
+     * 
+     * @param searchTerm the term to search for
+     * @param cursor nextCursor of the previous page (omit for the first page)
+     * @param size page size
+     * @return cursor page of books matching the search term
+     */
+    @GetMapping("/search/full-text/scroll")
+    public ResponseEntity<CursorPageDTO<BookDTO>> scrollSearchBooks(
+            @RequestParam String searchTerm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Scrolling full-text search with term: {}", searchTerm);
+        CursorPageDTO<BookDTO> books = bookService.scrollSearchBooks(searchTerm, cursor, size);
+        return ResponseEntity.ok(books);
+    }
+
     /**
      * Get book statistics
      * 
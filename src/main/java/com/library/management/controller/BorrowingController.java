@@ -0,0 +1,177 @@
+package com.library.management.controller;
+
+import com.library.management.dto.BorrowingRecordDTO;
+import com.library.management.dto.UserBorrowingSummaryDTO;
+import com.library.management.service.BorrowingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/borrowings")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class BorrowingController {
+
+    private final BorrowingService borrowingService;
+
+    /**
+     * Check a book out to a user
+     * 
+     * @param createDTO the user, the book and the expected return date
+     * @return the created borrowing record DTO
+     */
+    @PostMapping
+    public ResponseEntity<BorrowingRecordDTO> borrowBook(@Valid @RequestBody BorrowingRecordDTO.CreateDTO createDTO) {
+        log.info("Borrowing book {} for user {}", createDTO.getBookId(), createDTO.getUserId());
+        BorrowingRecordDTO borrowingRecord = borrowingService.borrowBook(createDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(borrowingRecord);
+    }
+
+    /**
+     * Return a borrowed book
+     * 
+     * @param returnDTO the borrowing record and optional notes
+     * @return the updated borrowing record DTO
+     */
+    @PostMapping("/return")
+    public ResponseEntity<BorrowingRecordDTO> returnBook(@Valid @RequestBody BorrowingRecordDTO.ReturnDTO returnDTO) {
+        log.info("Returning borrowing record {}", returnDTO.getBorrowingRecordId());
+        BorrowingRecordDTO borrowingRecord = borrowingService.returnBook(returnDTO);
+        return ResponseEntity.ok(borrowingRecord);
+    }
+
+    /**
+     * Renew a loan
+     * 
+     * @param renewDTO the borrowing record and the number of additional days
+     * @return the updated borrowing record DTO
+     */
+    @PostMapping("/renew")
+    public ResponseEntity<BorrowingRecordDTO> renewBook(@Valid @RequestBody BorrowingRecordDTO.RenewDTO renewDTO) {
+        log.info("Renewing borrowing record {}", renewDTO.getBorrowingRecordId());
+        BorrowingRecordDTO borrowingRecord = borrowingService.renewBook(renewDTO);
+        return ResponseEntity.ok(borrowingRecord);
+    }
+
+    /**
+     * Pay the fine of a borrowing record
+     * 
+     * @param payFineDTO the borrowing record and the amount paid
+     * @return the updated borrowing record DTO
+     */
+    @PostMapping("/pay-fine")
+    public ResponseEntity<BorrowingRecordDTO> payFine(@Valid @RequestBody BorrowingRecordDTO.PayFineDTO payFineDTO) {
+        log.info("Paying fine of borrowing record {}", payFineDTO.getBorrowingRecordId());
+        BorrowingRecordDTO borrowingRecord = borrowingService.payFine(payFineDTO);
+        return ResponseEntity.ok(borrowingRecord);
+    }
+
+    /**
+     * Check several books out at once (e.g. from a self-service kiosk)
+     * 
+     * Items are validated one by one; a rejected item is reported in its result
+     * instead of failing the request.
+     * 
+     * @param createDTOs the checkouts
+     * @return one result per item, in request order
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BorrowingRecordDTO.BatchItemResultDTO>> borrowBooks(
+            @RequestBody List<BorrowingRecordDTO.CreateDTO> createDTOs) {
+        log.info("Borrowing a batch of {} books", createDTOs.size());
+        List<BorrowingRecordDTO.BatchItemResultDTO> results = borrowingService.borrowBooks(createDTOs);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Return several books at once
+     * 
+     * @param returnDTOs the returns
+     * @return one result per item, in request order
+     */
+    @PostMapping("/return/batch")
+    public ResponseEntity<List<BorrowingRecordDTO.BatchItemResultDTO>> returnBooks(
+            @RequestBody List<BorrowingRecordDTO.ReturnDTO> returnDTOs) {
+        log.info("Returning a batch of {} borrowing records", returnDTOs.size());
+        List<BorrowingRecordDTO.BatchItemResultDTO> results = borrowingService.returnBooks(returnDTOs);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Get a borrowing record by ID
+     * 
+     * @param id the borrowing record ID
+     * @return the borrowing record DTO
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BorrowingRecordDTO> getBorrowingRecordById(@PathVariable Long id) {
+        log.info("Fetching borrowing record with ID: {}", id);
+        BorrowingRecordDTO borrowingRecord = borrowingService.getBorrowingRecordById(id);
+        return ResponseEntity.ok(borrowingRecord);
+    }
+
+    /**
+     * Get the borrowing history of a user
+     * 
+     * @param userId the user ID
+     * @param pageable pagination information
+     * @return page of borrowing record DTOs, most recent first
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<Page<BorrowingRecordDTO>> getBorrowingRecordsByUser(
+            @PathVariable Long userId,
+            @PageableDefault(size = 20) Pageable pageable) {
+        log.info("Fetching borrowing records of user {}", userId);
+        Page<BorrowingRecordDTO> borrowingRecords = borrowingService.getBorrowingRecordsByUser(userId, pageable);
+        return ResponseEntity.ok(borrowingRecords);
+    }
+
+    /**
+     * Get the loan and fine counters of a user and whether the user may borrow
+     * 
+     * @param userId the user ID
+     * @return the borrowing summary DTO
+     */
+    @GetMapping("/user/{userId}/summary")
+    public ResponseEntity<UserBorrowingSummaryDTO> getBorrowingSummary(@PathVariable Long userId) {
+        log.info("Fetching borrowing summary of user {}", userId);
+        UserBorrowingSummaryDTO summary = borrowingService.getBorrowingSummary(userId);
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Get the loans that are overdue today
+     * 
+     * @return list of borrowing record DTOs, earliest due date first
+     */
+    @GetMapping("/overdue")
+    public ResponseEntity<List<BorrowingRecordDTO>> getOverdueBorrowingRecords() {
+        log.info("Fetching overdue borrowing records");
+        List<BorrowingRecordDTO> borrowingRecords = borrowingService.getOverdueBorrowingRecords();
+        return ResponseEntity.ok(borrowingRecords);
+    }
+
+    /**
+     * Get the open loans due within a number of days
+     * 
+     * @param days days after today to include (0 = due today)
+     * @return list of borrowing record DTOs, earliest due date first
+     */
+    @GetMapping("/due-soon")
+    public ResponseEntity<List<BorrowingRecordDTO>> getBorrowingRecordsDueSoon(
+            @RequestParam(defaultValue = "3") int days) {
+        log.info("Fetching borrowing records due within {} days", days);
+        List<BorrowingRecordDTO> borrowingRecords = borrowingService.getBorrowingRecordsDueWithin(days);
+        return ResponseEntity.ok(borrowingRecords);
+    }
+}
@@ -0,0 +1,36 @@
+package com.library.management.controller;
+
+import com.library.management.dto.UserActivityDTO;
+import com.library.management.service.leaderboard.UserActivityLeaderboard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/leaderboards")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class LeaderboardController {
+
+    private final UserActivityLeaderboard userActivityLeaderboard;
+
+    /**
+     * Get the most active users (most books borrowed) of the current period
+     *
+     * @param period WEEK, MONTH or TERM
+     * @param limit maximum number of users
+     * @return leaderboard entries, most active first
+     */
+    @GetMapping("/users")
+    public ResponseEntity<List<UserActivityDTO>> getMostActiveUsers(
+            @RequestParam(defaultValue = "MONTH") UserActivityLeaderboard.Period period,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Fetching most active users for period: {}", period);
+        List<UserActivityDTO> users = userActivityLeaderboard.getLeaderboard(period, limit);
+        return ResponseEntity.ok(users);
+    }
+}
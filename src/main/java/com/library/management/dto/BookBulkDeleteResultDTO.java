@@ -0,0 +1,37 @@
+package com.library.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Book Bulk Delete Result Data Transfer Object (DTO)
+ * 
+ * Outcome of retiring many books at once.
+ * 
+ * @Data: Lombok annotation for getters, setters, toString, etc.
+ * @NoArgsConstructor: Lombok annotation for no-args constructor
+ * @AllArgsConstructor: Lombok annotation for all-args constructor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBulkDeleteResultDTO {
+
+    /**
+     * Number of distinct book IDs requested
+     */
+    private int requested;
+
+    /**
+     * Number of books deleted; unknown and already deleted books are not counted
+     */
+    private int deleted;
+
+    /**
+     * IDs of the books kept because they are currently borrowed
+     */
+    private List<Long> withOpenLoans;
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Book Data Transfer Object (DTO)
@@ -177,6 +178,35 @@ public class BookDTO {
         this.availabilityPercentage = book.getAvailabilityPercentage();
     }
 
+    /**
+     * Constructor for the JPQL constructor expression of the BookDTO projection
+     * queries (see BookRepository.BOOK_DTO_SELECT)
+     */
+    public BookDTO(Long id, String title, String author, String isbn, String publisher,
+                   LocalDate publicationDate, String category, Integer pages, BigDecimal price,
+                   String description, Integer copiesAvailable, Integer totalCopies, Book.BookStatus status,
+                   String language, String coverImageUrl, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.isbn = isbn;
+        this.publisher = publisher;
+        this.publicationDate = publicationDate;
+        this.category = category;
+        this.pages = pages;
+        this.price = price;
+        this.description = description;
+        this.copiesAvailable = copiesAvailable;
+        this.totalCopies = totalCopies;
+        this.status = status;
+        this.language = language;
+        this.coverImageUrl = coverImageUrl;
+        this.createdAt = createdAt != null ? createdAt.toLocalDate() : null;
+        this.updatedAt = updatedAt != null ? updatedAt.toLocalDate() : null;
+        this.availabilityPercentage = totalCopies == null || totalCopies == 0 || copiesAvailable == null
+                ? 0.0 : (double) copiesAvailable / totalCopies * 100;
+    }
+
     /**
      * Convert BookDTO to Book entity
      * 
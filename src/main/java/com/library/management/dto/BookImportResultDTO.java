@@ -0,0 +1,85 @@
+package com.library.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Book Import Result Data Transfer Object (DTO)
+ * 
+ * Summary of a bulk catalog import: how many rows were read, imported and
+ * rejected, and why rows were rejected.
+ * 
+ * @Data: Lombok annotation for getters, setters, toString, etc.
+ * @NoArgsConstructor: Lombok annotation for no-args constructor
+ * @AllArgsConstructor: Lombok annotation for all-args constructor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportResultDTO {
+
+    /**
+     * Data rows read from the input
+     */
+    private long rowsRead;
+
+    /**
+     * Books stored
+     */
+    private long imported;
+
+    /**
+     * Rows skipped because their ISBN is already in the catalog or earlier in the input
+     */
+    private long duplicates;
+
+    /**
+     * Rows rejected as unreadable or invalid, or lost with a failed chunk
+     */
+    private long failed;
+
+    /**
+     * Time taken by the import in milliseconds
+     */
+    private long durationMs;
+
+    /**
+     * Rejected rows, up to library.catalog-import.max-reported-errors
+     */
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Whether more rows were rejected than are listed in errors
+     */
+    private boolean errorsTruncated;
+
+    /**
+     * Whether reading the input failed before its end; the rows read until then
+     * were imported, the rest were not (the read error is the last entry of errors)
+     */
+    private boolean incomplete;
+
+    /**
+     * A rejected input row
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        /**
+         * Line of the input where the row starts (1-based, including any header)
+         */
+        private long line;
+
+        /**
+         * ISBN of the row, if it could be read
+         */
+        private String isbn;
+
+        private String message;
+    }
+}
@@ -245,5 +245,37 @@ public class BorrowingRecordDTO {
         @NotNull(message = "Fine amount is required")
         private Double fineAmount;
     }
-}
 
+    /**
+     * DTO for the outcome of one item of a batch checkout or return
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchItemResultDTO {
+        /**
+         * Position of the item in the request
+         */
+        private int index;
+
+        private boolean success;
+
+        /**
+         * The created or updated borrowing record (null on failure)
+         */
+        private BorrowingRecordDTO borrowingRecord;
+
+        /**
+         * Why the item was rejected (null on success)
+         */
+        private String error;
+
+        public static BatchItemResultDTO success(int index, BorrowingRecordDTO borrowingRecord) {
+            return new BatchItemResultDTO(index, true, borrowingRecord, null);
+        }
+
+        public static BatchItemResultDTO failure(int index, String error) {
+            return new BatchItemResultDTO(index, false, null, error);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.library.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursor Page Data Transfer Object (DTO)
+ *
+ * A page of results for keyset (seek) pagination. Instead of a page number the
+ * client sends back the opaque nextCursor of the previous page, which encodes the
+ * sort key of the last row. The next page is then read with
+ * "WHERE key > last key ORDER BY key LIMIT size + 1", so page 10,000 costs the same
+ * as page 1 and no COUNT(*) query is needed.
+ *
+ * @Data: Lombok annotation for getters, setters, toString, etc.
+ * @NoArgsConstructor: Lombok annotation for no-args constructor
+ * @AllArgsConstructor: Lombok annotation for all-args constructor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    /**
+     * Rows of this page
+     */
+    private List<T> content;
+
+    /**
+     * Requested page size
+     */
+    private int size;
+
+    /**
+     * Whether another page follows
+     */
+    private boolean hasNext;
+
+    /**
+     * Cursor to request the next page with (null on the last page)
+     */
+    private String nextCursor;
+
+    /**
+     * Build a page from a result fetched with LIMIT size + 1
+     *
+     * @param rows up to size + 1 rows
+     * @param size requested page size
+     * @param cursorOf creates the cursor pointing after a row
+     * @return cursor page
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(content, size, hasNext, nextCursor);
+    }
+
+    /**
+     * Convert the rows of this page, keeping the cursor
+     *
+     * @param mapper row conversion
+     * @return converted cursor page
+     */
+    public <R> CursorPageDTO<R> map(Function<T, R> mapper) {
+        return new CursorPageDTO<>(content.stream().map(mapper).toList(), size, hasNext, nextCursor);
+    }
+
+    /**
+     * Position after the last row of a page
+     *
+     * @param createdAt creation timestamp of the row (only for createdAt-ordered listings)
+     * @param id ID of the row
+     */
+    public record Cursor(LocalDateTime createdAt, Long id) {
+
+        private static final String SEPARATOR = "|";
+
+        /**
+         * Create a cursor for an ID-ordered listing
+         *
+         * @param id ID of the last row
+         * @return cursor
+         */
+        public static Cursor afterId(Long id) {
+            return new Cursor(null, id);
+        }
+
+        /**
+         * Encode the cursor as an opaque URL-safe token
+         *
+         * @return token
+         */
+        public String encode() {
+            String raw = (createdAt != null ? createdAt.toString() : "") + SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Decode a token produced by encode()
+         *
+         * @param token the token (null or blank for the first page)
+         * @return cursor, or null for the first page
+         * @throws IllegalArgumentException if the token is malformed
+         */
+        public static Cursor decode(String token) {
+            if (token == null || token.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf(SEPARATOR);
+                String createdAt = raw.substring(0, separator);
+                return new Cursor(createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + token, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.library.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Slice Data Transfer Object (DTO)
+ *
+ * A page of results without an exact total. The rows are fetched with
+ * LIMIT size + 1, and the extra row only sets hasNext, so no COUNT(*) query runs.
+ * Clients that still want a ballpark number can ask for approximateTotal.
+ *
+ * @Data: Lombok annotation for getters, setters, toString, etc.
+ * @NoArgsConstructor: Lombok annotation for no-args constructor
+ * @AllArgsConstructor: Lombok annotation for all-args constructor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceDTO<T> {
+
+    /**
+     * Rows of this slice
+     */
+    private List<T> content;
+
+    /**
+     * Zero-based page number
+     */
+    private int page;
+
+    /**
+     * Requested page size
+     */
+    private int size;
+
+    /**
+     * Whether another page follows
+     */
+    private boolean hasNext;
+
+    /**
+     * Estimated number of matching rows (null unless requested)
+     */
+    private Long approximateTotal;
+
+    /**
+     * Create a DTO from a Spring Data slice
+     *
+     * @param slice the slice
+     * @param approximateTotal estimated total (can be null)
+     * @return slice DTO
+     */
+    public static <T> SliceDTO<T> of(Slice<T> slice, Long approximateTotal) {
+        return new SliceDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                slice.hasNext(), approximateTotal);
+    }
+}
@@ -0,0 +1,50 @@
+package com.library.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User Activity Data Transfer Object (DTO)
+ *
+ * One entry of a user activity leaderboard.
+ *
+ * @Data: Lombok annotation for getters, setters, toString, etc.
+ * @NoArgsConstructor: Lombok annotation for no-args constructor
+ * @AllArgsConstructor: Lombok annotation for all-args constructor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserActivityDTO {
+
+    /**
+     * Rank on the leaderboard (1 = most active)
+     */
+    private int rank;
+
+    /**
+     * User ID
+     */
+    private Long userId;
+
+    /**
+     * User's username
+     */
+    private String username;
+
+    /**
+     * User's full name
+     */
+    private String fullName;
+
+    /**
+     * Number of books borrowed in the period (may be overestimated by at most maxOvercount)
+     */
+    private long borrowCount;
+
+    /**
+     * Upper bound of the overestimate in borrowCount (0 = exact)
+     */
+    private long maxOvercount;
+}
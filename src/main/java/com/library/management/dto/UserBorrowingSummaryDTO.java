@@ -0,0 +1,63 @@
+package com.library.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * User Borrowing Summary Data Transfer Object (DTO)
+ *
+ * The loan and fine counters of a user and whether the user may borrow
+ * another book.
+ *
+ * @Data: Lombok annotation for getters, setters, toString, etc.
+ * @NoArgsConstructor: Lombok annotation for no-args constructor
+ * @AllArgsConstructor: Lombok annotation for all-args constructor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBorrowingSummaryDTO {
+
+    /**
+     * User ID
+     */
+    private Long userId;
+
+    /**
+     * Open loans (borrowed or overdue)
+     */
+    private int activeLoans;
+
+    /**
+     * Loan limit of the user's role
+     */
+    private int maxBooksAllowed;
+
+    /**
+     * Loans flipped to OVERDUE
+     */
+    private int overdueLoans;
+
+    /**
+     * Total of the fines not paid yet
+     */
+    private double unpaidFines;
+
+    /**
+     * Last borrow, return or fine payment (null if none)
+     */
+    private LocalDateTime lastActivityAt;
+
+    /**
+     * True if the user may borrow another book
+     */
+    private boolean canBorrow;
+
+    /**
+     * Why the user may not borrow another book (null if canBorrow)
+     */
+    private String refusalReason;
+}
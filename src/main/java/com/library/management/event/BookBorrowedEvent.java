@@ -0,0 +1,17 @@
+package com.library.management.event;
+
+import java.time.LocalDate;
+
+/**
+ * Book Borrowed Event
+ *
+ * Published inside the borrowing transaction whenever a copy of a book is
+ * checked out. Listeners that write to the database join that transaction, so
+ * their changes commit or roll back together with the borrow.
+ *
+ * @param bookId ID of the borrowed book
+ * @param userId ID of the borrowing user
+ * @param borrowedDate date of the borrow
+ */
+public record BookBorrowedEvent(Long bookId, Long userId, LocalDate borrowedDate) {
+}
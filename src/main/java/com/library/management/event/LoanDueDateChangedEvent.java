@@ -0,0 +1,19 @@
+package com.library.management.event;
+
+import java.time.LocalDate;
+
+/**
+ * Loan Due Date Changed Event
+ *
+ * Published inside the borrowing transaction whenever a loan is opened, renewed
+ * or closed, so in-memory views of the open loans (OverdueEngine) can follow.
+ * Listeners act after commit.
+ *
+ * @param borrowingRecordId ID of the borrowing record
+ * @param userId ID of the borrowing user
+ * @param bookId ID of the borrowed book
+ * @param expectedReturnDate the new due date, or null if the loan was closed
+ */
+public record LoanDueDateChangedEvent(Long borrowingRecordId, Long userId, Long bookId,
+                                      LocalDate expectedReturnDate) {
+}
@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
  * - id: Primary key
  * - createdAt: When the record was created
  * - updatedAt: When the record was last modified
+ * - version: Optimistic locking version
  * 
  * @MappedSuperclass: This class is not an entity itself, but provides
  * common mapping information for its subclasses.
@@ -28,14 +29,25 @@ import java.time.LocalDateTime;
 @Data
 public abstract class BaseEntity {
 
+    /**
+     * Name of the ID sequence generator, declared by every entity with its own sequence
+     */
+    public static final String ID_GENERATOR = "id_sequence";
+
+    /**
+     * Number of IDs reserved with one sequence call; must match the sequence increment
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Primary Key
      * @Id: Marks this field as the primary key
-     * @GeneratedValue: Auto-generates the ID value
+     * @GeneratedValue: Assigns the ID from the entity's sequence before the insert,
+     * so inserts can be sent as JDBC batches (IDENTITY columns cannot be batched)
      * @Column: Specifies column properties
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_GENERATOR)
     @Column(name = "id")
     private Long id;
 
@@ -57,6 +69,16 @@ public abstract class BaseEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Optimistic Locking Version
+     * @Version: Incremented on every update; an update based on an outdated
+     * version fails with an optimistic locking exception instead of overwriting
+     * a concurrent change. Left null on new entities so they are persisted.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /**
      * Soft Delete Flag
      * Instead of actually deleting records, we mark them as deleted
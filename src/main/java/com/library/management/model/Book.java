@@ -6,6 +6,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -19,6 +22,9 @@ import java.util.List;
  * 
  * @Entity: Marks this class as a JPA entity
  * @Table: Specifies the database table name
+ * @SequenceGenerator: IDs are drawn from the "books_seq" sequence, 50 at a time
+ * @Cacheable/@Cache: Stored in the "books" second-level cache region
+ * @SQLRestriction: Soft deleted rows are left out of every query and collection
  * @Data: Lombok annotation for getters, setters, toString, etc.
  * @EqualsAndHashCode: Lombok annotation for equals and hashCode methods
  * @NoArgsConstructor: Lombok annotation for no-args constructor
@@ -26,6 +32,10 @@ import java.util.List;
  */
 @Entity
 @Table(name = "books")
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "books_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
+@SQLRestriction("deleted = false")
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -54,11 +64,12 @@ public class Book extends BaseEntity {
     /**
      * Book ISBN (International Standard Book Number)
      * @Pattern: Validates the ISBN format using regex
+     * Unique among books that are not deleted (partial unique index)
      */
     @NotBlank(message = "ISBN is required")
     @Pattern(regexp = "^(?:ISBN(?:-1[03])?:? )?(?=[0-9X]{10}$|(?=(?:[0-9]+[- ]){3})[- 0-9X]{13}$|97[89][0-9]{10}$|(?=(?:[0-9]+[- ]){4})[- 0-9]{17}$)(?:97[89][- ]?)?[0-9]{1,5}[- ]?[0-9]+[- ]?[0-9]+[- ]?[0-9X]$",
              message = "Invalid ISBN format")
-    @Column(name = "isbn", unique = true, nullable = false)
+    @Column(name = "isbn", nullable = false)
     private String isbn;
 
     /**
@@ -6,6 +6,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -18,6 +21,9 @@ import java.time.LocalDateTime;
  * 
  * @Entity: Marks this class as a JPA entity
  * @Table: Specifies the database table name
+ * @SequenceGenerator: IDs are drawn from the "borrowing_records_seq" sequence, 50 at a time
+ * @Cacheable/@Cache: Stored in the "borrowing-records" second-level cache region
+ * @SQLRestriction: Soft deleted rows are left out of every query and collection
  * @Data: Lombok annotation for getters, setters, toString, etc.
  * @EqualsAndHashCode: Lombok annotation for equals and hashCode methods
  * @NoArgsConstructor: Lombok annotation for no-args constructor
@@ -25,12 +31,21 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "borrowing_records")
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "borrowing_records_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "borrowing-records")
+@SQLRestriction("deleted = false")
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class BorrowingRecord extends BaseEntity {
 
+    /**
+     * Fine charged per overdue day, on return and by the nightly fine accrual
+     */
+    public static final double DAILY_FINE_RATE = 1.0;
+
     /**
      * The User who borrowed the book
      * @ManyToOne: Many borrowing records can belong to one user
@@ -142,15 +157,36 @@ public class BorrowingRecord extends BaseEntity {
      * Business Logic Methods
      */
 
+    /**
+     * Check if the loan is still open (borrowed or overdue)
+     * @return true if the book has not been returned, lost or damaged
+     */
+    public boolean isOpen() {
+        return status == BorrowingStatus.BORROWED || status == BorrowingStatus.OVERDUE;
+    }
+
     /**
      * Check if the book is overdue
      * @return true if the book is overdue, false otherwise
      */
     public boolean isOverdue() {
+        return isOverdue(LocalDate.now());
+    }
+
+    /**
+     * Check if the book is overdue on a given day
+     * 
+     * A loan flipped to OVERDUE needs no date comparison; a BORROWED loan may
+     * have fallen due since the last daily flip.
+     * 
+     * @param today the day to check against
+     * @return true if the book is overdue, false otherwise
+     */
+    public boolean isOverdue(LocalDate today) {
         if (actualReturnDate != null) {
             return false; // Book has been returned
         }
-        return LocalDate.now().isAfter(expectedReturnDate);
+        return status == BorrowingStatus.OVERDUE || today.isAfter(expectedReturnDate);
     }
 
     /**
@@ -205,15 +241,15 @@ public class BorrowingRecord extends BaseEntity {
      * @return true if return was successful, false otherwise
      */
     public boolean returnBook() {
-        if (status == BorrowingStatus.BORROWED) {
-            actualReturnDate = LocalDate.now();
-            status = BorrowingStatus.RETURNED;
-            
-            // Calculate fine if overdue
+        if (isOpen()) {
+            // Calculate fine if overdue (before the return date is set, which ends the overdue period)
             if (isOverdue()) {
-                fineAmount = calculateFine(1.0); // $1 per day
+                fineAmount = calculateFine(DAILY_FINE_RATE);
             }
             
+            actualReturnDate = LocalDate.now();
+            status = BorrowingStatus.RETURNED;
+            
             return true;
         }
         return false;
@@ -238,10 +274,14 @@ public class BorrowingRecord extends BaseEntity {
 
     /**
      * Pay the fine
+     * 
+     * Only a closed loan can be paid: the fine of an open loan still accrues
+     * (see FineAccrualJob) and is final once the book is returned.
+     * 
      * @return true if payment was successful, false otherwise
      */
     public boolean payFine() {
-        if (fineAmount > 0 && !isFinePaid()) {
+        if (!isOpen() && fineAmount > 0 && !isFinePaid()) {
             finePaidDate = LocalDate.now();
             return true;
         }
@@ -6,6 +6,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -18,6 +21,9 @@ import java.util.List;
  * 
  * @Entity: Marks this class as a JPA entity
  * @Table: Specifies the database table name
+ * @SequenceGenerator: IDs are drawn from the "users_seq" sequence, 50 at a time
+ * @Cacheable/@Cache: Stored in the "users" second-level cache region
+ * @SQLRestriction: Soft deleted rows are left out of every query and collection
  * @Data: Lombok annotation for getters, setters, toString, etc.
  * @EqualsAndHashCode: Lombok annotation for equals and hashCode methods
  * @NoArgsConstructor: Lombok annotation for no-args constructor
@@ -25,6 +31,10 @@ import java.util.List;
  */
 @Entity
 @Table(name = "users")
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "users_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@SQLRestriction("deleted = false")
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -53,12 +63,12 @@ public class User extends BaseEntity {
     /**
      * User's Email Address
      * @Email: Validates email format
-     * @Column: Specifies column as unique
+     * Unique among users that are not deleted (partial unique index)
      */
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
     @Size(max = 255, message = "Email cannot exceed 255 characters")
-    @Column(name = "email", unique = true, nullable = false)
+    @Column(name = "email", nullable = false)
     private String email;
 
     /**
@@ -89,12 +99,12 @@ public class User extends BaseEntity {
 
     /**
      * User's Username
-     * @Column: Specifies column as unique
+     * Unique among users that are not deleted (partial unique index)
      */
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
     @Pattern(regexp = "^[a-zA-Z0-9_]+$", message = "Username can only contain letters, numbers, and underscores")
-    @Column(name = "username", unique = true, nullable = false)
+    @Column(name = "username", nullable = false)
     private String username;
 
     /**
@@ -1,16 +1,27 @@
 package com.library.management.repository;
 
+import com.library.management.dto.BookDTO;
 import com.library.management.model.Book;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Book Repository Interface
@@ -18,20 +29,35 @@ import java.util.Optional;
  * This interface extends JpaRepository to provide CRUD operations for Book entities.
  * JpaRepository provides methods like save(), findById(), findAll(), delete(), etc.
  * 
+ * The LOWER(...) LIKE finders expect their terms escaped with LikeTerms.escape.
+ * 
  * @Repository: Marks this interface as a repository component
  * JpaRepository<Book, Long>: Book is the entity type, Long is the ID type
  */
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
+    /**
+     * Select clause of the BookDTO projection queries
+     * 
+     * Reads the columns BookDTO needs straight into DTOs, so read-only listings
+     * do not hydrate entities, add them to the persistence context or dirty
+     * check them at flush.
+     */
+    String BOOK_DTO_SELECT = "SELECT new com.library.management.dto.BookDTO(b.id, b.title, b.author, b.isbn, " +
+            "b.publisher, b.publicationDate, b.category, b.pages, b.price, b.description, b.copiesAvailable, " +
+            "b.totalCopies, b.status, b.language, b.coverImageUrl, b.createdAt, b.updatedAt) FROM Book b ";
+
     /**
      * Find books by title (case-insensitive)
-     * Spring Data JPA automatically generates the implementation based on method name
+     * Written as LOWER(...) LIKE so the planner can use the trigram index on LOWER(title);
+     * the derived query would compare UPPER(...) values instead
      * 
      * @param title the title to search for
      * @return list of books with matching title
      */
-    List<Book> findByTitleContainingIgnoreCase(String title);
+    @Query(BOOK_DTO_SELECT + "WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')) ESCAPE '\\'")
+    List<BookDTO> findByTitleContainingIgnoreCase(@Param("title") String title);
 
     /**
      * Find books by author (case-insensitive)
@@ -39,7 +65,8 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param author the author to search for
      * @return list of books by the specified author
      */
-    List<Book> findByAuthorContainingIgnoreCase(String author);
+    @Query(BOOK_DTO_SELECT + "WHERE LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%')) ESCAPE '\\'")
+    List<BookDTO> findByAuthorContainingIgnoreCase(@Param("author") String author);
 
     /**
      * Find books by category (case-insensitive)
@@ -47,14 +74,250 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param category the category to search for
      * @return list of books in the specified category
      */
-    List<Book> findByCategoryContainingIgnoreCase(String category);
+    @Query(BOOK_DTO_SELECT + "WHERE LOWER(b.category) LIKE LOWER(CONCAT('%', :category, '%')) ESCAPE '\\'")
+    List<BookDTO> findByCategoryContainingIgnoreCase(@Param("category") String category);
+
+    /**
+     * Find the next batch of books after the given id (keyset pagination)
+     * 
+     * @param id the last id of the previous batch (0 for the first batch)
+     * @param pageable batch size (page number must be 0)
+     * @return books ordered by id
+     */
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Stream all books in ID order for an export
+     * 
+     * Rows are fetched from a forward-only cursor in blocks of 1000, bypass the
+     * second-level cache and are loaded read-only (no dirty checking snapshot).
+     * Must be consumed inside a transaction and closed.
+     * 
+     * @return stream of all books
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_MODE, value = "IGNORE"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Book b WHERE b.deleted = false ORDER BY b.id")
+    Stream<Book> streamAllForExport();
+
+    /**
+     * Find the ISBNs of all books that are not deleted
+     * 
+     * The unique index on ISBN only covers live books, so a bulk import checks
+     * new rows against these and may reuse the ISBN of a deleted book.
+     * 
+     * @return the ISBNs of live books
+     */
+    @Query(value = "SELECT b.isbn FROM books b WHERE b.deleted = false", nativeQuery = true)
+    List<String> findAllIsbns();
+
+    /**
+     * Find a book and lock its row until the end of the transaction
+     * 
+     * @param id the book ID
+     * @return optional book, locked with SELECT ... FOR UPDATE
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id = :id")
+    Optional<Book> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Soft delete several books in a single statement, skipping books with an open loan
+     * 
+     * Bypasses Hibernate events: callers must evict the service caches and the
+     * search index themselves.
+     * 
+     * @param ids the book IDs
+     * @return number of books deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "books"))
+    @Query(value = "UPDATE books SET deleted = true, version = version + 1, updated_at = LOCALTIMESTAMP " +
+                   "WHERE id IN (:ids) AND deleted = false AND NOT EXISTS (" +
+                   "SELECT 1 FROM borrowing_records br WHERE br.book_id = books.id " +
+                   "AND br.status IN ('BORROWED', 'OVERDUE') AND br.deleted = false)",
+           nativeQuery = true)
+    int softDeleteAllWithoutOpenLoans(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find which of several books are not deleted
+     * 
+     * Read after softDeleteAllWithoutOpenLoans in the same transaction, it
+     * returns exactly the books the update kept.
+     * 
+     * @param ids the book IDs
+     * @return IDs of the live books
+     */
+    @Query(value = "SELECT b.id FROM books b WHERE b.id IN (:ids) AND b.deleted = false ORDER BY b.id",
+           nativeQuery = true)
+    List<Long> findLiveIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find books that have been deleted since before a cutoff and can be archived
+     * 
+     * Borrowing records keep a foreign key to their book, so a book is only
+     * archived once none of its borrowing records is left in the live table.
+     * 
+     * @param cutoff books deleted (last updated) before this time qualify
+     * @param limit maximum number of IDs
+     * @return book IDs in ascending order
+     */
+    @Query(value = "SELECT b.id FROM books b WHERE b.deleted = true AND b.updated_at < :cutoff " +
+                   "AND NOT EXISTS (SELECT 1 FROM borrowing_records br WHERE br.book_id = b.id) " +
+                   "ORDER BY b.id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Delete the popularity counters of books
+     * 
+     * Deleted books are not ranked, so their counters are dropped before the
+     * books are archived.
+     * 
+     * @param bookIds the book IDs
+     * @return number of deleted counter rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "book_popularity_daily"))
+    @Query(value = "DELETE FROM book_popularity_daily WHERE book_id IN (:bookIds)", nativeQuery = true)
+    int deletePopularityOf(@Param("bookIds") Collection<Long> bookIds);
+
+    /**
+     * Move deleted books to books_archive in a single statement
+     * 
+     * @param ids the book IDs, as returned by findArchivableIds
+     * @return number of archived books
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "books"))
+    @Query(value = "WITH moved AS (DELETE FROM books WHERE id IN (:ids) AND deleted = true RETURNING *) " +
+                   "INSERT INTO books_archive SELECT moved.*, LOCALTIMESTAMP FROM moved",
+           nativeQuery = true)
+    int archiveAll(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find several books and lock their rows until the end of the transaction
+     * 
+     * Rows are locked in ID order, so two batches sharing books cannot deadlock.
+     * 
+     * @param ids the book IDs
+     * @return books, locked with SELECT ... FOR UPDATE
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids ORDER BY b.id")
+    List<Book> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Take one copy of a book if one is available, in a single statement
+     * 
+     * The condition and the decrement are evaluated atomically by the database,
+     * so concurrent borrowers can never take more copies than exist.
+     * 
+     * @param id the book ID
+     * @return 1 if a copy was taken, 0 if none was available (or the book does not exist)
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "books"))
+    @Query(value = "UPDATE books SET copies_available = copies_available - 1, " +
+                   "status = CASE WHEN copies_available = 1 THEN 'BORROWED' ELSE status END, " +
+                   "version = version + 1, updated_at = LOCALTIMESTAMP " +
+                   "WHERE id = :id AND copies_available > 0 AND deleted = false",
+           nativeQuery = true)
+    int decrementCopiesAvailable(@Param("id") Long id);
+
+    /**
+     * Put one copy of a book back, in a single statement
+     * 
+     * @param id the book ID
+     * @return 1 if the copy was returned, 0 if all copies were already available
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "books"))
+    @Query(value = "UPDATE books SET copies_available = copies_available + 1, " +
+                   "status = CASE WHEN status = 'BORROWED' THEN 'AVAILABLE' ELSE status END, " +
+                   "version = version + 1, updated_at = LOCALTIMESTAMP " +
+                   "WHERE id = :id AND copies_available < total_copies AND deleted = false",
+           nativeQuery = true)
+    int incrementCopiesAvailable(@Param("id") Long id);
+
+    /**
+     * Take several copies of a book if that many are available, in a single statement
+     * 
+     * @param id the book ID
+     * @param copies number of copies to take (positive)
+     * @return 1 if the copies were taken, 0 if fewer were available (or the book does not exist)
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "books"))
+    @Query(value = "UPDATE books SET copies_available = copies_available - :copies, " +
+                   "status = CASE WHEN copies_available = :copies THEN 'BORROWED' ELSE status END, " +
+                   "version = version + 1, updated_at = LOCALTIMESTAMP " +
+                   "WHERE id = :id AND copies_available >= :copies AND deleted = false",
+           nativeQuery = true)
+    int takeCopies(@Param("id") Long id, @Param("copies") int copies);
+
+    /**
+     * Put several copies of a book back, in a single statement
+     * 
+     * @param id the book ID
+     * @param copies number of copies to put back (positive)
+     * @return 1 if the copies were returned, 0 if fewer were out (or the book does not exist)
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "books"))
+    @Query(value = "UPDATE books SET copies_available = copies_available + :copies, " +
+                   "status = CASE WHEN status = 'BORROWED' THEN 'AVAILABLE' ELSE status END, " +
+                   "version = version + 1, updated_at = LOCALTIMESTAMP " +
+                   "WHERE id = :id AND copies_available + :copies <= total_copies AND deleted = false",
+           nativeQuery = true)
+    int putBackCopies(@Param("id") Long id, @Param("copies") int copies);
+
+    /**
+     * Add copies to a book, in a single statement
+     * 
+     * @param id the book ID
+     * @param copies number of copies to add (positive)
+     * @return 1 if the book was updated, 0 if it does not exist
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "books"))
+    @Query(value = "UPDATE books SET total_copies = total_copies + :copies, " +
+                   "copies_available = copies_available + :copies, " +
+                   "status = CASE WHEN status = 'BORROWED' THEN 'AVAILABLE' ELSE status END, " +
+                   "version = version + 1, updated_at = LOCALTIMESTAMP " +
+                   "WHERE id = :id AND deleted = false",
+           nativeQuery = true)
+    int addCopiesAtomically(@Param("id") Long id, @Param("copies") int copies);
+
+    /**
+     * Remove available copies from a book, in a single statement
+     * 
+     * @param id the book ID
+     * @param copies number of copies to remove (positive)
+     * @return 1 if the copies were removed, 0 if not enough copies were available
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "books"))
+    @Query(value = "UPDATE books SET total_copies = total_copies - :copies, " +
+                   "copies_available = copies_available - :copies, " +
+                   "status = CASE WHEN copies_available = :copies THEN 'BORROWED' ELSE status END, " +
+                   "version = version + 1, updated_at = LOCALTIMESTAMP " +
+                   "WHERE id = :id AND copies_available >= :copies AND total_copies >= :copies AND deleted = false",
+           nativeQuery = true)
+    int removeCopiesAtomically(@Param("id") Long id, @Param("copies") int copies);
 
     /**
      * Find books by ISBN
      * 
+     * Results are kept in the query cache until the books table changes.
+     * 
      * @param isbn the ISBN to search for
      * @return optional book with the specified ISBN
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Book> findByIsbn(String isbn);
 
     /**
@@ -64,7 +327,9 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param endDate end date of the range
      * @return list of books published within the date range
      */
-    List<Book> findByPublicationDateBetween(LocalDate startDate, LocalDate endDate);
+    @Query(BOOK_DTO_SELECT + "WHERE b.publicationDate BETWEEN :startDate AND :endDate")
+    List<BookDTO> findByPublicationDateBetween(@Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
 
     /**
      * Find books by status
@@ -72,6 +337,7 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param status the book status to search for
      * @return list of books with the specified status
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Book> findByStatus(Book.BookStatus status);
 
     /**
@@ -88,8 +354,8 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param minCopies minimum number of copies
      * @return list of books with low availability
      */
-    @Query("SELECT b FROM Book b WHERE b.copiesAvailable < :minCopies")
-    List<Book> findBooksWithLowAvailability(@Param("minCopies") Integer minCopies);
+    @Query(BOOK_DTO_SELECT + "WHERE b.copiesAvailable < :minCopies")
+    List<BookDTO> findBooksWithLowAvailability(@Param("minCopies") Integer minCopies);
 
     /**
      * Find books by multiple criteria with pagination
@@ -100,23 +366,112 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param pageable pagination information
      * @return page of books matching the criteria
      */
-    @Query("SELECT b FROM Book b WHERE " +
-           "(:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))) AND " +
-           "(:author IS NULL OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))) AND " +
-           "(:category IS NULL OR LOWER(b.category) LIKE LOWER(CONCAT('%', :category, '%')))")
-    Page<Book> findByCriteria(@Param("title") String title, 
-                             @Param("author") String author, 
-                             @Param("category") String category, 
-                             Pageable pageable);
+    @Query(value = BOOK_DTO_SELECT + "WHERE " +
+           "(:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')) ESCAPE '\\') AND " +
+           "(:author IS NULL OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%')) ESCAPE '\\') AND " +
+           "(:category IS NULL OR LOWER(b.category) LIKE LOWER(CONCAT('%', :category, '%')) ESCAPE '\\')",
+           countQuery = "SELECT COUNT(b) FROM Book b WHERE " +
+           "(:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')) ESCAPE '\\') AND " +
+           "(:author IS NULL OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%')) ESCAPE '\\') AND " +
+           "(:category IS NULL OR LOWER(b.category) LIKE LOWER(CONCAT('%', :category, '%')) ESCAPE '\\')")
+    Page<BookDTO> findByCriteria(@Param("title") String title, 
+                                @Param("author") String author, 
+                                @Param("category") String category, 
+                                Pageable pageable);
 
     /**
-     * Find most popular books (most borrowed)
+     * Find books by multiple criteria without a count query
      * 
-     * @param limit maximum number of results
-     * @return list of most popular books
+     * @param title title to search for (can be null)
+     * @param author author to search for (can be null)
+     * @param category category to search for (can be null)
+     * @param pageable pagination information
+     * @return slice of books matching the criteria
      */
-    @Query("SELECT b FROM Book b ORDER BY SIZE(b.borrowingRecords) DESC")
-    List<Book> findMostPopularBooks(Pageable pageable);
+    @Query(BOOK_DTO_SELECT + "WHERE " +
+           "(:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')) ESCAPE '\\') AND " +
+           "(:author IS NULL OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%')) ESCAPE '\\') AND " +
+           "(:category IS NULL OR LOWER(b.category) LIKE LOWER(CONCAT('%', :category, '%')) ESCAPE '\\')")
+    Slice<BookDTO> findSliceByCriteria(@Param("title") String title,
+                                       @Param("author") String author,
+                                       @Param("category") String category,
+                                       Pageable pageable);
+
+    /**
+     * Count books matching multiple criteria
+     * 
+     * @param title title to search for (can be null)
+     * @param author author to search for (can be null)
+     * @param category category to search for (can be null)
+     * @return number of matching books
+     */
+    @Query("SELECT COUNT(b) FROM Book b WHERE " +
+           "(:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')) ESCAPE '\\') AND " +
+           "(:author IS NULL OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%')) ESCAPE '\\') AND " +
+           "(:category IS NULL OR LOWER(b.category) LIKE LOWER(CONCAT('%', :category, '%')) ESCAPE '\\')")
+    long countByCriteria(@Param("title") String title,
+                         @Param("author") String author,
+                         @Param("category") String category);
+
+    /**
+     * Find the next keyset page of books matching multiple criteria
+     * 
+     * @param title title to search for (can be null)
+     * @param author author to search for (can be null)
+     * @param category category to search for (can be null)
+     * @param afterId ID of the last book of the previous page (0 for the first page)
+     * @param pageable page size (page number must be 0, unsorted)
+     * @return books ordered by ID
+     */
+    @Query("SELECT b FROM Book b WHERE b.id > :afterId AND " +
+           "(:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')) ESCAPE '\\') AND " +
+           "(:author IS NULL OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%')) ESCAPE '\\') AND " +
+           "(:category IS NULL OR LOWER(b.category) LIKE LOWER(CONCAT('%', :category, '%')) ESCAPE '\\') " +
+           "ORDER BY b.id")
+    List<Book> findByCriteriaAfter(@Param("title") String title,
+                                   @Param("author") String author,
+                                   @Param("category") String category,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    /**
+     * Find the most borrowed books since a given day
+     * 
+     * Ranks books by their summed book_popularity_daily counters, so the
+     * borrowing history itself is never scanned. Books without borrows in the
+     * window are not part of the ranking.
+     * 
+     * @param since first day of the window (inclusive)
+     * @param pageable pagination information (unsorted)
+     * @return page of books, most borrowed first
+     */
+    @Query(value = "SELECT b.* FROM books b " +
+                   "JOIN (SELECT p.book_id, SUM(p.borrow_count) AS borrows FROM book_popularity_daily p " +
+                   "      WHERE p.day >= :since GROUP BY p.book_id) ranked ON ranked.book_id = b.id " +
+                   "WHERE b.deleted = false " +
+                   "ORDER BY ranked.borrows DESC, b.id",
+           countQuery = "SELECT COUNT(DISTINCT p.book_id) FROM book_popularity_daily p " +
+                        "JOIN books b ON b.id = p.book_id " +
+                        "WHERE p.day >= :since AND b.deleted = false",
+           nativeQuery = true)
+    Page<Book> findMostPopularBooksSince(@Param("since") LocalDate since, Pageable pageable);
+
+    /**
+     * Count one borrow of a book on a given day
+     * 
+     * The query space hint tells Hibernate that only book_popularity_daily is
+     * written, so the statement does not evict the entity and query caches.
+     * 
+     * @param bookId the borrowed book
+     * @param day the day of the borrow
+     * @return number of affected rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "book_popularity_daily"))
+    @Query(value = "INSERT INTO book_popularity_daily (book_id, day, borrow_count) VALUES (:bookId, :day, 1) " +
+                   "ON CONFLICT (book_id, day) DO UPDATE SET borrow_count = book_popularity_daily.borrow_count + 1",
+           nativeQuery = true)
+    int incrementPopularity(@Param("bookId") Long bookId, @Param("day") LocalDate day);
 
     /**
      * Find recently added books
@@ -124,7 +479,41 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param pageable pagination information
      * @return page of recently added books
      */
-    Page<Book> findByOrderByCreatedAtDesc(Pageable pageable);
+    @Query(value = BOOK_DTO_SELECT + "ORDER BY b.createdAt DESC",
+           countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookDTO> findByOrderByCreatedAtDesc(Pageable pageable);
+
+    /**
+     * Find recently added books without a count query
+     * 
+     * @param pageable pagination information
+     * @return slice of recently added books
+     */
+    @Query(BOOK_DTO_SELECT + "ORDER BY b.createdAt DESC")
+    Slice<BookDTO> findSliceByOrderByCreatedAtDesc(Pageable pageable);
+
+    /**
+     * Find the first keyset page of recently added books
+     * 
+     * @param pageable page size (page number must be 0, unsorted)
+     * @return books ordered by creation time, newest first
+     */
+    @Query("SELECT b FROM Book b ORDER BY b.createdAt DESC, b.id DESC")
+    List<Book> findRecentFirstPage(Pageable pageable);
+
+    /**
+     * Find the next keyset page of recently added books
+     * 
+     * @param createdAt creation time of the last book of the previous page
+     * @param id ID of the last book of the previous page
+     * @param pageable page size (page number must be 0, unsorted)
+     * @return books ordered by creation time, newest first
+     */
+    @Query("SELECT b FROM Book b WHERE b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Book> findRecentAfter(@Param("createdAt") LocalDateTime createdAt,
+                               @Param("id") Long id,
+                               Pageable pageable);
 
     /**
      * Find books by language
@@ -132,6 +521,7 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param language the language to search for
      * @return list of books in the specified language
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Book> findByLanguage(String language);
 
     /**
@@ -141,8 +531,8 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param maxPrice maximum price
      * @return list of books within the price range
      */
-    @Query("SELECT b FROM Book b WHERE b.price BETWEEN :minPrice AND :maxPrice")
-    List<Book> findByPriceRange(@Param("minPrice") Double minPrice, 
+    @Query(BOOK_DTO_SELECT + "WHERE b.price BETWEEN :minPrice AND :maxPrice")
+    List<BookDTO> findByPriceRange(@Param("minPrice") Double minPrice, 
                                @Param("maxPrice") Double maxPrice);
 
     /**
@@ -166,8 +556,8 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * 
      * @return list of books that need restocking
      */
-    @Query("SELECT b FROM Book b WHERE b.copiesAvailable = 0 AND b.status = 'BORROWED'")
-    List<Book> findBooksNeedingRestock();
+    @Query(BOOK_DTO_SELECT + "WHERE b.copiesAvailable = 0 AND b.status = 'BORROWED'")
+    List<BookDTO> findBooksNeedingRestock();
 
     /**
      * Find books by publisher
@@ -175,15 +565,16 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param publisher the publisher to search for
      * @return list of books by the specified publisher
      */
-    List<Book> findByPublisherContainingIgnoreCase(String publisher);
+    @Query("SELECT b FROM Book b WHERE LOWER(b.publisher) LIKE LOWER(CONCAT('%', :publisher, '%')) ESCAPE '\\'")
+    List<Book> findByPublisherContainingIgnoreCase(@Param("publisher") String publisher);
 
     /**
      * Find books with overdue status
      * 
      * @return list of books that are currently overdue
      */
-    @Query("SELECT DISTINCT b FROM Book b JOIN b.borrowingRecords br WHERE " +
-           "br.status = 'BORROWED' AND br.expectedReturnDate < CURRENT_DATE")
+    @Query("SELECT DISTINCT b FROM Book b JOIN b.borrowingRecords br WHERE br.status = 'OVERDUE' OR " +
+           "(br.status = 'BORROWED' AND br.expectedReturnDate < CURRENT_DATE)")
     List<Book> findOverdueBooks();
 
     /**
@@ -193,12 +584,215 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param pageable pagination information
      * @return page of books matching the search term
      */
-    @Query("SELECT b FROM Book b WHERE " +
-           "LOWER(b.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(b.category) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(b.publisher) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(b.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Book> searchBooks(@Param("searchTerm") String searchTerm, Pageable pageable);
-}
+    @Query(value = BOOK_DTO_SELECT + "WHERE " +
+           "LOWER(b.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.category) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.publisher) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\'",
+           countQuery = "SELECT COUNT(b) FROM Book b WHERE " +
+           "LOWER(b.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.category) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.publisher) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\'")
+    Page<BookDTO> searchBooks(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    /**
+     * Search books by multiple fields without a count query
+     * 
+     * @param searchTerm the term to search for
+     * @param pageable pagination information
+     * @return slice of books matching the search term
+     */
+    @Query(BOOK_DTO_SELECT + "WHERE " +
+           "LOWER(b.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.category) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.publisher) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\'")
+    Slice<BookDTO> searchBooksSlice(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    /**
+     * Count books matching a search term (LIKE search)
+     * 
+     * @param searchTerm the term to search for
+     * @return number of matching books
+     */
+    @Query("SELECT COUNT(b) FROM Book b WHERE " +
+           "LOWER(b.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.category) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.publisher) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\'")
+    long countSearchBooks(@Param("searchTerm") String searchTerm);
+
+    /**
+     * Find the next keyset page of books matching a search term (LIKE search)
+     * 
+     * @param searchTerm the term to search for
+     * @param afterId ID of the last book of the previous page (0 for the first page)
+     * @param pageable page size (page number must be 0, unsorted)
+     * @return books ordered by ID
+     */
+    @Query("SELECT b FROM Book b WHERE b.id > :afterId AND (" +
+           "LOWER(b.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.category) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.publisher) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(b.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\') " +
+           "ORDER BY b.id")
+    List<Book> searchBooksAfter(@Param("searchTerm") String searchTerm,
+                                @Param("afterId") Long afterId,
+                                Pageable pageable);
+
+    /**
+     * Search books through the PostgreSQL full-text index without a count query
+     * 
+     * @param tsQuery a to_tsquery expression
+     * @param pageable pagination information (unsorted)
+     * @return slice of books ordered by relevance
+     */
+    @Query(value = "SELECT b.* FROM books b WHERE b.deleted = false AND b.search_vector @@ to_tsquery('english', :tsQuery) " +
+           "ORDER BY ts_rank(b.search_vector, to_tsquery('english', :tsQuery)) DESC, b.id",
+           nativeQuery = true)
+    Slice<Book> fullTextSearchSlice(@Param("tsQuery") String tsQuery, Pageable pageable);
+
+    /**
+     * Count books matching a full-text query
+     * 
+     * @param tsQuery a to_tsquery expression
+     * @return number of matching books
+     */
+    @Query(value = "SELECT COUNT(*) FROM books b WHERE b.deleted = false AND b.search_vector @@ to_tsquery('english', :tsQuery)",
+           nativeQuery = true)
+    long countFullTextSearch(@Param("tsQuery") String tsQuery);
+
+    /**
+     * Find the next keyset page of books through the PostgreSQL full-text index
+     * 
+     * @param tsQuery a to_tsquery expression
+     * @param afterId ID of the last book of the previous page (0 for the first page)
+     * @param limit maximum number of rows
+     * @return books ordered by ID
+     */
+    @Query(value = "SELECT b.* FROM books b WHERE b.deleted = false AND b.search_vector @@ to_tsquery('english', :tsQuery) " +
+           "AND b.id > :afterId ORDER BY b.id LIMIT :limit",
+           nativeQuery = true)
+    List<Book> fullTextSearchAfter(@Param("tsQuery") String tsQuery,
+                                   @Param("afterId") Long afterId,
+                                   @Param("limit") int limit);
+
+    /**
+     * Search books through the PostgreSQL full-text index (GIN on books.search_vector)
+     * 
+     * Results are ranked with ts_rank, so the pageable must not carry a sort.
+     * 
+     * @param tsQuery a to_tsquery expression, e.g. "clean & cod:*"
+     * @param pageable pagination information (unsorted)
+     * @return page of books ordered by relevance
+     */
+    @Query(value = "SELECT b.* FROM books b WHERE b.deleted = false AND b.search_vector @@ to_tsquery('english', :tsQuery) " +
+           "ORDER BY ts_rank(b.search_vector, to_tsquery('english', :tsQuery)) DESC, b.id",
+           countQuery = "SELECT COUNT(*) FROM books b WHERE b.deleted = false AND b.search_vector @@ to_tsquery('english', :tsQuery)",
+           nativeQuery = true)
+    Page<Book> fullTextSearch(@Param("tsQuery") String tsQuery, Pageable pageable);
+
+    /**
+     * Find all books as DTOs
+     * 
+     * @param pageable pagination information
+     * @return page of books
+     */
+    @Query(value = BOOK_DTO_SELECT, countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookDTO> findAllAsPage(Pageable pageable);
+
+    /**
+     * Find all books without a count query
+     * 
+     * @param pageable pagination information
+     * @return slice of books
+     */
+    @Query(BOOK_DTO_SELECT)
+    Slice<BookDTO> findAllAsSlice(Pageable pageable);
+
+    /**
+     * Read the planner's row estimate for the books table
+     * 
+     * The estimate is maintained by VACUUM/ANALYZE, costs a single catalog lookup
+     * and is -1 if the table was never analyzed.
+     * 
+     * @return estimated number of rows
+     */
+    @Query(value = "SELECT CAST(c.reltuples AS bigint) FROM pg_class c WHERE c.oid = CAST('books' AS regclass)",
+           nativeQuery = true)
+    Long estimateBookCount();
 
+    /**
+     * Compute all catalog statistics in a single aggregate round trip
+     * 
+     * Every figure is derived with a filtered aggregate over the books table, so no
+     * Book entity is ever loaded. The overdue figure uses a correlated EXISTS against
+     * borrowing_records, which PostgreSQL evaluates as a semi-join.
+     * 
+     * @return aggregate statistics view
+     */
+    @Query(value = "SELECT " +
+           "COUNT(*) AS \"totalBooks\", " +
+           "COUNT(*) FILTER (WHERE b.status = 'AVAILABLE') AS \"availableBooks\", " +
+           "COUNT(*) FILTER (WHERE b.status = 'BORROWED') AS \"borrowedBooks\", " +
+           "COUNT(*) FILTER (WHERE EXISTS (SELECT 1 FROM borrowing_records br WHERE br.book_id = b.id " +
+           "AND (br.status = 'OVERDUE' OR (br.status = 'BORROWED' AND br.expected_return_date < CURRENT_DATE)) " +
+           "AND br.deleted = false)) AS \"overdueBooks\", " +
+           "COUNT(*) FILTER (WHERE b.copies_available = 0 AND b.status = 'BORROWED') AS \"booksNeedingRestock\", " +
+           "CAST(COALESCE(AVG(CASE WHEN b.total_copies = 0 THEN 0.0 " +
+           "ELSE b.copies_available * 100.0 / b.total_copies END), 0) AS double precision) AS \"averageAvailabilityPercentage\" " +
+           "FROM books b WHERE b.deleted = false",
+           nativeQuery = true)
+    BookStatisticsView getBookStatistics();
+
+    /**
+     * Per-status inventory totals used to seed and reconcile the statistics counters
+     * 
+     * @return one row per book status present in the catalog
+     */
+    @Query(value = "SELECT b.status AS \"status\", " +
+           "COUNT(*) AS \"books\", " +
+           "COUNT(*) FILTER (WHERE b.copies_available = 0 AND b.status = 'BORROWED') AS \"booksNeedingRestock\", " +
+           "COALESCE(SUM(b.total_copies), 0) AS \"totalCopies\", " +
+           "COALESCE(SUM(b.copies_available), 0) AS \"copiesAvailable\", " +
+           "CAST(COALESCE(SUM(CASE WHEN b.total_copies = 0 THEN 0.0 " +
+           "ELSE b.copies_available * 100.0 / b.total_copies END), 0) AS double precision) AS \"availabilityPercentageSum\" " +
+           "FROM books b WHERE b.deleted = false GROUP BY b.status",
+           nativeQuery = true)
+    List<StatusTotalsView> getStatusTotals();
+
+    /**
+     * Book Statistics View
+     * 
+     * Interface projection for the aggregate statistics query.
+     * Spring Data maps each column alias onto the matching getter.
+     */
+    interface BookStatisticsView {
+        Long getTotalBooks();
+        Long getAvailableBooks();
+        Long getBorrowedBooks();
+        Long getOverdueBooks();
+        Long getBooksNeedingRestock();
+        Double getAverageAvailabilityPercentage();
+    }
+
+    /**
+     * Status Totals View
+     * 
+     * Interface projection for the per-status totals query.
+     */
+    interface StatusTotalsView {
+        String getStatus();
+        Long getBooks();
+        Long getBooksNeedingRestock();
+        Long getTotalCopies();
+        Long getCopiesAvailable();
+        Double getAvailabilityPercentageSum();
+    }
+}
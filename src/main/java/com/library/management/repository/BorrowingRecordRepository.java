@@ -3,14 +3,21 @@ package com.library.management.repository;
 import com.library.management.model.BorrowingRecord;
 import com.library.management.model.User;
 import com.library.management.model.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +27,11 @@ import java.util.Optional;
  * This interface extends JpaRepository to provide CRUD operations for BorrowingRecord entities.
  * JpaRepository provides methods like save(), findById(), findAll(), delete(), etc.
  * 
+ * The list queries fetch the user and the book of each record in the same
+ * statement (@EntityGraph), because BorrowingRecordDTO reads both; otherwise a
+ * list of N records would cost up to 2N extra selects. Paged queries count
+ * without the joins.
+ * 
  * @Repository: Marks this interface as a repository component
  * JpaRepository<BorrowingRecord, Long>: BorrowingRecord is the entity type, Long is the ID type
  */
@@ -32,6 +44,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param user the user to search for
      * @return list of borrowing records for the specified user
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     List<BorrowingRecord> findByUser(User user);
 
     /**
@@ -40,6 +53,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param book the book to search for
      * @return list of borrowing records for the specified book
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     List<BorrowingRecord> findByBook(Book book);
 
     /**
@@ -48,22 +62,29 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param status the borrowing status to search for
      * @return list of borrowing records with the specified status
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     List<BorrowingRecord> findByStatus(BorrowingRecord.BorrowingStatus status);
 
     /**
-     * Find active borrowing records (status = BORROWED)
+     * Find active borrowing records (status = BORROWED or OVERDUE)
      * 
      * @return list of active borrowing records
      */
-    @Query("SELECT br FROM BorrowingRecord br WHERE br.status = 'BORROWED'")
+    @EntityGraph(attributePaths = {"user", "book"})
+    @Query("SELECT br FROM BorrowingRecord br WHERE br.status IN ('BORROWED', 'OVERDUE')")
     List<BorrowingRecord> findActiveBorrowingRecords();
 
     /**
      * Find overdue borrowing records
      * 
+     * Loans are flipped to OVERDUE once a day (see OverdueEngine); loans that
+     * fell due since the last flip are still BORROWED.
+     * 
      * @return list of overdue borrowing records
      */
-    @Query("SELECT br FROM BorrowingRecord br WHERE br.status = 'BORROWED' AND br.expectedReturnDate < CURRENT_DATE")
+    @EntityGraph(attributePaths = {"user", "book"})
+    @Query("SELECT br FROM BorrowingRecord br WHERE br.status = 'OVERDUE' OR " +
+           "(br.status = 'BORROWED' AND br.expectedReturnDate < CURRENT_DATE)")
     List<BorrowingRecord> findOverdueBorrowingRecords();
 
     /**
@@ -72,6 +93,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param userId the user ID to search for
      * @return list of borrowing records for the specified user
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     @Query("SELECT br FROM BorrowingRecord br WHERE br.user.id = :userId")
     List<BorrowingRecord> findByUserId(@Param("userId") Long userId);
 
@@ -81,6 +103,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param bookId the book ID to search for
      * @return list of borrowing records for the specified book
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     @Query("SELECT br FROM BorrowingRecord br WHERE br.book.id = :bookId")
     List<BorrowingRecord> findByBookId(@Param("bookId") Long bookId);
 
@@ -90,7 +113,8 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param userId the user ID to search for
      * @return list of active borrowing records for the specified user
      */
-    @Query("SELECT br FROM BorrowingRecord br WHERE br.user.id = :userId AND br.status = 'BORROWED'")
+    @EntityGraph(attributePaths = {"user", "book"})
+    @Query("SELECT br FROM BorrowingRecord br WHERE br.user.id = :userId AND br.status IN ('BORROWED', 'OVERDUE')")
     List<BorrowingRecord> findActiveBorrowingRecordsByUserId(@Param("userId") Long userId);
 
     /**
@@ -100,6 +124,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param endDate end date of the range
      * @return list of borrowing records within the date range
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     @Query("SELECT br FROM BorrowingRecord br WHERE br.borrowedDate BETWEEN :startDate AND :endDate")
     List<BorrowingRecord> findByBorrowedDateRange(@Param("startDate") LocalDate startDate, 
                                                  @Param("endDate") LocalDate endDate);
@@ -111,6 +136,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param endDate end date of the range
      * @return list of borrowing records returned within the date range
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     @Query("SELECT br FROM BorrowingRecord br WHERE br.actualReturnDate BETWEEN :startDate AND :endDate")
     List<BorrowingRecord> findByReturnDateRange(@Param("startDate") LocalDate startDate, 
                                                @Param("endDate") LocalDate endDate);
@@ -120,6 +146,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * 
      * @return list of borrowing records with outstanding fines
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     @Query("SELECT br FROM BorrowingRecord br WHERE br.fineAmount > 0 AND br.finePaidDate IS NULL")
     List<BorrowingRecord> findBorrowingRecordsWithOutstandingFines();
 
@@ -130,6 +157,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param status the status to search for
      * @return list of borrowing records for the specified user and status
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     List<BorrowingRecord> findByUserAndStatus(User user, BorrowingRecord.BorrowingStatus status);
 
     /**
@@ -139,6 +167,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param status the status to search for
      * @return list of borrowing records for the specified book and status
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     List<BorrowingRecord> findByBookAndStatus(Book book, BorrowingRecord.BorrowingStatus status);
 
     /**
@@ -150,7 +179,12 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param pageable pagination information
      * @return page of borrowing records matching the criteria
      */
-    @Query("SELECT br FROM BorrowingRecord br WHERE " +
+    @EntityGraph(attributePaths = {"user", "book"})
+    @Query(value = "SELECT br FROM BorrowingRecord br WHERE " +
+           "(:userId IS NULL OR br.user.id = :userId) AND " +
+           "(:bookId IS NULL OR br.book.id = :bookId) AND " +
+           "(:status IS NULL OR br.status = :status)",
+           countQuery = "SELECT COUNT(br) FROM BorrowingRecord br WHERE " +
            "(:userId IS NULL OR br.user.id = :userId) AND " +
            "(:bookId IS NULL OR br.book.id = :bookId) AND " +
            "(:status IS NULL OR br.status = :status)")
@@ -166,6 +200,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param pageable pagination information
      * @return page of borrowing records for the specified user
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     Page<BorrowingRecord> findByUserIdOrderByBorrowedDateDesc(@Param("userId") Long userId, Pageable pageable);
 
     /**
@@ -175,6 +210,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param pageable pagination information
      * @return page of borrowing records for the specified book
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     Page<BorrowingRecord> findByBookIdOrderByBorrowedDateDesc(@Param("bookId") Long bookId, Pageable pageable);
 
     /**
@@ -191,7 +227,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param user the user to count for
      * @return number of active borrowing records for the specified user
      */
-    @Query("SELECT COUNT(br) FROM BorrowingRecord br WHERE br.user = :user AND br.status = 'BORROWED'")
+    @Query("SELECT COUNT(br) FROM BorrowingRecord br WHERE br.user = :user AND br.status IN ('BORROWED', 'OVERDUE')")
     long countActiveBorrowingRecordsByUser(@Param("user") User user);
 
     /**
@@ -200,6 +236,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param days number of days to look ahead
      * @return list of borrowing records due soon
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     @Query("SELECT br FROM BorrowingRecord br WHERE br.status = 'BORROWED' AND " +
            "br.expectedReturnDate BETWEEN CURRENT_DATE AND :dueDate")
     List<BorrowingRecord> findBorrowingRecordsDueSoon(@Param("dueDate") LocalDate dueDate);
@@ -210,6 +247,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param renewalCount the renewal count to search for
      * @return list of borrowing records with the specified renewal count
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     List<BorrowingRecord> findByRenewalCount(Integer renewalCount);
 
     /**
@@ -217,6 +255,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * 
      * @return list of borrowing records that can be renewed
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     @Query("SELECT br FROM BorrowingRecord br WHERE br.status = 'BORROWED' AND " +
            "br.renewalCount < br.maxRenewals AND br.expectedReturnDate >= CURRENT_DATE")
     List<BorrowingRecord> findBorrowingRecordsThatCanBeRenewed();
@@ -228,6 +267,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param bookId the book ID to search for
      * @return list of borrowing records for the specified user and book
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     @Query("SELECT br FROM BorrowingRecord br WHERE br.user.id = :userId AND br.book.id = :bookId")
     List<BorrowingRecord> findByUserIdAndBookId(@Param("userId") Long userId, @Param("bookId") Long bookId);
 
@@ -249,6 +289,7 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param pageable pagination information
      * @return page of borrowing records with highest fines
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     Page<BorrowingRecord> findByOrderByFineAmountDesc(Pageable pageable);
 
     /**
@@ -258,8 +299,281 @@ public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord
      * @param maxFine maximum fine amount
      * @return list of borrowing records within the fine range
      */
+    @EntityGraph(attributePaths = {"user", "book"})
     @Query("SELECT br FROM BorrowingRecord br WHERE br.fineAmount BETWEEN :minFine AND :maxFine")
     List<BorrowingRecord> findByFineAmountRange(@Param("minFine") Double minFine, 
                                                @Param("maxFine") Double maxFine);
-}
 
+    /**
+     * Count borrows per user since a given day, most active users first
+     * 
+     * Used to rebuild the in-memory activity leaderboards, not on the request path.
+     * 
+     * @param since first day to count (inclusive)
+     * @param pageable limits the number of users returned
+     * @return borrow counts per user
+     */
+    @Query("SELECT br.user.id AS userId, COUNT(br) AS borrows FROM BorrowingRecord br " +
+           "WHERE br.borrowedDate >= :since GROUP BY br.user.id ORDER BY COUNT(br) DESC")
+    List<UserBorrowCountView> countBorrowsPerUserSince(@Param("since") LocalDate since, Pageable pageable);
+
+    /**
+     * Check whether a user currently borrows a book
+     * 
+     * Stops at the first open loan found in idx_borrowing_records_open_loans,
+     * so a checkout rejects a second copy of the same book with a single index
+     * lookup.
+     * 
+     * @param userId the user ID
+     * @param bookId the book about to be borrowed
+     * @return true if the user has an open loan of the book
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM borrowing_records br " +
+                   "WHERE br.user_id = :userId AND br.book_id = :bookId " +
+                   "AND br.status IN ('BORROWED', 'OVERDUE') AND br.deleted = false)",
+           nativeQuery = true)
+    boolean existsOpenLoanByUserIdAndBookId(@Param("userId") Long userId, @Param("bookId") Long bookId);
+
+    /**
+     * Check whether a book is currently borrowed
+     * 
+     * Stops at the first open loan found in idx_borrowing_records_open_loans_by_book,
+     * instead of loading the borrowing history of the book.
+     * 
+     * @param bookId the book ID
+     * @return true if the book has an open loan
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM borrowing_records br " +
+                   "WHERE br.book_id = :bookId AND br.status IN ('BORROWED', 'OVERDUE') AND br.deleted = false)",
+           nativeQuery = true)
+    boolean existsOpenLoanByBookId(@Param("bookId") Long bookId);
+
+    /**
+     * Count the open loans of several users, per user and book
+     * 
+     * Lets a batch checkout find the books its users already borrow with one query.
+     * 
+     * @param userIds the user IDs
+     * @return open loan counts, one row per user and book
+     */
+    @Query(value = "SELECT br.user_id AS userId, br.book_id AS bookId, COUNT(*) AS openLoans " +
+                   "FROM borrowing_records br " +
+                   "WHERE br.user_id IN (:userIds) AND br.status IN ('BORROWED', 'OVERDUE') AND br.deleted = false " +
+                   "GROUP BY br.user_id, br.book_id",
+           nativeQuery = true)
+    List<UserBookOpenLoansView> countOpenLoansPerUserAndBook(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Open loan count of one user and book
+     */
+    interface UserBookOpenLoansView {
+        Long getUserId();
+        Long getBookId();
+        long getOpenLoans();
+    }
+
+    /**
+     * Find borrowing records by IDs together with their user
+     * 
+     * The books are left as proxies, so the caller can load them with the
+     * lock it needs.
+     * 
+     * @param ids the borrowing record IDs
+     * @return borrowing records with the user initialized
+     */
+    @Query("SELECT br FROM BorrowingRecord br JOIN FETCH br.user WHERE br.id IN :ids")
+    List<BorrowingRecord> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find borrowing records by IDs together with their user and book
+     * 
+     * @param ids the borrowing record IDs
+     * @return borrowing records ordered by expected return date
+     */
+    @EntityGraph(attributePaths = {"user", "book"})
+    @Query("SELECT br FROM BorrowingRecord br WHERE br.id IN :ids ORDER BY br.expectedReturnDate, br.id")
+    List<BorrowingRecord> findAllWithUserAndBookByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the due dates of all open loans
+     * 
+     * @return one row per open loan
+     */
+    @Query("SELECT br.id AS id, br.user.id AS userId, br.book.id AS bookId, " +
+           "br.expectedReturnDate AS expectedReturnDate, br.status AS status " +
+           "FROM BorrowingRecord br WHERE br.status IN ('BORROWED', 'OVERDUE')")
+    List<OpenLoanDueDateView> findOpenLoanDueDates();
+
+    /**
+     * Due date of one open loan
+     */
+    interface OpenLoanDueDateView {
+        Long getId();
+        Long getUserId();
+        Long getBookId();
+        LocalDate getExpectedReturnDate();
+        BorrowingRecord.BorrowingStatus getStatus();
+    }
+
+    /**
+     * Flip open loans that are past their due date to OVERDUE
+     * 
+     * Loans that were returned or renewed in the meantime are left alone. The
+     * version is bumped, so a concurrent return retries on top of the new status.
+     * 
+     * @param ids the borrowing record IDs
+     * @param today the current day; loans due before it are overdue
+     * @return number of loans flipped
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "borrowing_records"))
+    @Query(value = "UPDATE borrowing_records SET status = 'OVERDUE', version = version + 1, " +
+                   "updated_at = LOCALTIMESTAMP " +
+                   "WHERE id IN (:ids) AND status = 'BORROWED' AND expected_return_date < :today AND deleted = false",
+           nativeQuery = true)
+    int markOverdue(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    /**
+     * Find the end of the next fine accrual chunk
+     * 
+     * @param afterId the last ID of the previous chunk (0 to start)
+     * @param today the day fines are computed for
+     * @param limit number of loans per chunk
+     * @return the highest ID of the next chunk of unpaid overdue loans, or null if none is left
+     */
+    @Query(value = "SELECT MAX(c.id) FROM (SELECT br.id FROM borrowing_records br " +
+                   "WHERE br.id > :afterId AND br.status IN ('BORROWED', 'OVERDUE') AND br.deleted = false " +
+                   "AND br.fine_paid_date IS NULL AND br.expected_return_date < :today " +
+                   "ORDER BY br.id LIMIT :limit) c",
+           nativeQuery = true)
+    Long findFineAccrualChunkEnd(@Param("afterId") long afterId,
+                                 @Param("today") LocalDate today,
+                                 @Param("limit") int limit);
+
+    /**
+     * Find the users of the unpaid overdue loans in an ID range
+     * 
+     * @param afterId lower bound of the range (exclusive)
+     * @param lastId upper bound of the range (inclusive)
+     * @param today the day fines are computed for
+     * @return IDs of the users whose fines accrue in the range
+     */
+    @Query(value = "SELECT DISTINCT br.user_id FROM borrowing_records br " +
+                   "WHERE br.id > :afterId AND br.id <= :lastId AND br.status IN ('BORROWED', 'OVERDUE') " +
+                   "AND br.deleted = false AND br.fine_paid_date IS NULL AND br.expected_return_date < :today",
+           nativeQuery = true)
+    List<Long> findUserIdsOfAccruingLoans(@Param("afterId") long afterId,
+                                          @Param("lastId") long lastId,
+                                          @Param("today") LocalDate today);
+
+    /**
+     * Set the fines of the unpaid overdue loans in an ID range in a single statement
+     * 
+     * The fine is recomputed from the due date rather than incremented, so
+     * running a chunk twice is harmless. Rows whose fine is already right are
+     * not written.
+     * 
+     * @param afterId lower bound of the range (exclusive)
+     * @param lastId upper bound of the range (inclusive)
+     * @param today the day fines are computed for
+     * @param dailyFineRate fine per overdue day
+     * @return number of loans whose fine changed
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "borrowing_records"))
+    @Query(value = "UPDATE borrowing_records SET fine_amount = (:today - expected_return_date) * :dailyFineRate, " +
+                   "version = version + 1, updated_at = LOCALTIMESTAMP " +
+                   "WHERE id > :afterId AND id <= :lastId AND status IN ('BORROWED', 'OVERDUE') AND deleted = false " +
+                   "AND fine_paid_date IS NULL AND expected_return_date < :today " +
+                   "AND fine_amount IS DISTINCT FROM (:today - expected_return_date) * :dailyFineRate",
+           nativeQuery = true)
+    int accrueFines(@Param("afterId") long afterId,
+                    @Param("lastId") long lastId,
+                    @Param("today") LocalDate today,
+                    @Param("dailyFineRate") double dailyFineRate);
+
+    /**
+     * Find the checkpoint of the fine accrual run of a day
+     * 
+     * @param runDate the run day
+     * @return the checkpoint, if the run has started
+     */
+    @Query(value = "SELECT r.last_id AS lastId, r.rows_updated AS rowsUpdated, " +
+                   "r.completed_at IS NOT NULL AS completed " +
+                   "FROM fine_accrual_runs r WHERE r.run_date = :runDate",
+           nativeQuery = true)
+    Optional<FineAccrualCheckpointView> findFineAccrualCheckpoint(@Param("runDate") LocalDate runDate);
+
+    /**
+     * Checkpoint of a fine accrual run
+     */
+    interface FineAccrualCheckpointView {
+        long getLastId();
+        long getRowsUpdated();
+        boolean getCompleted();
+    }
+
+    /**
+     * Record the progress of a fine accrual run
+     * 
+     * @param runDate the run day
+     * @param lastId every loan up to this ID has been processed
+     * @param rowsUpdated loans updated so far
+     * @return number of affected rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "fine_accrual_runs"))
+    @Query(value = "INSERT INTO fine_accrual_runs (run_date, last_id, rows_updated, started_at) " +
+                   "VALUES (:runDate, :lastId, :rowsUpdated, LOCALTIMESTAMP) " +
+                   "ON CONFLICT (run_date) DO UPDATE SET last_id = EXCLUDED.last_id, " +
+                   "rows_updated = EXCLUDED.rows_updated",
+           nativeQuery = true)
+    int saveFineAccrualCheckpoint(@Param("runDate") LocalDate runDate,
+                                  @Param("lastId") long lastId,
+                                  @Param("rowsUpdated") long rowsUpdated);
+
+    /**
+     * Mark the fine accrual run of a day as completed
+     * 
+     * @param runDate the run day
+     * @return number of affected rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "fine_accrual_runs"))
+    @Query(value = "UPDATE fine_accrual_runs SET completed_at = LOCALTIMESTAMP WHERE run_date = :runDate",
+           nativeQuery = true)
+    int completeFineAccrualRun(@Param("runDate") LocalDate runDate);
+
+    /**
+     * Find borrowing records that have been deleted since before a cutoff
+     * 
+     * @param cutoff records deleted (last updated) before this time qualify
+     * @param limit maximum number of IDs
+     * @return borrowing record IDs in ascending order
+     */
+    @Query(value = "SELECT br.id FROM borrowing_records br WHERE br.deleted = true AND br.updated_at < :cutoff " +
+                   "ORDER BY br.id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Move deleted borrowing records to borrowing_records_archive in a single statement
+     * 
+     * @param ids the borrowing record IDs, as returned by findArchivableIds
+     * @return number of archived records
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "borrowing_records"))
+    @Query(value = "WITH moved AS (DELETE FROM borrowing_records WHERE id IN (:ids) AND deleted = true RETURNING *) " +
+                   "INSERT INTO borrowing_records_archive SELECT moved.*, LOCALTIMESTAMP FROM moved",
+           nativeQuery = true)
+    int archiveAll(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Borrow count of one user
+     */
+    interface UserBorrowCountView {
+        Long getUserId();
+        Long getBorrows();
+    }
+}
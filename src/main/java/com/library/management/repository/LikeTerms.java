@@ -0,0 +1,36 @@
+package com.library.management.repository;
+
+/**
+ * LIKE Search Terms
+ * 
+ * The LOWER(...) LIKE finders of the repositories wrap their search term in
+ * '%' and declare '\' as the escape character. Terms taken from users must be
+ * passed through escape, so '%', '_' and '\' in them match literally instead
+ * of acting as wildcards.
+ */
+public final class LikeTerms {
+
+    private LikeTerms() {
+    }
+
+    /**
+     * Escape the LIKE wildcards and the escape character in a search term
+     * 
+     * @param term the term as entered (can be null)
+     * @return the escaped term, or null if the term is null
+     */
+    public static String escape(String term) {
+        if (term == null) {
+            return null;
+        }
+        StringBuilder escaped = new StringBuilder(term.length() + 8);
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
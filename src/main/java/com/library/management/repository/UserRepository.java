@@ -1,14 +1,20 @@
 package com.library.management.repository;
 
 import com.library.management.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,12 +24,26 @@ import java.util.Optional;
  * This interface extends JpaRepository to provide CRUD operations for User entities.
  * JpaRepository provides methods like save(), findById(), findAll(), delete(), etc.
  * 
+ * The LOWER(...) LIKE finders expect their terms escaped with LikeTerms.escape.
+ * 
  * @Repository: Marks this interface as a repository component
  * JpaRepository<User, Long>: User is the entity type, Long is the ID type
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Borrowing summary rows of the users :userIds, computed from their borrowing records
+     */
+    String BORROWING_SUMMARY_SELECT = "SELECT u.id, " +
+            "COUNT(br.id) FILTER (WHERE br.status IN ('BORROWED', 'OVERDUE')), " +
+            "COUNT(br.id) FILTER (WHERE br.status = 'OVERDUE'), " +
+            "COALESCE(ROUND(SUM(br.fine_amount) FILTER (WHERE br.fine_amount > 0 AND br.fine_paid_date IS NULL)" +
+            "::NUMERIC, 2), 0), " +
+            "MAX(br.updated_at) " +
+            "FROM users u LEFT JOIN borrowing_records br ON br.user_id = u.id AND br.deleted = false " +
+            "WHERE u.id IN (:userIds) GROUP BY u.id ";
+
     /**
      * Find user by email
      * 
@@ -62,7 +82,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param firstName the first name to search for
      * @return list of users with matching first name
      */
-    List<User> findByFirstNameContainingIgnoreCase(String firstName);
+    @Query("SELECT u FROM User u WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')) ESCAPE '\\'")
+    List<User> findByFirstNameContainingIgnoreCase(@Param("firstName") String firstName);
 
     /**
      * Find users by last name (case-insensitive)
@@ -70,7 +91,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param lastName the last name to search for
      * @return list of users with matching last name
      */
-    List<User> findByLastNameContainingIgnoreCase(String lastName);
+    @Query("SELECT u FROM User u WHERE LOWER(u.lastName) LIKE LOWER(CONCAT('%', :lastName, '%')) ESCAPE '\\'")
+    List<User> findByLastNameContainingIgnoreCase(@Param("lastName") String lastName);
 
     /**
      * Find users by department
@@ -109,8 +131,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * 
      * @return list of users who have overdue books
      */
-    @Query("SELECT DISTINCT u FROM User u JOIN u.borrowingRecords br WHERE " +
-           "br.status = 'BORROWED' AND br.expectedReturnDate < CURRENT_DATE")
+    @Query("SELECT DISTINCT u FROM User u JOIN u.borrowingRecords br WHERE br.status = 'OVERDUE' OR " +
+           "(br.status = 'BORROWED' AND br.expectedReturnDate < CURRENT_DATE)")
     List<User> findUsersWithOverdueBooks();
 
     /**
@@ -134,8 +156,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return page of users matching the criteria
      */
     @Query("SELECT u FROM User u WHERE " +
-           "(:firstName IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))) AND " +
-           "(:lastName IS NULL OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))) AND " +
+           "(:firstName IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')) ESCAPE '\\') AND " +
+           "(:lastName IS NULL OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :lastName, '%')) ESCAPE '\\') AND " +
            "(:role IS NULL OR u.role = :role) AND " +
            "(:status IS NULL OR u.status = :status)")
     Page<User> findByCriteria(@Param("firstName") String firstName,
@@ -144,6 +166,30 @@ public interface UserRepository extends JpaRepository<User, Long> {
                              @Param("status") User.UserStatus status,
                              Pageable pageable);
 
+    /**
+     * Find the next keyset page of users matching multiple criteria
+     * 
+     * @param firstName first name to search for (can be null)
+     * @param lastName last name to search for (can be null)
+     * @param role role to search for (can be null)
+     * @param status status to search for (can be null)
+     * @param afterId ID of the last user of the previous page (0 for the first page)
+     * @param pageable page size (page number must be 0, unsorted)
+     * @return users ordered by ID
+     */
+    @Query("SELECT u FROM User u WHERE u.id > :afterId AND " +
+           "(:firstName IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')) ESCAPE '\\') AND " +
+           "(:lastName IS NULL OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :lastName, '%')) ESCAPE '\\') AND " +
+           "(:role IS NULL OR u.role = :role) AND " +
+           "(:status IS NULL OR u.status = :status) " +
+           "ORDER BY u.id")
+    List<User> findByCriteriaAfter(@Param("firstName") String firstName,
+                                   @Param("lastName") String lastName,
+                                   @Param("role") User.UserRole role,
+                                   @Param("status") User.UserStatus status,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
     /**
      * Find recently registered users
      * 
@@ -152,6 +198,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Page<User> findByOrderByCreatedAtDesc(Pageable pageable);
 
+    /**
+     * Find the first keyset page of recently registered users
+     * 
+     * @param pageable page size (page number must be 0, unsorted)
+     * @return users ordered by registration time, newest first
+     */
+    @Query("SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findRecentFirstPage(Pageable pageable);
+
+    /**
+     * Find the next keyset page of recently registered users
+     * 
+     * @param createdAt registration time of the last user of the previous page
+     * @param id ID of the last user of the previous page
+     * @param pageable page size (page number must be 0, unsorted)
+     * @return users ordered by registration time, newest first
+     */
+    @Query("SELECT u FROM User u WHERE u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findRecentAfter(@Param("createdAt") LocalDateTime createdAt,
+                               @Param("id") Long id,
+                               Pageable pageable);
+
     /**
      * Count users by role
      * 
@@ -187,15 +256,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRegistrationDateRange(@Param("startDate") LocalDate startDate, 
                                           @Param("endDate") LocalDate endDate);
 
-    /**
-     * Find users with the most borrowing activity
-     * 
-     * @param pageable pagination information
-     * @return page of users with most borrowing activity
-     */
-    @Query("SELECT u FROM User u ORDER BY SIZE(u.borrowingRecords) DESC")
-    Page<User> findMostActiveUsers(Pageable pageable);
-
     /**
      * Search users by multiple fields (full-text search)
      * 
@@ -204,13 +264,32 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return page of users matching the search term
      */
     @Query("SELECT u FROM User u WHERE " +
-           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.studentId) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(u.studentId) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\'")
     Page<User> searchUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
 
+    /**
+     * Find the next keyset page of users matching a search term
+     * 
+     * @param searchTerm the term to search for
+     * @param afterId ID of the last user of the previous page (0 for the first page)
+     * @param pageable page size (page number must be 0, unsorted)
+     * @return users ordered by ID
+     */
+    @Query("SELECT u FROM User u WHERE u.id > :afterId AND (" +
+           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\' OR " +
+           "LOWER(u.studentId) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ESCAPE '\\') " +
+           "ORDER BY u.id")
+    List<User> searchUsersAfter(@Param("searchTerm") String searchTerm,
+                                @Param("afterId") Long afterId,
+                                Pageable pageable);
+
     /**
      * Find users who have never borrowed a book
      * 
@@ -251,5 +330,172 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if student ID exists, false otherwise
      */
     boolean existsByStudentId(String studentId);
-}
 
+    /**
+     * Find users that have been deleted since before a cutoff and can be archived
+     * 
+     * Borrowing records keep a foreign key to their user, so a user is only
+     * archived once none of their borrowing records is left in the live table.
+     * 
+     * @param cutoff users deleted (last updated) before this time qualify
+     * @param limit maximum number of IDs
+     * @return user IDs in ascending order
+     */
+    @Query(value = "SELECT u.id FROM users u WHERE u.deleted = true AND u.updated_at < :cutoff " +
+                   "AND NOT EXISTS (SELECT 1 FROM borrowing_records br WHERE br.user_id = u.id) " +
+                   "ORDER BY u.id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Move deleted users to users_archive in a single statement
+     * 
+     * @param ids the user IDs, as returned by findArchivableIds
+     * @return number of archived users
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "WITH moved AS (DELETE FROM users WHERE id IN (:ids) AND deleted = true RETURNING *) " +
+                   "INSERT INTO users_archive SELECT moved.*, LOCALTIMESTAMP FROM moved",
+           nativeQuery = true)
+    int archiveAll(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the borrowing summary of a user
+     * 
+     * @param userId the user ID
+     * @return the summary, if the user has ever checked out a book
+     */
+    @Query(value = "SELECT s.user_id AS userId, s.active_loans AS activeLoans, s.overdue_loans AS overdueLoans, " +
+                   "s.unpaid_fines AS unpaidFines, s.last_activity_at AS lastActivityAt " +
+                   "FROM user_borrowing_summary s WHERE s.user_id = :userId",
+           nativeQuery = true)
+    Optional<BorrowingSummaryView> findBorrowingSummary(@Param("userId") Long userId);
+
+    /**
+     * Find and lock the borrowing summaries of several users
+     * 
+     * Rows are locked in user ID order, so two transactions locking overlapping
+     * sets of users cannot deadlock on them.
+     * 
+     * @param userIds the user IDs
+     * @return the existing summaries, locked until the end of the transaction
+     */
+    @Query(value = "SELECT s.user_id AS userId, s.active_loans AS activeLoans, s.overdue_loans AS overdueLoans, " +
+                   "s.unpaid_fines AS unpaidFines, s.last_activity_at AS lastActivityAt " +
+                   "FROM user_borrowing_summary s WHERE s.user_id IN (:userIds) ORDER BY s.user_id FOR UPDATE",
+           nativeQuery = true)
+    List<BorrowingSummaryView> findBorrowingSummariesForUpdate(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Borrowing counters of one user
+     */
+    interface BorrowingSummaryView {
+        Long getUserId();
+        int getActiveLoans();
+        int getOverdueLoans();
+        double getUnpaidFines();
+        LocalDateTime getLastActivityAt();
+    }
+
+    /**
+     * Create the missing borrowing summaries of several users from their borrowing records
+     * 
+     * Existing rows are left alone, so a summary created concurrently by another
+     * checkout is never overwritten with counts read before that checkout committed.
+     * 
+     * @param userIds the user IDs
+     * @return number of created summaries
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "user_borrowing_summary"))
+    @Query(value = "INSERT INTO user_borrowing_summary " +
+                   "(user_id, active_loans, overdue_loans, unpaid_fines, last_activity_at) " +
+                   BORROWING_SUMMARY_SELECT +
+                   "ON CONFLICT (user_id) DO NOTHING",
+           nativeQuery = true)
+    int createBorrowingSummaries(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Recompute the borrowing summaries of several users from their borrowing records
+     * 
+     * For statements that change many borrowing records at once. The caller
+     * must lock the existing summaries first (findBorrowingSummariesForUpdate),
+     * so the counts are read after every concurrent checkout of these users
+     * has committed.
+     * 
+     * @param userIds the user IDs
+     * @return number of written summaries
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "user_borrowing_summary"))
+    @Query(value = "INSERT INTO user_borrowing_summary " +
+                   "(user_id, active_loans, overdue_loans, unpaid_fines, last_activity_at) " +
+                   BORROWING_SUMMARY_SELECT +
+                   "ON CONFLICT (user_id) DO UPDATE SET active_loans = EXCLUDED.active_loans, " +
+                   "overdue_loans = EXCLUDED.overdue_loans, unpaid_fines = EXCLUDED.unpaid_fines, " +
+                   "last_activity_at = GREATEST(user_borrowing_summary.last_activity_at, EXCLUDED.last_activity_at)",
+           nativeQuery = true)
+    int refreshBorrowingSummaries(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Count one new loan of a user, if the user may borrow another book
+     * 
+     * The check and the increment are one conditional UPDATE of the summary
+     * row, which stays locked until the checkout commits. Concurrent checkouts
+     * of the same user therefore queue up behind each other and each sees the
+     * loans of the ones before it.
+     * 
+     * @param userId the user ID
+     * @param maxBooksAllowed loan limit of the user
+     * @return 1 if the loan was counted, 0 if the user is at the limit, has
+     * overdue loans or unpaid fines, or has no summary yet
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "user_borrowing_summary"))
+    @Query(value = "UPDATE user_borrowing_summary SET active_loans = active_loans + 1, " +
+                   "last_activity_at = LOCALTIMESTAMP " +
+                   "WHERE user_id = :userId AND active_loans < :maxBooksAllowed " +
+                   "AND overdue_loans = 0 AND unpaid_fines <= 0",
+           nativeQuery = true)
+    int reserveLoan(@Param("userId") Long userId, @Param("maxBooksAllowed") int maxBooksAllowed);
+
+    /**
+     * Apply the changes of borrow, return and fine payment transitions to a user's summary
+     * 
+     * Pending borrowing record changes are flushed first, so borrowing records
+     * are always locked before summaries.
+     * 
+     * @param userId the user ID
+     * @param activeLoans change of the open loan count
+     * @param overdueLoans change of the overdue loan count
+     * @param unpaidFines change of the unpaid fine total
+     * @return number of affected rows
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "user_borrowing_summary"))
+    @Query(value = "UPDATE user_borrowing_summary SET active_loans = active_loans + :activeLoans, " +
+                   "overdue_loans = overdue_loans + :overdueLoans, " +
+                   "unpaid_fines = unpaid_fines + CAST(:unpaidFines AS NUMERIC(12, 2)), " +
+                   "last_activity_at = LOCALTIMESTAMP " +
+                   "WHERE user_id = :userId",
+           nativeQuery = true)
+    int adjustBorrowingSummary(@Param("userId") Long userId,
+                               @Param("activeLoans") int activeLoans,
+                               @Param("overdueLoans") int overdueLoans,
+                               @Param("unpaidFines") double unpaidFines);
+
+    /**
+     * Delete the borrowing summaries of users
+     * 
+     * Archived users have no borrowing records left, so their summaries are
+     * dropped before the users are archived.
+     * 
+     * @param userIds the user IDs
+     * @return number of deleted summaries
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "user_borrowing_summary"))
+    @Query(value = "DELETE FROM user_borrowing_summary WHERE user_id IN (:userIds)", nativeQuery = true)
+    int deleteBorrowingSummariesOf(@Param("userIds") Collection<Long> userIds);
+}
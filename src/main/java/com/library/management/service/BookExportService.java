@@ -0,0 +1,31 @@
+package com.library.management.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Book Export Service Interface
+ * 
+ * Writes the whole catalog to a stream in constant memory, for example for the
+ * nightly export. The output can be read back by BookImportService.
+ */
+public interface BookExportService {
+
+    /**
+     * Export all books that are not deleted, in ID order
+     * 
+     * @param output where to write the books; flushed but not closed
+     * @param format CSV (with a header row) or JSONL (one book object per line)
+     * @return the number of books written
+     * @throws IOException if writing to the output fails
+     */
+    long exportBooks(OutputStream output, ExportFormat format) throws IOException;
+
+    /**
+     * Export Format Enumeration
+     */
+    enum ExportFormat {
+        CSV,
+        JSONL
+    }
+}
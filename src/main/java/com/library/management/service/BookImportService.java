@@ -0,0 +1,39 @@
+package com.library.management.service;
+
+import com.library.management.dto.BookImportResultDTO;
+
+import java.io.InputStream;
+
+/**
+ * Book Import Service Interface
+ * 
+ * Loads books into the catalog in bulk, for example when a new branch is
+ * onboarded. The input is read incrementally, so its size is not limited by
+ * memory. Rows are validated with the same rules as a single book creation and
+ * rejected rows are reported without stopping the import.
+ */
+public interface BookImportService {
+
+    /**
+     * Import books from CSV or JSON Lines
+     * 
+     * CSV input starts with a header row naming the BookDTO fields of each
+     * column (e.g. title, author, isbn, publication_date, total_copies).
+     * JSON Lines input holds one BookDTO object per line.
+     * 
+     * @param input the data to import; read to the end but not closed
+     * @param format the format of the data
+     * @return counts and row errors of the import, marked incomplete if reading
+     *         failed after some books were stored
+     * @throws IllegalArgumentException if the input cannot be read and no book was stored
+     */
+    BookImportResultDTO importBooks(InputStream input, ImportFormat format);
+
+    /**
+     * Import Format Enumeration
+     */
+    enum ImportFormat {
+        CSV,
+        JSONL
+    }
+}
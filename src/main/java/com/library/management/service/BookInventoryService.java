@@ -0,0 +1,99 @@
+package com.library.management.service;
+
+import com.library.management.model.Book;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Book Inventory Service Interface
+ *
+ * Changes the copy counts of a book safely under concurrency. How conflicting
+ * changes are serialized depends on library.inventory.mode (optimistic version
+ * check, pessimistic row lock, or a single atomic UPDATE).
+ *
+ * Every method must run inside a transaction owned by the caller, so the copy
+ * count change commits together with related changes (such as a borrowing
+ * record). In optimistic mode the caller retries the whole transaction on
+ * conflict, see OptimisticLockRetry.
+ */
+public interface BookInventoryService {
+
+    /**
+     * Take one copy of a book
+     *
+     * @param bookId the book ID
+     * @return the updated book
+     * @throws com.library.management.exception.BookNotFoundException if book not found
+     * @throws IllegalStateException if no copy is available
+     */
+    Book borrowCopy(Long bookId);
+
+    /**
+     * Put one copy of a book back
+     *
+     * @param bookId the book ID
+     * @return the updated book
+     * @throws com.library.management.exception.BookNotFoundException if book not found
+     * @throws IllegalStateException if all copies are already available
+     */
+    Book returnCopy(Long bookId);
+
+    /**
+     * Add copies to a book
+     *
+     * @param bookId the book ID
+     * @param additionalCopies number of copies to add
+     * @return the updated book
+     * @throws com.library.management.exception.BookNotFoundException if book not found
+     * @throws IllegalArgumentException if the number of copies is not positive
+     */
+    Book addCopies(Long bookId, int additionalCopies);
+
+    /**
+     * Remove available copies from a book
+     *
+     * @param bookId the book ID
+     * @param copiesToRemove number of copies to remove
+     * @return the updated book
+     * @throws com.library.management.exception.BookNotFoundException if book not found
+     * @throws IllegalArgumentException if the number of copies is invalid
+     */
+    Book removeCopies(Long bookId, int copiesToRemove);
+
+    /**
+     * Load the books of a batch of copy count changes
+     *
+     * In optimistic and pessimistic mode their rows are locked until the end of
+     * the transaction, so a concurrent single checkout or return waits for the
+     * batch instead of failing it with a version conflict. In atomic mode they
+     * are read without a lock; borrowCopies and returnCopies check the counts
+     * again in the UPDATE.
+     *
+     * @param bookIds the book IDs
+     * @return the books found, in no particular order
+     */
+    List<Book> loadForBatch(Collection<Long> bookIds);
+
+    /**
+     * Take copies of several books, all or nothing per book
+     *
+     * The books must have been loaded with loadForBatch in the same transaction.
+     *
+     * @param copies number of copies to take by book ID
+     * @return IDs of the books that did not have that many copies available
+     */
+    Set<Long> borrowCopies(Map<Long, Integer> copies);
+
+    /**
+     * Put back copies of several books, all or nothing per book
+     *
+     * The books must have been loaded with loadForBatch in the same transaction.
+     *
+     * @param copies number of copies to put back by book ID
+     * @return IDs of the books that did not have that many copies out
+     */
+    Set<Long> returnCopies(Map<Long, Integer> copies);
+}
@@ -1,10 +1,14 @@
 package com.library.management.service;
 
+import com.library.management.dto.BookBulkDeleteResultDTO;
 import com.library.management.dto.BookDTO;
+import com.library.management.dto.CursorPageDTO;
+import com.library.management.dto.SliceDTO;
 import com.library.management.model.Book;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +28,11 @@ import java.util.Optional;
  */
 public interface BookService {
 
+    /**
+     * Largest number of books accepted by deleteBooks
+     */
+    int MAX_BULK_DELETE_SIZE = 1000;
+
     /**
      * Create a new book
      * 
@@ -67,9 +76,21 @@ public interface BookService {
      * 
      * @param id the book ID
      * @throws com.library.management.exception.BookNotFoundException if book not found
+     * @throws IllegalStateException if the book is currently borrowed
      */
     void deleteBook(Long id);
 
+    /**
+     * Delete many books (soft delete) in a single statement
+     * 
+     * Books that are currently borrowed are kept and reported in the result.
+     * 
+     * @param ids the book IDs, at most MAX_BULK_DELETE_SIZE
+     * @return the number of deleted books and the IDs of the kept ones
+     * @throws IllegalArgumentException if no or too many IDs are given
+     */
+    BookBulkDeleteResultDTO deleteBooks(List<Long> ids);
+
     /**
      * Search books by title
      * 
@@ -130,12 +151,13 @@ public interface BookService {
     Page<BookDTO> searchBooksByCriteria(String title, String author, String category, Pageable pageable);
 
     /**
-     * Get most popular books
+     * Get the most borrowed books within a time window
      * 
+     * @param window the time window to rank by
      * @param pageable pagination information
-     * @return page of most popular book DTOs
+     * @return page of most popular book DTOs, most borrowed first
      */
-    Page<BookDTO> getMostPopularBooks(Pageable pageable);
+    Page<BookDTO> getMostPopularBooks(PopularityWindow window, Pageable pageable);
 
     /**
      * Get recently added books
@@ -169,7 +191,7 @@ public interface BookService {
      * @param endDate end date
      * @return list of books published within the date range
      */
-    List<BookDTO> getBooksByPublicationDateRange(java.time.LocalDate startDate, java.time.LocalDate endDate);
+    List<BookDTO> getBooksByPublicationDateRange(LocalDate startDate, LocalDate endDate);
 
     /**
      * Get books by status
@@ -231,6 +253,116 @@ public interface BookService {
      */
     BookDTO removeCopies(Long bookId, Integer copiesToRemove);
 
+    /**
+     * Get all books with keyset pagination, ordered by ID
+     * 
+     * @param cursor cursor of the previous page (null for the first page)
+     * @param size page size
+     * @return cursor page of book DTOs
+     * @throws IllegalArgumentException if the cursor or size is invalid
+     */
+    CursorPageDTO<BookDTO> scrollAllBooks(String cursor, int size);
+
+    /**
+     * Get recently added books with keyset pagination, newest first
+     * 
+     * @param cursor cursor of the previous page (null for the first page)
+     * @param size page size
+     * @return cursor page of book DTOs
+     * @throws IllegalArgumentException if the cursor or size is invalid
+     */
+    CursorPageDTO<BookDTO> scrollRecentlyAddedBooks(String cursor, int size);
+
+    /**
+     * Search books by multiple criteria with keyset pagination, ordered by ID
+     * 
+     * @param title title to search for (can be null)
+     * @param author author to search for (can be null)
+     * @param category category to search for (can be null)
+     * @param cursor cursor of the previous page (null for the first page)
+     * @param size page size
+     * @return cursor page of matching book DTOs
+     * @throws IllegalArgumentException if the cursor or size is invalid
+     */
+    CursorPageDTO<BookDTO> scrollBooksByCriteria(String title, String author, String category, String cursor, int size);
+
+    /**
+     * Full-text search books with keyset pagination, ordered by ID
+     * 
+     * @param searchTerm the term to search for
+     * @param cursor cursor of the previous page (null for the first page)
+     * @param size page size
+     * @return cursor page of books matching the search term
+     * @throws IllegalArgumentException if the cursor or size is invalid
+     */
+    CursorPageDTO<BookDTO> scrollSearchBooks(String searchTerm, String cursor, int size);
+
+    /**
+     * Get all books as a slice (no exact count query)
+     * 
+     * @param pageable pagination information
+     * @param approximateTotal whether to include an estimated total
+     * @return slice of book DTOs
+     */
+    SliceDTO<BookDTO> getAllBooksSlice(Pageable pageable, boolean approximateTotal);
+
+    /**
+     * Search books by multiple criteria as a slice (no exact count query)
+     * 
+     * @param title title to search for (can be null)
+     * @param author author to search for (can be null)
+     * @param category category to search for (can be null)
+     * @param pageable pagination information
+     * @param approximateTotal whether to include a (cached) total
+     * @return slice of matching book DTOs
+     */
+    SliceDTO<BookDTO> searchBooksByCriteriaSlice(String title, String author, String category,
+                                                 Pageable pageable, boolean approximateTotal);
+
+    /**
+     * Get recently added books as a slice (no exact count query)
+     * 
+     * @param pageable pagination information
+     * @param approximateTotal whether to include an estimated total
+     * @return slice of recently added book DTOs
+     */
+    SliceDTO<BookDTO> getRecentlyAddedBooksSlice(Pageable pageable, boolean approximateTotal);
+
+    /**
+     * Full-text search books as a slice (no exact count query)
+     * 
+     * @param searchTerm the term to search for
+     * @param pageable pagination information
+     * @param approximateTotal whether to include a (cached) total
+     * @return slice of books matching the search term
+     */
+    SliceDTO<BookDTO> searchBooksSlice(String searchTerm, Pageable pageable, boolean approximateTotal);
+
+    /**
+     * Popularity Window Enumeration
+     */
+    enum PopularityWindow {
+        WEEK(7),
+        MONTH(30),
+        YEAR(365),
+        ALL_TIME(0);
+
+        private final int days;
+
+        PopularityWindow(int days) {
+            this.days = days;
+        }
+
+        /**
+         * Get the first day counted by this window
+         * @param today the current date
+         * @return first day of the window (inclusive)
+         */
+        public LocalDate since(LocalDate today) {
+            return this == ALL_TIME ? LocalDate.EPOCH : today.minusDays(days - 1L);
+        }
+    }
+
     /**
      * Book Statistics DTO
      */
@@ -0,0 +1,146 @@
+package com.library.management.service;
+
+import com.library.management.dto.BorrowingRecordDTO;
+import com.library.management.dto.UserBorrowingSummaryDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Borrowing Service Interface
+ * 
+ * This interface defines the circulation operations of the library: checking
+ * a book out, returning it, renewing a loan and paying a fine.
+ * 
+ * Key responsibilities:
+ * - Enforcing the borrowing limits of the user (number of books, loan period,
+ *   no overdue loans or unpaid fines)
+ * - Keeping the copy counts of the book in step with the borrowing records
+ * - Short transactions, retried as a whole on concurrent copy count updates
+ */
+public interface BorrowingService {
+
+    /**
+     * Largest number of items accepted by the batch operations
+     */
+    int MAX_BATCH_SIZE = 100;
+
+    /**
+     * Largest look-ahead accepted by getBorrowingRecordsDueWithin
+     */
+    int MAX_DUE_WITHIN_DAYS = 365;
+
+    /**
+     * Check a book out to a user
+     * 
+     * @param createDTO the user, the book and the expected return date
+     * @return the created borrowing record DTO
+     * @throws com.library.management.exception.UserNotFoundException if user not found
+     * @throws com.library.management.exception.BookNotFoundException if book not found
+     * @throws IllegalArgumentException if the expected return date is outside the user's loan period
+     * @throws IllegalStateException if the user may not borrow the book or no copy is available
+     */
+    BorrowingRecordDTO borrowBook(BorrowingRecordDTO.CreateDTO createDTO);
+
+    /**
+     * Return a borrowed book, charging a fine if it is overdue
+     * 
+     * @param returnDTO the borrowing record and optional notes
+     * @return the updated borrowing record DTO
+     * @throws com.library.management.exception.BorrowingRecordNotFoundException if record not found
+     * @throws IllegalStateException if the book has already been returned
+     */
+    BorrowingRecordDTO returnBook(BorrowingRecordDTO.ReturnDTO returnDTO);
+
+    /**
+     * Renew a loan
+     * 
+     * @param renewDTO the borrowing record and the number of days to extend it by
+     * @return the updated borrowing record DTO
+     * @throws com.library.management.exception.BorrowingRecordNotFoundException if record not found
+     * @throws IllegalArgumentException if the extension exceeds the user's loan period
+     * @throws IllegalStateException if the loan cannot be renewed
+     */
+    BorrowingRecordDTO renewBook(BorrowingRecordDTO.RenewDTO renewDTO);
+
+    /**
+     * Pay the fine of a borrowing record
+     * 
+     * @param payFineDTO the borrowing record and the amount paid
+     * @return the updated borrowing record DTO
+     * @throws com.library.management.exception.BorrowingRecordNotFoundException if record not found
+     * @throws IllegalArgumentException if the amount does not cover the fine
+     * @throws IllegalStateException if the loan is still open or there is no outstanding fine
+     */
+    BorrowingRecordDTO payFine(BorrowingRecordDTO.PayFineDTO payFineDTO);
+
+    /**
+     * Check several books out in one transaction
+     * 
+     * Each item is checked against the same rules as borrowBook. A rejected item
+     * is reported in its result and does not affect the others.
+     * 
+     * @param createDTOs the checkouts, at most MAX_BATCH_SIZE
+     * @return one result per item, in request order
+     * @throws IllegalArgumentException if the batch is empty or too large
+     */
+    List<BorrowingRecordDTO.BatchItemResultDTO> borrowBooks(List<BorrowingRecordDTO.CreateDTO> createDTOs);
+
+    /**
+     * Return several books in one transaction
+     * 
+     * A rejected item is reported in its result and does not affect the others.
+     * 
+     * @param returnDTOs the returns, at most MAX_BATCH_SIZE
+     * @return one result per item, in request order
+     * @throws IllegalArgumentException if the batch is empty or too large
+     */
+    List<BorrowingRecordDTO.BatchItemResultDTO> returnBooks(List<BorrowingRecordDTO.ReturnDTO> returnDTOs);
+
+    /**
+     * Get a borrowing record by ID
+     * 
+     * @param id the borrowing record ID
+     * @return the borrowing record DTO
+     * @throws com.library.management.exception.BorrowingRecordNotFoundException if record not found
+     */
+    BorrowingRecordDTO getBorrowingRecordById(Long id);
+
+    /**
+     * Get the borrowing history of a user, most recent first
+     * 
+     * @param userId the user ID
+     * @param pageable pagination information
+     * @return page of borrowing record DTOs
+     */
+    Page<BorrowingRecordDTO> getBorrowingRecordsByUser(Long userId, Pageable pageable);
+
+    /**
+     * Get the loan and fine counters of a user and whether the user may borrow
+     * 
+     * Served from an in-process cache that may lag behind changes made on other
+     * instances by up to library.borrowing-summary.cache-time-to-live.
+     * 
+     * @param userId the user ID
+     * @return the borrowing summary DTO
+     * @throws com.library.management.exception.UserNotFoundException if user not found
+     */
+    UserBorrowingSummaryDTO getBorrowingSummary(Long userId);
+
+    /**
+     * Get the loans that are overdue today
+     * 
+     * @return borrowing record DTOs, earliest due date first
+     */
+    List<BorrowingRecordDTO> getOverdueBorrowingRecords();
+
+    /**
+     * Get the open loans due from today up to a number of days ahead
+     * 
+     * @param days days after today to include (0 = due today), at most MAX_DUE_WITHIN_DAYS
+     * @return borrowing record DTOs, earliest due date first
+     * @throws IllegalArgumentException if days is negative or too large
+     */
+    List<BorrowingRecordDTO> getBorrowingRecordsDueWithin(int days);
+}
@@ -0,0 +1,181 @@
+package com.library.management.service.cache;
+
+import com.library.management.config.CacheConfig;
+import com.library.management.model.Book;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Book Cache Event Listener
+ *
+ * Evicts exactly the BookService cache entries a committed Book change affects:
+ * the book itself (by ID and ISBN), the language and status lists it was and is
+ * part of, and the available books list. Both the old and the new state are
+ * evicted, so changing the ISBN, language or status leaves no stale entry behind.
+ *
+ * Running after commit means a concurrent reader cannot re-cache the old row
+ * between the eviction and the commit. Like every Hibernate event listener it
+ * covers all persistence context changes (service methods as well as borrowing
+ * and returning), but not bulk JPQL/SQL updates, which must call evictAll().
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookCacheEventListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+
+    /**
+     * Register this listener with Hibernate once the session factory exists
+     */
+    @PostConstruct
+    public void register() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        log.info("Registered book cache listener");
+    }
+
+    /**
+     * Drop every cached book read, for changes that bypass Hibernate events
+     */
+    public void evictAll() {
+        for (String name : new String[] {CacheConfig.BOOKS_BY_ID, CacheConfig.BOOKS_BY_ISBN,
+                CacheConfig.AVAILABLE_BOOKS, CacheConfig.BOOKS_BY_LANGUAGE, CacheConfig.BOOKS_BY_STATUS}) {
+            cache(name).clear();
+        }
+    }
+
+    /**
+     * Evict the entries of a book changed by a statement that bypasses Hibernate
+     * events, once the current transaction has committed
+     * 
+     * Copy count statements keep the ISBN and language but may change the status,
+     * so all status lists are dropped.
+     *
+     * @param book the book as read after the change
+     */
+    public void evictAfterCommit(Book book) {
+        Long id = book.getId();
+        String isbn = book.getIsbn();
+        String language = book.getLanguage();
+        Runnable eviction = () -> {
+            cache(CacheConfig.BOOKS_BY_ID).evict(id);
+            cache(CacheConfig.BOOKS_BY_ISBN).evict(isbn);
+            cache(CacheConfig.BOOKS_BY_LANGUAGE).evict(language);
+            cache(CacheConfig.BOOKS_BY_STATUS).clear();
+            cache(CacheConfig.AVAILABLE_BOOKS).clear();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (isBook(event.getPersister())) {
+            evict(event.getId(), event.getPersister(), event.getState());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (isBook(event.getPersister())) {
+            if (event.getOldState() != null) {
+                evict(event.getId(), event.getPersister(), event.getOldState());
+            } else {
+                // Detached update without the loaded state: the old keys are unknown
+                cache(CacheConfig.BOOKS_BY_ISBN).clear();
+                cache(CacheConfig.BOOKS_BY_LANGUAGE).clear();
+                cache(CacheConfig.BOOKS_BY_STATUS).clear();
+            }
+            evict(event.getId(), event.getPersister(), event.getState());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (isBook(event.getPersister())) {
+            evict(event.getId(), event.getPersister(), event.getDeletedState());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed, the caches are still valid
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed, the caches are still valid
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed, the caches are still valid
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return isBook(persister);
+    }
+
+    private boolean isBook(EntityPersister persister) {
+        return Book.class.equals(persister.getMappedClass());
+    }
+
+    /**
+     * Evict the entries keyed by the values of one Book state array
+     */
+    private void evict(Object id, EntityPersister persister, Object[] state) {
+        cache(CacheConfig.BOOKS_BY_ID).evict(id);
+        cache(CacheConfig.AVAILABLE_BOOKS).clear();
+        if (state == null) {
+            return;
+        }
+        String[] propertyNames = persister.getPropertyNames();
+        for (int i = 0; i < propertyNames.length; i++) {
+            if (state[i] == null) {
+                continue;
+            }
+            switch (propertyNames[i]) {
+                case "isbn" -> cache(CacheConfig.BOOKS_BY_ISBN).evict(state[i]);
+                case "language" -> cache(CacheConfig.BOOKS_BY_LANGUAGE).evict(state[i]);
+                case "status" -> cache(CacheConfig.BOOKS_BY_STATUS).evict(state[i]);
+                default -> { }
+            }
+        }
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
@@ -0,0 +1,99 @@
+package com.library.management.service.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Two-Tier Cache
+ *
+ * A local Caffeine near-cache in front of an optional remote tier. Reads try the
+ * near-cache, then the remote tier, then the value loader; every tier that missed
+ * is filled on the way back. Writes and evictions go to both tiers.
+ *
+ * Stampede protection: get(key, valueLoader), used by @Cacheable(sync = true),
+ * runs through Caffeine's atomic per-key computation. Concurrent misses for the
+ * same key wait for the first caller instead of each querying the database.
+ */
+public class TwoTierCache implements Cache {
+
+    private final CaffeineCache near;
+    private final Cache remote;
+
+    /**
+     * @param near the local near-cache
+     * @param remote the remote tier (null for near-cache only)
+     */
+    public TwoTierCache(CaffeineCache near, Cache remote) {
+        this.near = near;
+        this.remote = remote;
+    }
+
+    @Override
+    public String getName() {
+        return near.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return near.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = near.get(key);
+        if (value == null && remote != null) {
+            value = remote.get(key);
+            if (value != null) {
+                near.put(key, value.get());
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object result = value != null ? value.get() : null;
+        if (result != null && type != null && !type.isInstance(result)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + result);
+        }
+        return (T) result;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return near.get(key, () -> {
+            if (remote == null) {
+                return valueLoader.call();
+            }
+            return remote.get(key, valueLoader);
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (remote != null) {
+            remote.put(key, value);
+        }
+        near.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (remote != null) {
+            remote.evict(key);
+        }
+        near.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        if (remote != null) {
+            remote.clear();
+        }
+        near.clear();
+    }
+}
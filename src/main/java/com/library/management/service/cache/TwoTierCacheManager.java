@@ -0,0 +1,55 @@
+package com.library.management.service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.management.config.LibraryProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-Tier Cache Manager
+ *
+ * Creates a TwoTierCache per cache name. The near-cache is a bounded Caffeine
+ * cache with a short time-to-live; the remote tier comes from another
+ * CacheManager, or is left out when none is configured.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final LibraryProperties.Cache settings;
+    private final CacheManager remoteCacheManager;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param settings near-cache settings
+     * @param remoteCacheManager provides the remote tier (null for near-cache only)
+     */
+    public TwoTierCacheManager(LibraryProperties.Cache settings, CacheManager remoteCacheManager) {
+        this.settings = settings;
+        this.remoteCacheManager = remoteCacheManager;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private Cache createCache(String name) {
+        CaffeineCache near = new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(settings.getNearMaximumSize())
+                .expireAfterWrite(settings.getNearTimeToLive())
+                .recordStats()
+                .build());
+        Cache remote = remoteCacheManager != null ? remoteCacheManager.getCache(name) : null;
+        return new TwoTierCache(near, remote);
+    }
+}
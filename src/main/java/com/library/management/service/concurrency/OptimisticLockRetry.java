@@ -0,0 +1,73 @@
+package com.library.management.service.concurrency;
+
+import com.library.management.config.LibraryProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Optimistic Lock Retry
+ *
+ * Runs a unit of work in its own transaction and repeats it when the commit
+ * fails with an optimistic locking conflict, up to library.inventory.max-attempts
+ * times with a growing, jittered pause between attempts.
+ *
+ * A transaction can only be retried as a whole, so when the caller already runs
+ * inside a transaction the work is executed once and a conflict is left to the
+ * owner of that transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OptimisticLockRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final LibraryProperties properties;
+
+    /**
+     * Execute work in a transaction, retrying on optimistic locking conflicts
+     *
+     * @param operation short description for the log
+     * @param work the unit of work; must be safe to repeat
+     * @return result of the successful attempt
+     * @throws OptimisticLockingFailureException if every attempt conflicted
+     */
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        int maxAttempts = Math.max(1, properties.getInventory().getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("{} failed after {} attempts due to concurrent updates", operation, attempt);
+                    throw e;
+                }
+                log.debug("{} hit a concurrent update, retrying (attempt {} of {})", operation, attempt + 1, maxAttempts);
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        long base = properties.getInventory().getRetryBackoffMs() * attempt;
+        if (base <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(base + ThreadLocalRandom.current().nextLong(base));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.library.management.service.fines;
+
+import com.library.management.config.LibraryProperties;
+import com.library.management.model.BorrowingRecord;
+import com.library.management.repository.BorrowingRecordRepository;
+import com.library.management.service.summary.BorrowingSummaryTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fine Accrual Job
+ *
+ * Keeps the fine of every unpaid overdue loan up to date while the book is
+ * still out, so outstanding fines are visible before the return. Every night
+ * the job walks the overdue loans in ID order, in chunks of
+ * library.fine-accrual.chunk-size IDs, and sets the fines of each chunk with
+ * one UPDATE. Up to library.fine-accrual.parallelism chunks run at a time, each
+ * in its own transaction, which also recomputes the borrowing summaries of the
+ * users whose fines changed.
+ *
+ * After each chunk the job records the highest ID up to which every chunk has
+ * committed (fine_accrual_runs). A run interrupted by a failure or a restart
+ * resumes there, at the next scheduled time or at startup. Chunks set the fine
+ * from the due date instead of adding to it, so a chunk processed twice is
+ * harmless.
+ *
+ * Metrics: library.fines.accrual.rows, .chunks, .duration and .throughput
+ * (rows per second of the last run).
+ */
+@Component
+@Slf4j
+public class FineAccrualJob {
+
+    private final BorrowingRecordRepository borrowingRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LibraryProperties properties;
+    private final BorrowingSummaryTracker borrowingSummaryTracker;
+
+    private final Counter rowsCounter;
+    private final Counter chunksCounter;
+    private final Timer durationTimer;
+    private volatile double lastThroughput;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public FineAccrualJob(BorrowingRecordRepository borrowingRecordRepository,
+                          TransactionTemplate transactionTemplate,
+                          LibraryProperties properties,
+                          BorrowingSummaryTracker borrowingSummaryTracker,
+                          MeterRegistry meterRegistry) {
+        this.borrowingRecordRepository = borrowingRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.borrowingSummaryTracker = borrowingSummaryTracker;
+        this.rowsCounter = Counter.builder("library.fines.accrual.rows")
+                .description("Loans whose fine was updated by the fine accrual job")
+                .register(meterRegistry);
+        this.chunksCounter = Counter.builder("library.fines.accrual.chunks")
+                .description("Chunks committed by the fine accrual job")
+                .register(meterRegistry);
+        this.durationTimer = Timer.builder("library.fines.accrual.duration")
+                .description("Duration of fine accrual runs")
+                .register(meterRegistry);
+        Gauge.builder("library.fines.accrual.throughput", this, FineAccrualJob::getLastThroughput)
+                .description("Loans processed per second by the last fine accrual run")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resume today's run if the application stopped in the middle of it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        LocalDate today = LocalDate.now();
+        borrowingRecordRepository.findFineAccrualCheckpoint(today)
+                .filter(checkpoint -> !checkpoint.getCompleted())
+                .ifPresent(checkpoint -> {
+                    log.info("Resuming fine accrual of {} after ID {}", today, checkpoint.getLastId());
+                    accrue();
+                });
+    }
+
+    /**
+     * Bring the fines of all unpaid overdue loans up to date
+     */
+    @Scheduled(cron = "${library.fine-accrual.cron:0 30 0 * * *}")
+    public void accrue() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Fine accrual is already running");
+            return;
+        }
+        try {
+            durationTimer.record(() -> run(LocalDate.now()));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return loans processed per second by the last run
+     */
+    public double getLastThroughput() {
+        return lastThroughput;
+    }
+
+    private void run(LocalDate today) {
+        var checkpoint = borrowingRecordRepository.findFineAccrualCheckpoint(today);
+        if (checkpoint.isPresent() && checkpoint.get().getCompleted()) {
+            log.info("Fines of {} are already accrued", today);
+            return;
+        }
+
+        int chunkSize = Math.max(1, properties.getFineAccrual().getChunkSize());
+        int parallelism = Math.max(1, properties.getFineAccrual().getParallelism());
+        long afterId = checkpoint.map(BorrowingRecordRepository.FineAccrualCheckpointView::getLastId).orElse(0L);
+        long startRows = checkpoint.map(BorrowingRecordRepository.FineAccrualCheckpointView::getRowsUpdated).orElse(0L);
+        long start = System.nanoTime();
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                runnable -> new Thread(runnable, "fine-accrual-" + threads.incrementAndGet()));
+        Deque<Chunk> inFlight = new ArrayDeque<>();
+        Progress progress = new Progress(afterId, startRows);
+        try {
+            while (true) {
+                Long lastId = borrowingRecordRepository.findFineAccrualChunkEnd(afterId, today, chunkSize);
+                if (lastId == null) {
+                    break;
+                }
+                long from = afterId;
+                inFlight.add(new Chunk(lastId, executor.submit(() -> transactionTemplate.execute(status ->
+                        accrueChunk(from, lastId, today)))));
+                afterId = lastId;
+                if (inFlight.size() >= parallelism) {
+                    commit(inFlight.poll(), today, progress);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                commit(inFlight.poll(), today, progress);
+            }
+            transactionTemplate.execute(status -> {
+                borrowingRecordRepository.saveFineAccrualCheckpoint(today, progress.lastId, progress.rows);
+                return borrowingRecordRepository.completeFineAccrualRun(today);
+            });
+        } catch (RuntimeException e) {
+            inFlight.forEach(chunk -> chunk.result().cancel(true));
+            log.error("Fine accrual of {} stopped after ID {}; the next run resumes there", today, progress.lastId, e);
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long updated = progress.rows - startRows;
+        double seconds = Math.max(1e-3, (System.nanoTime() - start) / 1e9);
+        lastThroughput = updated / seconds;
+        log.info("Accrued fines of {} loans for {} in {} s ({} rows/s)",
+                updated, today, String.format("%.1f", seconds), String.format("%.0f", lastThroughput));
+    }
+
+    /**
+     * Set the fines of one chunk and bring the summaries of its users up to date
+     */
+    private int accrueChunk(long afterId, long lastId, LocalDate today) {
+        int updated = borrowingRecordRepository.accrueFines(afterId, lastId, today, BorrowingRecord.DAILY_FINE_RATE);
+        if (updated > 0) {
+            borrowingSummaryTracker.refresh(borrowingRecordRepository.findUserIdsOfAccruingLoans(afterId, lastId, today));
+        }
+        return updated;
+    }
+
+    /**
+     * Wait for the oldest chunk and move the checkpoint past it
+     *
+     * Chunks are committed in submission order, so the checkpoint never passes
+     * a chunk that has not committed yet.
+     */
+    private void commit(Chunk chunk, LocalDate today, Progress progress) {
+        Integer updated;
+        try {
+            updated = chunk.result().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while accruing fines", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fine accrual chunk up to ID " + chunk.lastId() + " failed", e.getCause());
+        }
+
+        int rows = updated != null ? updated : 0;
+        progress.lastId = chunk.lastId();
+        progress.rows += rows;
+        transactionTemplate.execute(status ->
+                borrowingRecordRepository.saveFineAccrualCheckpoint(today, progress.lastId, progress.rows));
+        rowsCounter.increment(rows);
+        chunksCounter.increment();
+    }
+
+    /**
+     * A submitted chunk and the highest ID it covers
+     */
+    private record Chunk(long lastId, Future<Integer> result) {
+    }
+
+    /**
+     * Committed progress of the current run
+     */
+    private static final class Progress {
+        private long lastId;
+        private long rows;
+
+        private Progress(long lastId, long rows) {
+            this.lastId = lastId;
+            this.rows = rows;
+        }
+    }
+}
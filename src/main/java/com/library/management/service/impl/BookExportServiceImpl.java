@@ -0,0 +1,113 @@
+package com.library.management.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.dto.BookDTO;
+import com.library.management.model.Book;
+import com.library.management.repository.BookRepository;
+import com.library.management.service.BookExportService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Book Export Service Implementation
+ * 
+ * Reads the books through a database cursor (BookRepository.streamAllForExport)
+ * and writes each one as soon as it is read. Every book is detached once
+ * written, so the persistence context never holds more than one of them and
+ * memory use does not depend on the size of the catalog.
+ * 
+ * @Service: Marks this class as a service component
+ * @RequiredArgsConstructor: Lombok annotation that generates constructor for final fields
+ * @Slf4j: Lombok annotation for logging
+ * @Transactional(readOnly): The cursor needs an open, read-only transaction
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BookExportServiceImpl implements BookExportService {
+
+    /**
+     * CSV columns, named like the BookDTO fields so the file can be imported again
+     */
+    private static final String CSV_HEADER = "id,title,author,isbn,publisher,publication_date,category,pages,price,"
+            + "description,language,total_copies,copies_available,status,cover_image_url";
+
+    private static final int PROGRESS_LOG_INTERVAL = 100_000;
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long exportBooks(OutputStream output, ExportFormat format) throws IOException {
+        log.info("Starting {} book export", format);
+        long start = System.currentTimeMillis();
+        long written = 0;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<Book> books = bookRepository.streamAllForExport()) {
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                Book book = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, book);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(new BookDTO(book)));
+                    writer.write('\n');
+                }
+                entityManager.detach(book);
+
+                if (++written % PROGRESS_LOG_INTERVAL == 0) {
+                    log.info("Book export progress: {} books written", written);
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Book export finished in {} ms: {} books written", System.currentTimeMillis() - start, written);
+        return written;
+    }
+
+    private static void writeCsv(Writer writer, Book book) throws IOException {
+        Object[] values = {book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(), book.getPublisher(),
+                book.getPublicationDate(), book.getCategory(), book.getPages(), book.getPrice(),
+                book.getDescription(), book.getLanguage(), book.getTotalCopies(), book.getCopiesAvailable(),
+                book.getStatus(), book.getCoverImageUrl()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Quote a CSV field if it contains a separator, a quote or a line break
+     */
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,387 @@
+package com.library.management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.config.LibraryProperties;
+import com.library.management.dto.BookDTO;
+import com.library.management.dto.BookImportResultDTO;
+import com.library.management.model.Book;
+import com.library.management.repository.BookRepository;
+import com.library.management.service.BookImportService;
+import com.library.management.service.search.BookSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Book Import Service Implementation
+ * 
+ * Streams the input row by row and keeps only one chunk of books in memory.
+ * Duplicate ISBNs are detected against a set of all stored ISBNs loaded once at
+ * the start, instead of a query per row. Each chunk is stored in its own
+ * transaction with saveAll, which Hibernate sends as JDBC batches
+ * (hibernate.jdbc.batch_size); the persistence context is discarded with the
+ * transaction, and the second-level cache is bypassed so an import does not
+ * flood it with rows nobody has asked for yet.
+ * 
+ * A chunk that fails to store (for example because a concurrent request took one
+ * of its ISBNs) is reported as failed row by row; later chunks still run.
+ * 
+ * If reading the input fails part way, the rows read so far are still stored.
+ * Once books have been stored the import is reported as incomplete, with the
+ * read error as the last row error, so the caller learns what was kept.
+ * 
+ * @Service: Marks this class as a service component
+ * @RequiredArgsConstructor: Lombok annotation that generates constructor for final fields
+ * @Slf4j: Lombok annotation for logging
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+    /**
+     * BookDTO fields by column name, matched ignoring case, '_', '-' and spaces
+     */
+    private static final Map<String, String> COLUMN_FIELDS = columnFields();
+
+    private final BookRepository bookRepository;
+    private final BookSearchIndex searchIndex;
+    private final LibraryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Override
+    public BookImportResultDTO importBooks(InputStream input, ImportFormat format) {
+        log.info("Starting {} book import", format);
+        long start = System.currentTimeMillis();
+        int chunkSize = Math.max(1, properties.getCatalogImport().getChunkSize());
+
+        BookImportResultDTO result = new BookImportResultDTO();
+        Set<String> knownIsbns = new HashSet<>(bookRepository.findAllIsbns());
+        List<PendingBook> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowSource rows = null;
+        try {
+            rows = format == ImportFormat.CSV ? new CsvRowSource(reader) : new JsonLinesRowSource(reader);
+            ParsedRow row;
+            while ((row = rows.next()) != null) {
+                result.setRowsRead(result.getRowsRead() + 1);
+                Book book = toValidBook(row, result);
+                if (book == null) {
+                    continue;
+                }
+                if (!knownIsbns.add(book.getIsbn())) {
+                    result.setDuplicates(result.getDuplicates() + 1);
+                    addError(result, row.line(), book.getIsbn(), "Book with ISBN " + book.getIsbn() + " already exists");
+                    continue;
+                }
+
+                chunk.add(new PendingBook(row.line(), book));
+                if (chunk.size() >= chunkSize) {
+                    store(chunk, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                store(chunk, result);
+            }
+        } catch (IOException e) {
+            if (!chunk.isEmpty()) {
+                store(chunk, result);
+            }
+            if (result.getImported() == 0) {
+                throw new IllegalArgumentException("Could not read import data after " + result.getRowsRead()
+                        + " rows: " + e.getMessage(), e);
+            }
+            log.warn("Book import stopped after {} rows; {} books were stored", result.getRowsRead(),
+                    result.getImported(), e);
+            result.setIncomplete(true);
+            result.getErrors().add(new BookImportResultDTO.RowError(rows != null ? rows.line() : 0, null,
+                    "Could not read the rest of the input: " + e.getMessage()));
+        }
+
+        result.setDurationMs(System.currentTimeMillis() - start);
+        log.info("Book import finished in {} ms: {} rows read, {} imported, {} duplicates, {} failed",
+                result.getDurationMs(), result.getRowsRead(), result.getImported(),
+                result.getDuplicates(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * Validate a parsed row like a single book creation and convert it to a new book
+     * 
+     * @return the book, or null if the row was rejected
+     */
+    private Book toValidBook(ParsedRow row, BookImportResultDTO result) {
+        if (row.error() != null) {
+            reject(result, row.line(), null, row.error());
+            return null;
+        }
+
+        BookDTO bookDTO = row.book();
+        bookDTO.setId(null);
+        Set<ConstraintViolation<BookDTO>> violations = validator.validate(bookDTO);
+        if (!violations.isEmpty()) {
+            reject(result, row.line(), bookDTO.getIsbn(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        try {
+            BookServiceImpl.validateBookData(bookDTO);
+        } catch (IllegalArgumentException e) {
+            reject(result, row.line(), bookDTO.getIsbn(), e.getMessage());
+            return null;
+        }
+        return BookServiceImpl.toNewBook(bookDTO);
+    }
+
+    /**
+     * Store one chunk of books in its own transaction
+     */
+    private void store(List<PendingBook> chunk, BookImportResultDTO result) {
+        try {
+            List<Book> saved = transactionTemplate.execute(status -> {
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                return bookRepository.saveAll(chunk.stream().map(PendingBook::book).toList());
+            });
+            saved.forEach(searchIndex::index);
+            result.setImported(result.getImported() + saved.size());
+        } catch (DataAccessException e) {
+            log.warn("Failed to store {} imported books starting at line {}", chunk.size(), chunk.get(0).line(), e);
+            String message = "Could not store book: " + e.getMostSpecificCause().getMessage();
+            for (PendingBook pending : chunk) {
+                reject(result, pending.line(), pending.book().getIsbn(), message);
+            }
+        }
+        log.info("Book import progress: {} rows read, {} imported", result.getRowsRead(), result.getImported());
+    }
+
+    private void reject(BookImportResultDTO result, long line, String isbn, String message) {
+        result.setFailed(result.getFailed() + 1);
+        addError(result, line, isbn, message);
+    }
+
+    private void addError(BookImportResultDTO result, long line, String isbn, String message) {
+        if (result.getErrors().size() < properties.getCatalogImport().getMaxReportedErrors()) {
+            result.getErrors().add(new BookImportResultDTO.RowError(line, isbn, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static String canonicalColumn(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    private static Map<String, String> columnFields() {
+        Map<String, String> fields = new HashMap<>();
+        for (Field field : BookDTO.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                fields.put(canonicalColumn(field.getName()), field.getName());
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * A book waiting to be stored, with the input line it came from
+     */
+    private record PendingBook(long line, Book book) {
+    }
+
+    /**
+     * One input row: the book data, or why it could not be read
+     */
+    private record ParsedRow(long line, BookDTO book, String error) {
+    }
+
+    private interface RowSource {
+
+        /**
+         * Read the next row
+         * 
+         * @return the row, or null at the end of the input
+         */
+        ParsedRow next() throws IOException;
+
+        /**
+         * @return the last input line read so far
+         */
+        long line();
+    }
+
+    /**
+     * Reads one JSON object per line, skipping blank lines
+     */
+    private final class JsonLinesRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private long line;
+
+        JsonLinesRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ParsedRow(line, objectMapper.readValue(text, BookDTO.class), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow(line, null, "Unreadable row: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public long line() {
+            return line;
+        }
+    }
+
+    /**
+     * Reads RFC 4180 CSV: comma separated, fields optionally enclosed in double
+     * quotes, quotes escaped by doubling, line breaks allowed inside quotes
+     */
+    private final class CsvRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private final String[] fields;
+        private long line = 1;
+
+        CsvRowSource(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            // Skip a byte order mark
+            reader.mark(1);
+            if (reader.read() != '\uFEFF') {
+                reader.reset();
+            }
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV import requires a header row");
+            }
+            this.fields = header.stream()
+                    .map(column -> COLUMN_FIELDS.get(canonicalColumn(column)))
+                    .toArray(String[]::new);
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            List<String> values;
+            long recordLine;
+            do {
+                recordLine = line;
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+
+            if (values.size() != fields.length) {
+                return new ParsedRow(recordLine, null,
+                        "Expected " + fields.length + " columns but found " + values.size());
+            }
+            Map<String, String> book = new HashMap<>();
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] != null && !values.get(i).isBlank()) {
+                    book.put(fields[i], values.get(i).trim());
+                }
+            }
+            try {
+                return new ParsedRow(recordLine, objectMapper.convertValue(book, BookDTO.class), null);
+            } catch (IllegalArgumentException e) {
+                return new ParsedRow(recordLine, null, "Unreadable row: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public long line() {
+            return line;
+        }
+
+        /**
+         * Read the fields of one record
+         * 
+         * @return the fields, or null at the end of the input
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted field at line " + line);
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            value.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        value.append((char) c);
+                    }
+                } else if (c == '"' && value.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    values.add(value.toString());
+                    return values;
+                } else if (c != '\r') {
+                    value.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.library.management.service.impl;
+
+import com.library.management.config.LibraryProperties;
+import com.library.management.exception.BookNotFoundException;
+import com.library.management.model.Book;
+import com.library.management.repository.BookRepository;
+import com.library.management.service.BookInventoryService;
+import com.library.management.service.cache.BookCacheEventListener;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Book Inventory Service Implementation
+ *
+ * OPTIMISTIC and PESSIMISTIC modes load the book and use the business methods of
+ * the entity (borrowCopy/returnCopy); the version check or the row lock keeps
+ * two transactions from both acting on the same copy count. ATOMIC mode pushes
+ * the check and the change into one conditional UPDATE and then refreshes the
+ * entity. Those statements bypass Hibernate events: the service caches are
+ * evicted explicitly, and the statistics counters pick the change up at the
+ * next reconciliation.
+ *
+ * Batches lock their book rows in optimistic and pessimistic mode, and take one
+ * conditional UPDATE per book in atomic mode, so a concurrent single checkout
+ * never rolls a whole batch back.
+ *
+ * @Service: Marks this class as a service component
+ * @RequiredArgsConstructor: Lombok annotation for constructor injection
+ * @Slf4j: Lombok annotation for logging
+ * @Transactional(MANDATORY): Must join the caller's transaction
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class BookInventoryServiceImpl implements BookInventoryService {
+
+    private final BookRepository bookRepository;
+    private final LibraryProperties properties;
+    private final EntityManager entityManager;
+    private final BookCacheEventListener bookCacheEventListener;
+
+    @Override
+    public Book borrowCopy(Long bookId) {
+        if (isAtomic()) {
+            int updated = bookRepository.decrementCopiesAvailable(bookId);
+            Book book = refreshed(bookId);
+            if (updated == 0) {
+                throw new IllegalStateException("No copies available for book with ID: " + bookId);
+            }
+            return book;
+        }
+
+        Book book = load(bookId);
+        if (!book.borrowCopy()) {
+            throw new IllegalStateException("No copies available for book with ID: " + bookId);
+        }
+        return book;
+    }
+
+    @Override
+    public Book returnCopy(Long bookId) {
+        if (isAtomic()) {
+            int updated = bookRepository.incrementCopiesAvailable(bookId);
+            Book book = refreshed(bookId);
+            if (updated == 0) {
+                throw new IllegalStateException("All copies are already available for book with ID: " + bookId);
+            }
+            return book;
+        }
+
+        Book book = load(bookId);
+        if (!book.returnCopy()) {
+            throw new IllegalStateException("All copies are already available for book with ID: " + bookId);
+        }
+        return book;
+    }
+
+    @Override
+    public Book addCopies(Long bookId, int additionalCopies) {
+        if (additionalCopies <= 0) {
+            throw new IllegalArgumentException("Additional copies must be positive");
+        }
+
+        if (isAtomic()) {
+            if (bookRepository.addCopiesAtomically(bookId, additionalCopies) == 0) {
+                throw new BookNotFoundException("Book not found with ID: " + bookId);
+            }
+            return refreshed(bookId);
+        }
+
+        Book book = load(bookId);
+        book.setTotalCopies(book.getTotalCopies() + additionalCopies);
+        book.setCopiesAvailable(book.getCopiesAvailable() + additionalCopies);
+
+        // Update status if needed
+        if (book.getStatus() == Book.BookStatus.BORROWED && book.getCopiesAvailable() > 0) {
+            book.setStatus(Book.BookStatus.AVAILABLE);
+        }
+        return book;
+    }
+
+    @Override
+    public Book removeCopies(Long bookId, int copiesToRemove) {
+        if (copiesToRemove <= 0) {
+            throw new IllegalArgumentException("Copies to remove must be positive");
+        }
+
+        if (isAtomic()) {
+            int updated = bookRepository.removeCopiesAtomically(bookId, copiesToRemove);
+            Book book = refreshed(bookId);
+            if (updated == 0) {
+                validateRemoval(book, copiesToRemove);
+                throw new IllegalStateException("Copies of book with ID " + bookId + " changed concurrently");
+            }
+            return book;
+        }
+
+        Book book = load(bookId);
+        validateRemoval(book, copiesToRemove);
+        book.setTotalCopies(book.getTotalCopies() - copiesToRemove);
+        book.setCopiesAvailable(book.getCopiesAvailable() - copiesToRemove);
+
+        // Update status if needed
+        if (book.getCopiesAvailable() == 0) {
+            book.setStatus(Book.BookStatus.BORROWED);
+        }
+        return book;
+    }
+
+    @Override
+    public List<Book> loadForBatch(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        return isAtomic() ? bookRepository.findAllById(bookIds) : bookRepository.findAllByIdInForUpdate(bookIds);
+    }
+
+    @Override
+    public Set<Long> borrowCopies(Map<Long, Integer> copies) {
+        return changeCopies(copies, bookRepository::takeCopies,
+                (book, count) -> book.getCopiesAvailable() >= count, Book::borrowCopy);
+    }
+
+    @Override
+    public Set<Long> returnCopies(Map<Long, Integer> copies) {
+        return changeCopies(copies, bookRepository::putBackCopies,
+                (book, count) -> book.getTotalCopies() - book.getCopiesAvailable() >= count, Book::returnCopy);
+    }
+
+    /**
+     * Change the copy counts of several books in ID order, each book all or nothing
+     *
+     * @param copies number of copies to change by book ID
+     * @param atomicUpdate the conditional UPDATE of atomic mode
+     * @param fits whether a loaded book allows the change
+     * @param change the business method changing one copy
+     * @return IDs of the books that were not changed
+     */
+    private Set<Long> changeCopies(Map<Long, Integer> copies, ToIntBiFunction<Long, Integer> atomicUpdate,
+                                   BiPredicate<Book, Integer> fits, Predicate<Book> change) {
+        Set<Long> failed = new TreeSet<>();
+        new TreeMap<>(copies).forEach((bookId, count) -> {
+            if (isAtomic()) {
+                if (atomicUpdate.applyAsInt(bookId, count) == 0) {
+                    failed.add(bookId);
+                } else {
+                    refreshed(bookId);
+                }
+                return;
+            }
+
+            Book book = bookRepository.findById(bookId).orElse(null);
+            if (book == null || !fits.test(book, count)) {
+                failed.add(bookId);
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                change.test(book);
+            }
+        });
+        return failed;
+    }
+
+    private boolean isAtomic() {
+        return properties.getInventory().getMode() == LibraryProperties.InventoryMode.ATOMIC;
+    }
+
+    /**
+     * Load a book for a read-modify-write, locking its row in pessimistic mode
+     */
+    private Book load(Long bookId) {
+        boolean pessimistic = properties.getInventory().getMode() == LibraryProperties.InventoryMode.PESSIMISTIC;
+        return (pessimistic ? bookRepository.findByIdForUpdate(bookId) : bookRepository.findById(bookId))
+                .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + bookId));
+    }
+
+    /**
+     * Load a book and re-read its row, after an UPDATE issued behind Hibernate's back
+     */
+    private Book refreshed(Long bookId) {
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + bookId));
+        entityManager.refresh(book);
+        bookCacheEventListener.evictAfterCommit(book);
+        return book;
+    }
+
+    private static void validateRemoval(Book book, int copiesToRemove) {
+        if (copiesToRemove > book.getTotalCopies()) {
+            throw new IllegalArgumentException("Cannot remove more copies than total copies");
+        }
+        if (copiesToRemove > book.getCopiesAvailable()) {
+            throw new IllegalArgumentException("Cannot remove more copies than available copies");
+        }
+    }
+}
@@ -1,19 +1,49 @@
 package com.library.management.service.impl;
 
+import com.library.management.config.CacheConfig;
+import com.library.management.config.LibraryProperties;
+import com.library.management.dto.BookBulkDeleteResultDTO;
 import com.library.management.dto.BookDTO;
+import com.library.management.dto.CursorPageDTO;
+import com.library.management.dto.SliceDTO;
 import com.library.management.exception.BookNotFoundException;
 import com.library.management.model.Book;
 import com.library.management.repository.BookRepository;
+import com.library.management.repository.BorrowingRecordRepository;
+import com.library.management.repository.LikeTerms;
+import com.library.management.service.BookInventoryService;
 import com.library.management.service.BookService;
+import com.library.management.service.cache.BookCacheEventListener;
+import com.library.management.service.concurrency.OptimisticLockRetry;
+import com.library.management.service.overdue.OverdueEngine;
+import com.library.management.service.search.BookSearchIndex;
+import com.library.management.service.statistics.BookCountEstimator;
+import com.library.management.service.statistics.BookStatisticsCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -33,7 +63,21 @@ import java.util.stream.Collectors;
 @Transactional
 public class BookServiceImpl implements BookService {
 
+    /**
+     * Largest page size accepted by the keyset (scroll) methods
+     */
+    private static final int MAX_SCROLL_SIZE = 1000;
+
     private final BookRepository bookRepository;
+    private final BorrowingRecordRepository borrowingRecordRepository;
+    private final BookStatisticsCounters statisticsCounters;
+    private final LibraryProperties properties;
+    private final BookSearchIndex searchIndex;
+    private final BookCountEstimator countEstimator;
+    private final BookInventoryService inventoryService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final BookCacheEventListener bookCacheEventListener;
+    private final OverdueEngine overdueEngine;
 
     /**
      * Create a new book
@@ -54,21 +98,11 @@ public class BookServiceImpl implements BookService {
         }
         
         // Convert DTO to entity
-        Book book = bookDTO.toEntity();
-        
-        // Set default values
-        if (book.getCopiesAvailable() == null) {
-            book.setCopiesAvailable(book.getTotalCopies());
-        }
-        if (book.getStatus() == null) {
-            book.setStatus(Book.BookStatus.AVAILABLE);
-        }
-        if (book.getLanguage() == null || book.getLanguage().isEmpty()) {
-            book.setLanguage("English");
-        }
+        Book book = toNewBook(bookDTO);
         
         // Save the book
         Book savedBook = bookRepository.save(book);
+        afterCommit(() -> searchIndex.index(savedBook));
         log.info("Successfully created book with ID: {}", savedBook.getId());
         
         return new BookDTO(savedBook);
@@ -77,11 +111,14 @@ public class BookServiceImpl implements BookService {
     /**
      * Get a book by ID
      * 
+     * Cached; concurrent misses for the same ID share one database read.
+     * 
      * @param id the book ID
      * @return the book DTO if found
      */
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS_BY_ID, sync = true)
     public BookDTO getBookById(Long id) {
         log.info("Fetching book with ID: {}", id);
         
@@ -102,8 +139,7 @@ public class BookServiceImpl implements BookService {
     public Page<BookDTO> getAllBooks(Pageable pageable) {
         log.info("Fetching all books with pagination: {}", pageable);
         
-        Page<Book> books = bookRepository.findAll(pageable);
-        return books.map(BookDTO::new);
+        return bookRepository.findAllAsPage(pageable);
     }
 
     /**
@@ -152,6 +188,7 @@ public class BookServiceImpl implements BookService {
         
         // Save the updated book
         Book updatedBook = bookRepository.save(existingBook);
+        afterCommit(() -> searchIndex.index(updatedBook));
         log.info("Successfully updated book with ID: {}", updatedBook.getId());
         
         return new BookDTO(updatedBook);
@@ -170,22 +207,56 @@ public class BookServiceImpl implements BookService {
                 .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + id));
         
         // Check if book has active borrowing records
-        if (!book.getBorrowingRecords().isEmpty()) {
-            boolean hasActiveBorrowings = book.getBorrowingRecords().stream()
-                    .anyMatch(record -> record.getStatus() == com.library.management.model.BorrowingRecord.BorrowingStatus.BORROWED);
-            
-            if (hasActiveBorrowings) {
-                throw new IllegalStateException("Cannot delete book with active borrowing records");
-            }
+        if (borrowingRecordRepository.existsOpenLoanByBookId(id)) {
+            throw new IllegalStateException("Cannot delete book with active borrowing records");
         }
         
         // Soft delete
         book.setDeleted(true);
         bookRepository.save(book);
+        afterCommit(() -> searchIndex.remove(List.of(id)));
         
         log.info("Successfully deleted book with ID: {}", id);
     }
 
+    /**
+     * Delete many books (soft delete) in a single statement
+     * 
+     * The UPDATE itself skips books with an open loan. The kept books are read
+     * back after the update, so the result and the search index follow the rows
+     * the update actually changed, even if a book was borrowed meanwhile. The
+     * update bypasses Hibernate events:
+     * the service caches and the search index are updated after commit, and the
+     * statistics counters pick the change up at the next reconciliation.
+     * 
+     * @param ids the book IDs
+     * @return the number of deleted books and the IDs of the kept ones
+     */
+    @Override
+    public BookBulkDeleteResultDTO deleteBooks(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one book ID is required");
+        }
+        Set<Long> uniqueIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (uniqueIds.size() > MAX_BULK_DELETE_SIZE) {
+            throw new IllegalArgumentException("Cannot delete more than " + MAX_BULK_DELETE_SIZE + " books at once");
+        }
+        log.info("Deleting {} books", uniqueIds.size());
+        
+        int deleted = bookRepository.softDeleteAllWithoutOpenLoans(uniqueIds);
+        List<Long> kept = bookRepository.findLiveIds(uniqueIds);
+        
+        Set<Long> removable = new HashSet<>(uniqueIds);
+        kept.forEach(removable::remove);
+        afterCommit(() -> {
+            bookCacheEventListener.evictAll();
+            searchIndex.remove(removable);
+        });
+        log.info("Deleted {} of {} books, {} kept with open loans", deleted, uniqueIds.size(), kept.size());
+        
+        return new BookBulkDeleteResultDTO(uniqueIds.size(), deleted, kept);
+    }
+
     /**
      * Search books by title
      * 
@@ -197,8 +268,11 @@ public class BookServiceImpl implements BookService {
     public List<BookDTO> searchBooksByTitle(String title) {
         log.info("Searching books by title: {}", title);
         
-        List<Book> books = bookRepository.findByTitleContainingIgnoreCase(title);
-        return books.stream().map(BookDTO::new).collect(Collectors.toList());
+        if (searchIndex.isReady()) {
+            return findIndexedBooks(searchIndex.search(title, EnumSet.of(BookSearchIndex.Field.TITLE)));
+        }
+        
+        return bookRepository.findByTitleContainingIgnoreCase(LikeTerms.escape(title));
     }
 
     /**
@@ -212,8 +286,11 @@ public class BookServiceImpl implements BookService {
     public List<BookDTO> searchBooksByAuthor(String author) {
         log.info("Searching books by author: {}", author);
         
-        List<Book> books = bookRepository.findByAuthorContainingIgnoreCase(author);
-        return books.stream().map(BookDTO::new).collect(Collectors.toList());
+        if (searchIndex.isReady()) {
+            return findIndexedBooks(searchIndex.search(author, EnumSet.of(BookSearchIndex.Field.AUTHOR)));
+        }
+        
+        return bookRepository.findByAuthorContainingIgnoreCase(LikeTerms.escape(author));
     }
 
     /**
@@ -227,18 +304,24 @@ public class BookServiceImpl implements BookService {
     public List<BookDTO> searchBooksByCategory(String category) {
         log.info("Searching books by category: {}", category);
         
-        List<Book> books = bookRepository.findByCategoryContainingIgnoreCase(category);
-        return books.stream().map(BookDTO::new).collect(Collectors.toList());
+        if (searchIndex.isReady()) {
+            return findIndexedBooks(searchIndex.search(category, EnumSet.of(BookSearchIndex.Field.CATEGORY)));
+        }
+        
+        return bookRepository.findByCategoryContainingIgnoreCase(LikeTerms.escape(category));
     }
 
     /**
      * Search books by ISBN
      * 
+     * Cached; concurrent misses for the same ISBN share one database read.
+     * 
      * @param isbn the ISBN to search for
      * @return the book DTO if found
      */
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS_BY_ISBN, sync = true)
     public BookDTO getBookByIsbn(String isbn) {
         log.info("Searching book by ISBN: {}", isbn);
         
@@ -255,6 +338,7 @@ public class BookServiceImpl implements BookService {
      */
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.AVAILABLE_BOOKS, sync = true)
     public List<BookDTO> getAvailableBooks() {
         log.info("Fetching available books");
         
@@ -273,8 +357,7 @@ public class BookServiceImpl implements BookService {
     public List<BookDTO> getBooksWithLowAvailability(Integer minCopies) {
         log.info("Fetching books with low availability (less than {} copies)", minCopies);
         
-        List<Book> books = bookRepository.findBooksWithLowAvailability(minCopies);
-        return books.stream().map(BookDTO::new).collect(Collectors.toList());
+        return bookRepository.findBooksWithLowAvailability(minCopies);
     }
 
     /**
@@ -291,23 +374,28 @@ public class BookServiceImpl implements BookService {
     public Page<BookDTO> searchBooksByCriteria(String title, String author, String category, Pageable pageable) {
         log.info("Searching books by criteria - title: {}, author: {}, category: {}", title, author, category);
         
-        Page<Book> books = bookRepository.findByCriteria(title, author, category, pageable);
-        return books.map(BookDTO::new);
+        return bookRepository.findByCriteria(LikeTerms.escape(title), LikeTerms.escape(author),
+                LikeTerms.escape(category), pageable);
     }
 
     /**
-     * Get most popular books
+     * Get the most borrowed books within a time window
      * 
-     * @param pageable pagination information
-     * @return page of most popular book DTOs
+     * The ranking is read from the per-day popularity counters, and the total is
+     * the number of books borrowed at least once in the window.
+     * 
+     * @param window the time window to rank by
+     * @param pageable pagination information (the sort is ignored)
+     * @return page of most popular book DTOs, most borrowed first
      */
     @Override
     @Transactional(readOnly = true)
-    public Page<BookDTO> getMostPopularBooks(Pageable pageable) {
-        log.info("Fetching most popular books");
+    public Page<BookDTO> getMostPopularBooks(PopularityWindow window, Pageable pageable) {
+        log.info("Fetching most popular books for window: {}", window);
         
-        List<Book> books = bookRepository.findMostPopularBooks(pageable);
-        return new org.springframework.data.domain.PageImpl<>(books, pageable, books.size()).map(BookDTO::new);
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Book> books = bookRepository.findMostPopularBooksSince(window.since(LocalDate.now()), unsorted);
+        return books.map(BookDTO::new);
     }
 
     /**
@@ -321,8 +409,7 @@ public class BookServiceImpl implements BookService {
     public Page<BookDTO> getRecentlyAddedBooks(Pageable pageable) {
         log.info("Fetching recently added books");
         
-        Page<Book> books = bookRepository.findByOrderByCreatedAtDesc(pageable);
-        return books.map(BookDTO::new);
+        return bookRepository.findByOrderByCreatedAtDesc(pageable);
     }
 
     /**
@@ -333,6 +420,7 @@ public class BookServiceImpl implements BookService {
      */
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS_BY_LANGUAGE, sync = true)
     public List<BookDTO> getBooksByLanguage(String language) {
         log.info("Fetching books by language: {}", language);
         
@@ -352,8 +440,7 @@ public class BookServiceImpl implements BookService {
     public List<BookDTO> getBooksByPriceRange(Double minPrice, Double maxPrice) {
         log.info("Fetching books by price range: {} - {}", minPrice, maxPrice);
         
-        List<Book> books = bookRepository.findByPriceRange(minPrice, maxPrice);
-        return books.stream().map(BookDTO::new).collect(Collectors.toList());
+        return bookRepository.findByPriceRange(minPrice, maxPrice);
     }
 
     /**
@@ -368,8 +455,7 @@ public class BookServiceImpl implements BookService {
     public List<BookDTO> getBooksByPublicationDateRange(LocalDate startDate, LocalDate endDate) {
         log.info("Fetching books by publication date range: {} - {}", startDate, endDate);
         
-        List<Book> books = bookRepository.findByPublicationDateBetween(startDate, endDate);
-        return books.stream().map(BookDTO::new).collect(Collectors.toList());
+        return bookRepository.findByPublicationDateBetween(startDate, endDate);
     }
 
     /**
@@ -380,6 +466,7 @@ public class BookServiceImpl implements BookService {
      */
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS_BY_STATUS, sync = true)
     public List<BookDTO> getBooksByStatus(Book.BookStatus status) {
         log.info("Fetching books by status: {}", status);
         
@@ -397,27 +484,40 @@ public class BookServiceImpl implements BookService {
     public List<BookDTO> getBooksNeedingRestock() {
         log.info("Fetching books that need restocking");
         
-        List<Book> books = bookRepository.findBooksNeedingRestock();
-        return books.stream().map(BookDTO::new).collect(Collectors.toList());
+        return bookRepository.findBooksNeedingRestock();
     }
 
     /**
      * Get overdue books
      * 
-     * @return list of books that are currently overdue
+     * The overdue loans come from the in-memory timing wheel of OverdueEngine,
+     * so only the books themselves are read.
+     * 
+     * @return list of books that are currently overdue, in ID order
      */
     @Override
     @Transactional(readOnly = true)
     public List<BookDTO> getOverdueBooks() {
         log.info("Fetching overdue books");
         
-        List<Book> books = bookRepository.findOverdueBooks();
-        return books.stream().map(BookDTO::new).collect(Collectors.toList());
+        List<Long> bookIds = overdueEngine.getOverdueBookIds();
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        return bookRepository.findAllById(bookIds).stream()
+                .sorted(Comparator.comparing(Book::getId))
+                .map(BookDTO::new)
+                .collect(Collectors.toList());
     }
 
     /**
      * Full-text search books
      * 
+     * Depending on library.search.mode this either scans with LIKE predicates, uses
+     * the PostgreSQL full-text index or the in-process search index. The full-text
+     * path ranks results by relevance and the index path orders them by ID, so both
+     * ignore the sort of the pageable.
+     * 
      * @param searchTerm the term to search for
      * @param pageable pagination information
      * @return page of books matching the search term
@@ -427,13 +527,33 @@ public class BookServiceImpl implements BookService {
     public Page<BookDTO> searchBooks(String searchTerm, Pageable pageable) {
         log.info("Full-text searching books with term: {}", searchTerm);
         
-        Page<Book> books = bookRepository.searchBooks(searchTerm, pageable);
-        return books.map(BookDTO::new);
+        if (properties.getSearch().getMode() == LibraryProperties.SearchMode.FULL_TEXT) {
+            String tsQuery = toPrefixTsQuery(searchTerm);
+            if (tsQuery.isEmpty()) {
+                return Page.empty(pageable);
+            }
+            Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            return bookRepository.fullTextSearch(tsQuery, unsorted).map(BookDTO::new);
+        }
+        
+        if (properties.getSearch().getMode() == LibraryProperties.SearchMode.INDEX && searchIndex.isReady()) {
+            long[] ids = searchIndex.search(searchTerm, EnumSet.allOf(BookSearchIndex.Field.class));
+            int from = (int) Math.min(pageable.getOffset(), ids.length);
+            int to = Math.min(from + pageable.getPageSize(), ids.length);
+            List<BookDTO> content = findIndexedBooks(Arrays.copyOfRange(ids, from, to));
+            return new PageImpl<>(content, pageable, ids.length);
+        }
+        
+        return bookRepository.searchBooks(LikeTerms.escape(searchTerm), pageable);
     }
 
     /**
      * Get book statistics
      * 
+     * In counters mode the figures are read from memory. Otherwise all six figures
+     * come from one aggregate query, so the cost does not depend on loading the
+     * catalog into memory.
+     * 
      * @return book statistics DTO
      */
     @Override
@@ -441,37 +561,34 @@ public class BookServiceImpl implements BookService {
     public BookStatisticsDTO getBookStatistics() {
         log.info("Fetching book statistics");
         
-        long totalBooks = bookRepository.count();
-        long availableBooks = bookRepository.countByStatus(Book.BookStatus.AVAILABLE);
-        long borrowedBooks = bookRepository.countByStatus(Book.BookStatus.BORROWED);
-        long overdueBooks = bookRepository.findOverdueBooks().size();
-        long booksNeedingRestock = bookRepository.findBooksNeedingRestock().size();
+        if (statisticsCounters.isActive()) {
+            return statisticsCounters.toStatistics();
+        }
         
-        // Calculate average availability percentage
-        List<Book> allBooks = bookRepository.findAll();
-        double averageAvailabilityPercentage = allBooks.stream()
-                .mapToDouble(Book::getAvailabilityPercentage)
-                .average()
-                .orElse(0.0);
+        BookRepository.BookStatisticsView view = bookRepository.getBookStatistics();
         
         return new BookStatisticsDTO(
-                totalBooks,
-                availableBooks,
-                borrowedBooks,
-                overdueBooks,
-                booksNeedingRestock,
-                averageAvailabilityPercentage
+                view.getTotalBooks(),
+                view.getAvailableBooks(),
+                view.getBorrowedBooks(),
+                view.getOverdueBooks(),
+                view.getBooksNeedingRestock(),
+                view.getAverageAvailabilityPercentage()
         );
     }
 
     /**
      * Add copies to a book
      * 
+     * Runs outside the class level transaction so that a conflicting concurrent
+     * update can be retried as a whole (see library.inventory.mode).
+     * 
      * @param bookId the book ID
      * @param additionalCopies number of additional copies to add
      * @return the updated book DTO
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookDTO addCopies(Long bookId, Integer additionalCopies) {
         log.info("Adding {} copies to book with ID: {}", additionalCopies, bookId);
         
@@ -479,31 +596,25 @@ public class BookServiceImpl implements BookService {
             throw new IllegalArgumentException("Additional copies must be positive");
         }
         
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + bookId));
-        
-        book.setTotalCopies(book.getTotalCopies() + additionalCopies);
-        book.setCopiesAvailable(book.getCopiesAvailable() + additionalCopies);
-        
-        // Update status if needed
-        if (book.getStatus() == Book.BookStatus.BORROWED && book.getCopiesAvailable() > 0) {
-            book.setStatus(Book.BookStatus.AVAILABLE);
-        }
-        
-        Book updatedBook = bookRepository.save(book);
+        BookDTO updatedBook = optimisticLockRetry.execute("Adding copies to book " + bookId,
+                () -> new BookDTO(inventoryService.addCopies(bookId, additionalCopies)));
         log.info("Successfully added {} copies to book with ID: {}", additionalCopies, bookId);
         
-        return new BookDTO(updatedBook);
+        return updatedBook;
     }
 
     /**
      * Remove copies from a book
      * 
+     * Runs outside the class level transaction so that a conflicting concurrent
+     * update can be retried as a whole (see library.inventory.mode).
+     * 
      * @param bookId the book ID
      * @param copiesToRemove number of copies to remove
      * @return the updated book DTO
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookDTO removeCopies(Long bookId, Integer copiesToRemove) {
         log.info("Removing {} copies from book with ID: {}", copiesToRemove, bookId);
         
@@ -511,29 +622,327 @@ public class BookServiceImpl implements BookService {
             throw new IllegalArgumentException("Copies to remove must be positive");
         }
         
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + bookId));
+        BookDTO updatedBook = optimisticLockRetry.execute("Removing copies from book " + bookId,
+                () -> new BookDTO(inventoryService.removeCopies(bookId, copiesToRemove)));
+        log.info("Successfully removed {} copies from book with ID: {}", copiesToRemove, bookId);
         
-        if (copiesToRemove > book.getTotalCopies()) {
-            throw new IllegalArgumentException("Cannot remove more copies than total copies");
+        return updatedBook;
+    }
+
+    /**
+     * Get all books with keyset pagination, ordered by ID
+     * 
+     * @param cursor cursor of the previous page (null for the first page)
+     * @param size page size
+     * @return cursor page of book DTOs
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookDTO> scrollAllBooks(String cursor, int size) {
+        log.info("Scrolling all books after cursor: {}", cursor);
+        
+        List<Book> books = bookRepository.findByIdGreaterThanOrderByIdAsc(afterId(cursor), limitOf(size));
+        return CursorPageDTO.of(books, size, book -> CursorPageDTO.Cursor.afterId(book.getId())).map(BookDTO::new);
+    }
+
+    /**
+     * Get recently added books with keyset pagination, newest first
+     * 
+     * @param cursor cursor of the previous page (null for the first page)
+     * @param size page size
+     * @return cursor page of book DTOs
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookDTO> scrollRecentlyAddedBooks(String cursor, int size) {
+        log.info("Scrolling recently added books after cursor: {}", cursor);
+        
+        CursorPageDTO.Cursor position = CursorPageDTO.Cursor.decode(cursor);
+        Pageable limit = limitOf(size);
+        List<Book> books;
+        if (position == null) {
+            books = bookRepository.findRecentFirstPage(limit);
+        } else if (position.createdAt() == null) {
+            throw new IllegalArgumentException("Cursor does not belong to the recently added listing");
+        } else {
+            books = bookRepository.findRecentAfter(position.createdAt(), position.id(), limit);
         }
+        return CursorPageDTO.of(books, size, book -> new CursorPageDTO.Cursor(book.getCreatedAt(), book.getId()))
+                .map(BookDTO::new);
+    }
+
+    /**
+     * Search books by multiple criteria with keyset pagination, ordered by ID
+     * 
+     * @param title title to search for (can be null)
+     * @param author author to search for (can be null)
+     * @param category category to search for (can be null)
+     * @param cursor cursor of the previous page (null for the first page)
+     * @param size page size
+     * @return cursor page of matching book DTOs
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookDTO> scrollBooksByCriteria(String title, String author, String category,
+                                                        String cursor, int size) {
+        log.info("Scrolling books by criteria - title: {}, author: {}, category: {}", title, author, category);
         
-        if (copiesToRemove > book.getCopiesAvailable()) {
-            throw new IllegalArgumentException("Cannot remove more copies than available copies");
+        List<Book> books = bookRepository.findByCriteriaAfter(LikeTerms.escape(title), LikeTerms.escape(author),
+                LikeTerms.escape(category), afterId(cursor), limitOf(size));
+        return CursorPageDTO.of(books, size, book -> CursorPageDTO.Cursor.afterId(book.getId())).map(BookDTO::new);
+    }
+
+    /**
+     * Full-text search books with keyset pagination, ordered by ID
+     * 
+     * Uses the same engine as searchBooks (see library.search.mode), but always
+     * orders by ID so that the cursor stays stable.
+     * 
+     * @param searchTerm the term to search for
+     * @param cursor cursor of the previous page (null for the first page)
+     * @param size page size
+     * @return cursor page of books matching the search term
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookDTO> scrollSearchBooks(String searchTerm, String cursor, int size) {
+        log.info("Scrolling full-text search with term: {}", searchTerm);
+        
+        long afterId = afterId(cursor);
+        Pageable limit = limitOf(size);
+        List<BookDTO> books;
+        LibraryProperties.SearchMode mode = properties.getSearch().getMode();
+        
+        if (mode == LibraryProperties.SearchMode.INDEX && searchIndex.isReady()) {
+            long[] ids = searchIndex.search(searchTerm, EnumSet.allOf(BookSearchIndex.Field.class));
+            int start = Arrays.binarySearch(ids, afterId);
+            start = start >= 0 ? start + 1 : -start - 1;
+            books = findIndexedBooks(Arrays.copyOfRange(ids, start, Math.min(start + size + 1, ids.length)));
+        } else if (mode == LibraryProperties.SearchMode.FULL_TEXT) {
+            String tsQuery = toPrefixTsQuery(searchTerm);
+            books = tsQuery.isEmpty() ? List.of()
+                    : bookRepository.fullTextSearchAfter(tsQuery, afterId, size + 1).stream()
+                            .map(BookDTO::new).collect(Collectors.toList());
+        } else {
+            books = bookRepository.searchBooksAfter(LikeTerms.escape(searchTerm), afterId, limit).stream()
+                    .map(BookDTO::new).collect(Collectors.toList());
         }
+        return CursorPageDTO.of(books, size, book -> CursorPageDTO.Cursor.afterId(book.getId()));
+    }
+
+    /**
+     * Get all books as a slice
+     * 
+     * Reads size + 1 rows and skips the COUNT(*) query. The optional total is the
+     * planner's estimate (or the statistics counters), never an exact count.
+     * 
+     * @param pageable pagination information
+     * @param approximateTotal whether to include an estimated total
+     * @return slice of book DTOs
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceDTO<BookDTO> getAllBooksSlice(Pageable pageable, boolean approximateTotal) {
+        log.info("Fetching all books as slice: {}", pageable);
         
-        book.setTotalCopies(book.getTotalCopies() - copiesToRemove);
-        book.setCopiesAvailable(book.getCopiesAvailable() - copiesToRemove);
+        Slice<BookDTO> books = bookRepository.findAllAsSlice(pageable);
+        return SliceDTO.of(books, approximateTotal ? countEstimator.estimateTotalBooks() : null);
+    }
+
+    /**
+     * Search books by multiple criteria as a slice
+     * 
+     * @param title title to search for (can be null)
+     * @param author author to search for (can be null)
+     * @param category category to search for (can be null)
+     * @param pageable pagination information
+     * @param approximateTotal whether to include a (cached) total
+     * @return slice of matching book DTOs
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceDTO<BookDTO> searchBooksByCriteriaSlice(String title, String author, String category,
+                                                        Pageable pageable, boolean approximateTotal) {
+        log.info("Searching books by criteria as slice - title: {}, author: {}, category: {}", title, author, category);
+        
+        Slice<BookDTO> books = bookRepository.findSliceByCriteria(LikeTerms.escape(title),
+                LikeTerms.escape(author), LikeTerms.escape(category), pageable);
+        Long total = approximateTotal
+                ? countEstimator.cachedCount("criteria:" + title + "|" + author + "|" + category,
+                        () -> bookRepository.countByCriteria(LikeTerms.escape(title),
+                                LikeTerms.escape(author), LikeTerms.escape(category)))
+                : null;
+        return SliceDTO.of(books, total);
+    }
+
+    /**
+     * Get recently added books as a slice
+     * 
+     * @param pageable pagination information
+     * @param approximateTotal whether to include an estimated total
+     * @return slice of recently added book DTOs
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceDTO<BookDTO> getRecentlyAddedBooksSlice(Pageable pageable, boolean approximateTotal) {
+        log.info("Fetching recently added books as slice");
         
-        // Update status if needed
-        if (book.getCopiesAvailable() == 0) {
-            book.setStatus(Book.BookStatus.BORROWED);
+        Slice<BookDTO> books = bookRepository.findSliceByOrderByCreatedAtDesc(pageable);
+        return SliceDTO.of(books, approximateTotal ? countEstimator.estimateTotalBooks() : null);
+    }
+
+    /**
+     * Full-text search books as a slice
+     * 
+     * Uses the same engine as searchBooks (see library.search.mode). The index
+     * engine knows its exact hit count for free; the database engines cache the
+     * count of a search term for a short time.
+     * 
+     * @param searchTerm the term to search for
+     * @param pageable pagination information
+     * @param approximateTotal whether to include a (cached) total
+     * @return slice of books matching the search term
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceDTO<BookDTO> searchBooksSlice(String searchTerm, Pageable pageable, boolean approximateTotal) {
+        log.info("Full-text searching books as slice with term: {}", searchTerm);
+        
+        LibraryProperties.SearchMode mode = properties.getSearch().getMode();
+        
+        if (mode == LibraryProperties.SearchMode.INDEX && searchIndex.isReady()) {
+            long[] ids = searchIndex.search(searchTerm, EnumSet.allOf(BookSearchIndex.Field.class));
+            int from = (int) Math.min(pageable.getOffset(), ids.length);
+            int to = Math.min(from + pageable.getPageSize(), ids.length);
+            Slice<BookDTO> books = new SliceImpl<>(findIndexedBooks(Arrays.copyOfRange(ids, from, to)),
+                    pageable, to < ids.length);
+            return SliceDTO.of(books, approximateTotal ? (long) ids.length : null);
         }
         
-        Book updatedBook = bookRepository.save(book);
-        log.info("Successfully removed {} copies from book with ID: {}", copiesToRemove, bookId);
+        if (mode == LibraryProperties.SearchMode.FULL_TEXT) {
+            String tsQuery = toPrefixTsQuery(searchTerm);
+            if (tsQuery.isEmpty()) {
+                return SliceDTO.of(new SliceImpl<>(List.<BookDTO>of(), pageable, false), approximateTotal ? 0L : null);
+            }
+            Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            Slice<BookDTO> books = bookRepository.fullTextSearchSlice(tsQuery, unsorted).map(BookDTO::new);
+            Long total = approximateTotal
+                    ? countEstimator.cachedCount("fts:" + tsQuery, () -> bookRepository.countFullTextSearch(tsQuery))
+                    : null;
+            return SliceDTO.of(books, total);
+        }
         
-        return new BookDTO(updatedBook);
+        Slice<BookDTO> books = bookRepository.searchBooksSlice(LikeTerms.escape(searchTerm), pageable);
+        Long total = approximateTotal
+                ? countEstimator.cachedCount("like:" + searchTerm,
+                        () -> bookRepository.countSearchBooks(LikeTerms.escape(searchTerm)))
+                : null;
+        return SliceDTO.of(books, total);
+    }
+
+    /**
+     * Read the ID from the cursor of an ID-ordered listing
+     * 
+     * @param cursor the cursor (null for the first page)
+     * @return the last ID of the previous page, 0 for the first page
+     */
+    private long afterId(String cursor) {
+        CursorPageDTO.Cursor position = CursorPageDTO.Cursor.decode(cursor);
+        return position != null ? position.id() : 0L;
+    }
+
+    /**
+     * Build the limit for a keyset query: one extra row tells if another page follows
+     * 
+     * @param size requested page size
+     * @return unsorted first-page request of size + 1
+     */
+    private Pageable limitOf(int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Convert free text into a to_tsquery expression
+     * 
+     * Every word must match (AND) and is treated as a prefix, so partially typed
+     * words from the catalog UI still find results. Only letters and digits are kept,
+     * which also strips tsquery operators from user input.
+     * 
+     * @param searchTerm the raw search term
+     * @return tsquery expression, empty if the term has no searchable words
+     */
+    private String toPrefixTsQuery(String searchTerm) {
+        if (searchTerm == null) {
+            return "";
+        }
+        return BookSearchIndex.tokenize(searchTerm).stream()
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    /**
+     * Load the books found by the search index, keeping the index order
+     * 
+     * @param ids book IDs returned by the index
+     * @return list of book DTOs
+     */
+    private List<BookDTO> findIndexedBooks(long[] ids) {
+        List<Long> idList = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        Map<Long, Book> booksById = new HashMap<>();
+        bookRepository.findAllById(idList).forEach(book -> booksById.put(book.getId(), book));
+        return idList.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(BookDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Run an action once the current transaction has committed
+     * 
+     * In-memory structures (such as the search index) must never see changes that
+     * are later rolled back. Without an active transaction the action runs at once.
+     * 
+     * @param action the action to run
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Convert the data of a new book to an entity with default values set
+     * 
+     * Shared with the bulk catalog import.
+     * 
+     * @param bookDTO the validated book data
+     * @return the new book entity
+     */
+    static Book toNewBook(BookDTO bookDTO) {
+        Book book = bookDTO.toEntity();
+        
+        // Set default values
+        if (book.getCopiesAvailable() == null) {
+            book.setCopiesAvailable(book.getTotalCopies());
+        }
+        if (book.getStatus() == null) {
+            book.setStatus(Book.BookStatus.AVAILABLE);
+        }
+        if (book.getLanguage() == null || book.getLanguage().isEmpty()) {
+            book.setLanguage("English");
+        }
+        return book;
     }
 
     /**
@@ -541,7 +950,7 @@ public class BookServiceImpl implements BookService {
      * 
      * @param bookDTO the book data to validate
      */
-    private void validateBookData(BookDTO bookDTO) {
+    static void validateBookData(BookDTO bookDTO) {
         if (bookDTO.getTotalCopies() != null && bookDTO.getCopiesAvailable() != null) {
             if (bookDTO.getCopiesAvailable() > bookDTO.getTotalCopies()) {
                 throw new IllegalArgumentException("Available copies cannot exceed total copies");
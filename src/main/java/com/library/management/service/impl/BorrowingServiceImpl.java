@@ -0,0 +1,515 @@
+package com.library.management.service.impl;
+
+import com.library.management.dto.BorrowingRecordDTO;
+import com.library.management.dto.UserBorrowingSummaryDTO;
+import com.library.management.event.BookBorrowedEvent;
+import com.library.management.event.LoanDueDateChangedEvent;
+import com.library.management.exception.BorrowingRecordNotFoundException;
+import com.library.management.exception.UserNotFoundException;
+import com.library.management.model.Book;
+import com.library.management.model.BorrowingRecord;
+import com.library.management.model.User;
+import com.library.management.repository.BorrowingRecordRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.BookInventoryService;
+import com.library.management.service.BorrowingService;
+import com.library.management.service.concurrency.OptimisticLockRetry;
+import com.library.management.service.overdue.OverdueEngine;
+import com.library.management.service.summary.BorrowingSummary;
+import com.library.management.service.summary.BorrowingSummaryTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Borrowing Service Implementation
+ * 
+ * Every write runs in one short transaction that touches only the rows it
+ * needs: the user (usually served from the second-level cache), the user's
+ * borrowing summary row, the book's copy count and the borrowing record
+ * itself. The loan limit, overdue loans and unpaid fines of the user are
+ * checked and counted with one conditional UPDATE of the summary row (see
+ * BorrowingSummaryTracker), which also serializes concurrent checkouts of the
+ * same user. The copy count change goes through
+ * BookInventoryService, so the transaction is retried as a whole when a
+ * concurrent borrow or return of the same book wins the race.
+ * 
+ * The batch operations load all users, books and borrowing records of a batch
+ * with one IN query each, apply the entity business methods in memory and leave
+ * the writes to a single flush, which Hibernate sends as JDBC batches
+ * (hibernate.jdbc.batch_size). Items are validated before anything is changed,
+ * so a rejected item never leaves a half-applied change behind. The copy counts
+ * of a batch change once per book through BookInventoryService, which keeps a
+ * concurrent single checkout from failing the batch; an item whose book has
+ * run out meanwhile fails on its own.
+ * 
+ * @Service: Marks this class as a service component
+ * @RequiredArgsConstructor: Lombok annotation that generates constructor for final fields
+ * @Slf4j: Lombok annotation for logging
+ * @Transactional(readOnly): Reads run in read-only transactions; writes manage their own
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BorrowingServiceImpl implements BorrowingService {
+
+    private final BorrowingRecordRepository borrowingRecordRepository;
+    private final UserRepository userRepository;
+    private final BookInventoryService inventoryService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OverdueEngine overdueEngine;
+    private final BorrowingSummaryTracker borrowingSummaryTracker;
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BorrowingRecordDTO borrowBook(BorrowingRecordDTO.CreateDTO createDTO) {
+        log.info("Borrowing book {} for user {}", createDTO.getBookId(), createDTO.getUserId());
+
+        BorrowingRecordDTO borrowingRecord = optimisticLockRetry.execute(
+                "Borrowing book " + createDTO.getBookId(), () -> new BorrowingRecordDTO(checkOut(createDTO)));
+        log.info("Book {} borrowed by user {} (record {})",
+                createDTO.getBookId(), createDTO.getUserId(), borrowingRecord.getId());
+
+        return borrowingRecord;
+    }
+
+    /**
+     * Check the borrowing rules of the user and create the borrowing record
+     */
+    private BorrowingRecord checkOut(BorrowingRecordDTO.CreateDTO createDTO) {
+        User user = userRepository.findById(createDTO.getUserId())
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + createDTO.getUserId()));
+        checkBorrowingRules(user, createDTO);
+        borrowingSummaryTracker.reserveLoan(user);
+        if (borrowingRecordRepository.existsOpenLoanByUserIdAndBookId(user.getId(), createDTO.getBookId())) {
+            throw alreadyBorrowed(user, createDTO.getBookId());
+        }
+
+        Book book = inventoryService.borrowCopy(createDTO.getBookId());
+        BorrowingRecord savedRecord = borrowingRecordRepository.save(newBorrowingRecord(user, book, createDTO));
+
+        eventPublisher.publishEvent(new BookBorrowedEvent(book.getId(), user.getId(), savedRecord.getBorrowedDate()));
+        publishDueDateChanged(savedRecord);
+        return savedRecord;
+    }
+
+    /**
+     * Check the status of a user and the loan period of one checkout
+     * 
+     * The loan limit, overdue loans and unpaid fines are checked against the
+     * user's borrowing summary.
+     */
+    private static void checkBorrowingRules(User user, BorrowingRecordDTO.CreateDTO createDTO) {
+        if (!user.canBorrowBooks()) {
+            throw new IllegalStateException("User with ID " + user.getId() + " is not allowed to borrow books");
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate expectedReturnDate = createDTO.getExpectedReturnDate();
+        if (expectedReturnDate == null || !expectedReturnDate.isAfter(today)
+                || expectedReturnDate.isAfter(today.plusDays(user.getBorrowingPeriodDays()))) {
+            throw new IllegalArgumentException("Expected return date must be within "
+                    + user.getBorrowingPeriodDays() + " days from today");
+        }
+    }
+
+    private static IllegalStateException alreadyBorrowed(User user, Long bookId) {
+        return new IllegalStateException("User with ID " + user.getId() + " has already borrowed book with ID: " + bookId);
+    }
+
+    private static BorrowingRecord newBorrowingRecord(User user, Book book, BorrowingRecordDTO.CreateDTO createDTO) {
+        BorrowingRecord borrowingRecord = new BorrowingRecord();
+        borrowingRecord.setUser(user);
+        borrowingRecord.setBook(book);
+        borrowingRecord.setBorrowedDate(LocalDate.now());
+        borrowingRecord.setExpectedReturnDate(createDTO.getExpectedReturnDate());
+        borrowingRecord.setNotes(createDTO.getNotes());
+        return borrowingRecord;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BorrowingRecordDTO returnBook(BorrowingRecordDTO.ReturnDTO returnDTO) {
+        log.info("Returning borrowing record {}", returnDTO.getBorrowingRecordId());
+
+        BorrowingRecordDTO borrowingRecord = optimisticLockRetry.execute(
+                "Returning borrowing record " + returnDTO.getBorrowingRecordId(), () -> {
+                    BorrowingRecord record = load(returnDTO.getBorrowingRecordId());
+                    BorrowingSummaryTracker.LoanState before = BorrowingSummaryTracker.stateOf(record);
+                    if (!record.returnBook()) {
+                        throw new IllegalStateException("Borrowing record with ID " + record.getId()
+                                + " is not an open loan");
+                    }
+                    appendNotes(record, returnDTO.getNotes());
+                    borrowingSummaryTracker.recordTransition(record, before);
+                    inventoryService.returnCopy(record.getBook().getId());
+                    publishDueDateChanged(record);
+                    return new BorrowingRecordDTO(record);
+                });
+        log.info("Borrowing record {} returned with fine {}",
+                borrowingRecord.getId(), borrowingRecord.getFineAmount());
+
+        return borrowingRecord;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BorrowingRecordDTO renewBook(BorrowingRecordDTO.RenewDTO renewDTO) {
+        log.info("Renewing borrowing record {} by {} days",
+                renewDTO.getBorrowingRecordId(), renewDTO.getAdditionalDays());
+
+        return optimisticLockRetry.execute("Renewing borrowing record " + renewDTO.getBorrowingRecordId(), () -> {
+            BorrowingRecord record = load(renewDTO.getBorrowingRecordId());
+            int maxDays = record.getUser().getBorrowingPeriodDays();
+            if (renewDTO.getAdditionalDays() <= 0 || renewDTO.getAdditionalDays() > maxDays) {
+                throw new IllegalArgumentException("Additional days must be between 1 and " + maxDays);
+            }
+            if (!record.renew(renewDTO.getAdditionalDays())) {
+                throw new IllegalStateException("Borrowing record with ID " + record.getId() + " cannot be renewed");
+            }
+            publishDueDateChanged(record);
+            return new BorrowingRecordDTO(record);
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BorrowingRecordDTO payFine(BorrowingRecordDTO.PayFineDTO payFineDTO) {
+        log.info("Paying fine of borrowing record {}", payFineDTO.getBorrowingRecordId());
+
+        return optimisticLockRetry.execute("Paying fine of borrowing record " + payFineDTO.getBorrowingRecordId(), () -> {
+            BorrowingRecord record = load(payFineDTO.getBorrowingRecordId());
+            if (record.isOpen()) {
+                throw new IllegalStateException("Borrowing record with ID " + record.getId()
+                        + " is still open; its fine is settled after the book is returned");
+            }
+            if (payFineDTO.getFineAmount() < record.getFineAmount()) {
+                throw new IllegalArgumentException("Payment of " + payFineDTO.getFineAmount()
+                        + " does not cover the fine of " + record.getFineAmount());
+            }
+            BorrowingSummaryTracker.LoanState before = BorrowingSummaryTracker.stateOf(record);
+            if (!record.payFine()) {
+                throw new IllegalStateException("Borrowing record with ID " + record.getId()
+                        + " has no outstanding fine");
+            }
+            borrowingSummaryTracker.recordTransition(record, before);
+            return new BorrowingRecordDTO(record);
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BorrowingRecordDTO.BatchItemResultDTO> borrowBooks(List<BorrowingRecordDTO.CreateDTO> createDTOs) {
+        validateBatchSize(createDTOs);
+        log.info("Borrowing {} books in one batch", createDTOs.size());
+
+        List<BorrowingRecordDTO.BatchItemResultDTO> results =
+                optimisticLockRetry.execute("Borrowing a batch of books", () -> checkOutBatch(createDTOs));
+        log.info("Batch checkout completed: {} of {} items succeeded", countSucceeded(results), results.size());
+
+        return results;
+    }
+
+    /**
+     * Check out a batch with one query each for the users, their borrowing
+     * summaries, the books and the open loans, keeping the loan counts up to
+     * date in memory as items are applied
+     * 
+     * The summaries are locked before the books, in the same order as a single
+     * checkout takes them.
+     */
+    private List<BorrowingRecordDTO.BatchItemResultDTO> checkOutBatch(List<BorrowingRecordDTO.CreateDTO> createDTOs) {
+        Set<Long> userIds = createDTOs.stream()
+                .map(BorrowingRecordDTO.CreateDTO::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> bookIds = createDTOs.stream()
+                .map(BorrowingRecordDTO.CreateDTO::getBookId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, BorrowingSummary> summaries = users.isEmpty() ? Map.of()
+                : borrowingSummaryTracker.lock(users.keySet());
+        Map<Long, Book> books = inventoryService.loadForBatch(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        Map<Long, Integer> pendingLoans = new HashMap<>();
+        Map<Long, Integer> copiesLeft = new HashMap<>();
+        Map<Long, Integer> copiesTaken = new HashMap<>();
+        Map<Long, Set<Long>> borrowedBooks = new HashMap<>();
+        if (!users.isEmpty()) {
+            for (BorrowingRecordRepository.UserBookOpenLoansView row
+                    : borrowingRecordRepository.countOpenLoansPerUserAndBook(users.keySet())) {
+                borrowedBooks.computeIfAbsent(row.getUserId(), id -> new HashSet<>()).add(row.getBookId());
+            }
+        }
+
+        BorrowingRecordDTO.BatchItemResultDTO[] results = new BorrowingRecordDTO.BatchItemResultDTO[createDTOs.size()];
+        Map<Integer, BorrowingRecord> created = new LinkedHashMap<>();
+        for (int i = 0; i < createDTOs.size(); i++) {
+            BorrowingRecordDTO.CreateDTO item = createDTOs.get(i);
+            User user = item.getUserId() != null ? users.get(item.getUserId()) : null;
+            Book book = item.getBookId() != null ? books.get(item.getBookId()) : null;
+            if (user == null) {
+                results[i] = BorrowingRecordDTO.BatchItemResultDTO.failure(i, "User not found with ID: " + item.getUserId());
+                continue;
+            }
+            if (book == null) {
+                results[i] = BorrowingRecordDTO.BatchItemResultDTO.failure(i, "Book not found with ID: " + item.getBookId());
+                continue;
+            }
+
+            Set<Long> booksOfUser = borrowedBooks.computeIfAbsent(user.getId(), id -> new HashSet<>());
+            try {
+                checkBorrowingRules(user, item);
+                String refusal = summaries.get(user.getId())
+                        .refusalReason(user, pendingLoans.getOrDefault(user.getId(), 0) + 1);
+                if (refusal != null) {
+                    throw new IllegalStateException(refusal);
+                }
+                if (booksOfUser.contains(book.getId())) {
+                    throw alreadyBorrowed(user, book.getId());
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                results[i] = BorrowingRecordDTO.BatchItemResultDTO.failure(i, e.getMessage());
+                continue;
+            }
+            int left = copiesLeft.computeIfAbsent(book.getId(), id -> book.getCopiesAvailable());
+            if (left == 0) {
+                results[i] = noCopiesAvailable(i, book.getId());
+                continue;
+            }
+
+            copiesLeft.put(book.getId(), left - 1);
+            copiesTaken.merge(book.getId(), 1, Integer::sum);
+            pendingLoans.merge(user.getId(), 1, Integer::sum);
+            booksOfUser.add(book.getId());
+            created.put(i, newBorrowingRecord(user, book, item));
+        }
+
+        // Copies taken by concurrent checkouts since the books were read fail their items only
+        Set<Long> unavailable = inventoryService.borrowCopies(copiesTaken);
+        created.entrySet().removeIf(entry -> {
+            Long bookId = entry.getValue().getBook().getId();
+            if (unavailable.contains(bookId)) {
+                results[entry.getKey()] = noCopiesAvailable(entry.getKey(), bookId);
+                return true;
+            }
+            return false;
+        });
+        Map<Long, Integer> newLoans = new HashMap<>();
+        created.values().forEach(borrowingRecord -> newLoans.merge(borrowingRecord.getUser().getId(), 1, Integer::sum));
+
+        borrowingRecordRepository.saveAll(created.values());
+        borrowingSummaryTracker.recordLoansOpened(newLoans);
+        created.forEach((index, borrowingRecord) -> {
+            results[index] = BorrowingRecordDTO.BatchItemResultDTO.success(index, new BorrowingRecordDTO(borrowingRecord));
+            eventPublisher.publishEvent(new BookBorrowedEvent(borrowingRecord.getBook().getId(),
+                    borrowingRecord.getUser().getId(), borrowingRecord.getBorrowedDate()));
+            publishDueDateChanged(borrowingRecord);
+        });
+        return Arrays.asList(results);
+    }
+
+    private static BorrowingRecordDTO.BatchItemResultDTO noCopiesAvailable(int index, Long bookId) {
+        return BorrowingRecordDTO.BatchItemResultDTO.failure(index, "No copies available for book with ID: " + bookId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BorrowingRecordDTO.BatchItemResultDTO> returnBooks(List<BorrowingRecordDTO.ReturnDTO> returnDTOs) {
+        validateBatchSize(returnDTOs);
+        log.info("Returning {} borrowing records in one batch", returnDTOs.size());
+
+        List<BorrowingRecordDTO.BatchItemResultDTO> results =
+                optimisticLockRetry.execute("Returning a batch of books", () -> returnBatch(returnDTOs));
+        log.info("Batch return completed: {} of {} items succeeded", countSucceeded(results), results.size());
+
+        return results;
+    }
+
+    /**
+     * Return a batch with one query for the borrowing records and one for their books
+     * 
+     * The summaries of the borrowers are locked before the books, in the same
+     * order as a single return takes them.
+     */
+    private List<BorrowingRecordDTO.BatchItemResultDTO> returnBatch(List<BorrowingRecordDTO.ReturnDTO> returnDTOs) {
+        Set<Long> recordIds = returnDTOs.stream()
+                .map(BorrowingRecordDTO.ReturnDTO::getBorrowingRecordId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, BorrowingRecord> records = recordIds.isEmpty() ? Map.of()
+                : borrowingRecordRepository.findAllWithUserByIdIn(recordIds).stream()
+                        .collect(Collectors.toMap(BorrowingRecord::getId, Function.identity()));
+        if (!records.isEmpty()) {
+            borrowingSummaryTracker.lock(records.values().stream()
+                    .map(borrowingRecord -> borrowingRecord.getUser().getId())
+                    .collect(Collectors.toSet()));
+        }
+        // Initializes the book proxies of the records, locking them except in atomic mode
+        inventoryService.loadForBatch(records.values().stream()
+                .map(borrowingRecord -> borrowingRecord.getBook().getId())
+                .collect(Collectors.toSet()));
+
+        BorrowingRecordDTO.BatchItemResultDTO[] results = new BorrowingRecordDTO.BatchItemResultDTO[returnDTOs.size()];
+        Map<Integer, BorrowingRecord> returning = new LinkedHashMap<>();
+        Set<Long> returningIds = new HashSet<>();
+        Map<Long, Integer> copiesOut = new HashMap<>();
+        Map<Long, Integer> copiesReturned = new HashMap<>();
+        for (int i = 0; i < returnDTOs.size(); i++) {
+            BorrowingRecordDTO.ReturnDTO item = returnDTOs.get(i);
+            BorrowingRecord record = item.getBorrowingRecordId() != null ? records.get(item.getBorrowingRecordId()) : null;
+            if (record == null) {
+                results[i] = BorrowingRecordDTO.BatchItemResultDTO.failure(i,
+                        "Borrowing record not found with ID: " + item.getBorrowingRecordId());
+                continue;
+            }
+            if (!record.isOpen() || !returningIds.add(record.getId())) {
+                results[i] = BorrowingRecordDTO.BatchItemResultDTO.failure(i,
+                        "Borrowing record with ID " + record.getId() + " is not an open loan");
+                continue;
+            }
+            Book book = record.getBook();
+            int out = copiesOut.computeIfAbsent(book.getId(), id -> book.getTotalCopies() - book.getCopiesAvailable());
+            if (out == 0) {
+                results[i] = allCopiesAvailable(i, book.getId());
+                continue;
+            }
+
+            copiesOut.put(book.getId(), out - 1);
+            copiesReturned.merge(book.getId(), 1, Integer::sum);
+            returning.put(i, record);
+        }
+
+        Set<Long> notOut = inventoryService.returnCopies(copiesReturned);
+        List<BorrowingSummaryTracker.Transition> transitions = new ArrayList<>();
+        returning.forEach((index, record) -> {
+            if (notOut.contains(record.getBook().getId())) {
+                results[index] = allCopiesAvailable(index, record.getBook().getId());
+                return;
+            }
+            BorrowingSummaryTracker.LoanState before = BorrowingSummaryTracker.stateOf(record);
+            record.returnBook();
+            appendNotes(record, returnDTOs.get(index).getNotes());
+            transitions.add(new BorrowingSummaryTracker.Transition(record, before));
+            publishDueDateChanged(record);
+            results[index] = BorrowingRecordDTO.BatchItemResultDTO.success(index, new BorrowingRecordDTO(record));
+        });
+        borrowingSummaryTracker.recordTransitions(transitions);
+        return Arrays.asList(results);
+    }
+
+    private static BorrowingRecordDTO.BatchItemResultDTO allCopiesAvailable(int index, Long bookId) {
+        return BorrowingRecordDTO.BatchItemResultDTO.failure(index,
+                "All copies are already available for book with ID: " + bookId);
+    }
+
+    /**
+     * Tell the overdue engine about an opened, renewed or closed loan
+     */
+    private void publishDueDateChanged(BorrowingRecord record) {
+        eventPublisher.publishEvent(new LoanDueDateChangedEvent(record.getId(), record.getUser().getId(),
+                record.getBook().getId(), record.isOpen() ? record.getExpectedReturnDate() : null));
+    }
+
+    private static void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    private static long countSucceeded(List<BorrowingRecordDTO.BatchItemResultDTO> results) {
+        return results.stream().filter(BorrowingRecordDTO.BatchItemResultDTO::isSuccess).count();
+    }
+
+    @Override
+    public BorrowingRecordDTO getBorrowingRecordById(Long id) {
+        log.info("Fetching borrowing record with ID: {}", id);
+        return new BorrowingRecordDTO(load(id));
+    }
+
+    @Override
+    public Page<BorrowingRecordDTO> getBorrowingRecordsByUser(Long userId, Pageable pageable) {
+        log.info("Fetching borrowing records of user {} with pagination: {}", userId, pageable);
+        return borrowingRecordRepository.findByUserIdOrderByBorrowedDateDesc(userId, pageable)
+                .map(BorrowingRecordDTO::new);
+    }
+
+    @Override
+    public UserBorrowingSummaryDTO getBorrowingSummary(Long userId) {
+        log.info("Fetching borrowing summary of user {}", userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+        BorrowingSummary summary = borrowingSummaryTracker.get(userId);
+        String refusal = user.canBorrowBooks() ? summary.refusalReason(user, 1)
+                : "User with ID " + userId + " is not allowed to borrow books";
+        return new UserBorrowingSummaryDTO(userId, summary.activeLoans(), user.getMaxBooksAllowed(),
+                summary.overdueLoans(), summary.unpaidFines(), summary.lastActivityAt(), refusal == null, refusal);
+    }
+
+    @Override
+    public List<BorrowingRecordDTO> getOverdueBorrowingRecords() {
+        log.info("Fetching overdue borrowing records");
+        return findAllByIds(overdueEngine.getOverdueLoanIds());
+    }
+
+    @Override
+    public List<BorrowingRecordDTO> getBorrowingRecordsDueWithin(int days) {
+        if (days < 0 || days > MAX_DUE_WITHIN_DAYS) {
+            throw new IllegalArgumentException("Days must be between 0 and " + MAX_DUE_WITHIN_DAYS);
+        }
+        log.info("Fetching borrowing records due within {} days", days);
+        return findAllByIds(overdueEngine.getLoanIdsDueWithin(days));
+    }
+
+    /**
+     * Load borrowing records picked by the overdue engine, ordered by due date
+     */
+    private List<BorrowingRecordDTO> findAllByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return borrowingRecordRepository.findAllWithUserAndBookByIdIn(ids).stream()
+                .map(BorrowingRecordDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    private BorrowingRecord load(Long id) {
+        return borrowingRecordRepository.findById(id)
+                .orElseThrow(() -> new BorrowingRecordNotFoundException("Borrowing record not found with ID: " + id));
+    }
+
+    private static void appendNotes(BorrowingRecord record, String notes) {
+        if (notes == null || notes.isBlank()) {
+            return;
+        }
+        record.setNotes(record.getNotes() == null || record.getNotes().isBlank()
+                ? notes : record.getNotes() + "\n" + notes);
+    }
+}
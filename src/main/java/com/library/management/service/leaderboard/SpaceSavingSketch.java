@@ -0,0 +1,114 @@
+package com.library.management.service.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving Sketch
+ *
+ * Approximate top-K counter over a stream of keys (Metwally et al.) that never
+ * holds more than a fixed number of counters, however many distinct keys occur.
+ *
+ * A key that is already tracked is incremented. An unknown key takes over the
+ * smallest counter: it inherits that count plus one, and the inherited part is
+ * remembered as the key's maximum overcount. Every key whose true count exceeds
+ * the smallest tracked count is guaranteed to be tracked, so the head of the
+ * ranking is exact as long as the capacity comfortably exceeds the number of
+ * entries asked for.
+ *
+ * Instances are thread safe.
+ */
+final class SpaceSavingSketch {
+
+    private static final Comparator<Counter> BY_COUNT = Comparator
+            .comparingLong((Counter counter) -> counter.count)
+            .thenComparingLong(counter -> counter.key);
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> ordered = new TreeSet<>(BY_COUNT);
+
+    SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Count occurrences of a key
+     *
+     * @param key the key
+     * @param increment how many occurrences to add
+     */
+    synchronized void add(long key, long increment) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            ordered.remove(counter);
+            counter.count += increment;
+            ordered.add(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(key, increment, 0);
+        } else {
+            Counter smallest = ordered.pollFirst();
+            counters.remove(smallest.key);
+            counter = new Counter(key, smallest.count + increment, smallest.count);
+        }
+        counters.put(key, counter);
+        ordered.add(counter);
+    }
+
+    /**
+     * Get the highest counters
+     *
+     * @param limit maximum number of entries
+     * @return entries ordered by count, highest first
+     */
+    synchronized List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(Math.min(limit, counters.size()));
+        for (Counter counter : ordered.descendingSet()) {
+            if (entries.size() == limit) {
+                break;
+            }
+            entries.add(new Entry(counter.key, counter.count, counter.error));
+        }
+        return entries;
+    }
+
+    /**
+     * Get the number of tracked keys
+     * @return tracked keys (at most the capacity)
+     */
+    synchronized int size() {
+        return counters.size();
+    }
+
+    /**
+     * Estimated count of one key
+     *
+     * @param key the key
+     * @param count estimated number of occurrences (never below the true count)
+     * @param error maximum overcount of the estimate
+     */
+    record Entry(long key, long count, long error) {
+    }
+
+    private static final class Counter {
+
+        private final long key;
+        private long count;
+        private final long error;
+
+        Counter(long key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.library.management.service.leaderboard;
+
+import com.library.management.config.LibraryProperties;
+import com.library.management.dto.UserActivityDTO;
+import com.library.management.event.BookBorrowedEvent;
+import com.library.management.model.User;
+import com.library.management.repository.BorrowingRecordRepository;
+import com.library.management.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User Activity Leaderboard
+ *
+ * Ranks users by the number of books they borrowed in the current week, month
+ * and academic term. Each period keeps a SpaceSavingSketch of bounded capacity,
+ * so memory does not grow with the number of users.
+ *
+ * The sketches are fed by committed borrows and rebuilt every night (and at
+ * startup) from the borrowing records, which removes any approximation error
+ * and any drift from borrows that bypassed the event. Borrows that commit while
+ * a rebuild reads the database are replayed onto the rebuilt sketches before
+ * they replace the old ones; one that the read already saw is then counted
+ * twice until the next rebuild, rather than lost.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserActivityLeaderboard {
+
+    /**
+     * Leaderboard periods
+     */
+    public enum Period {
+        WEEK, MONTH, TERM
+    }
+
+    private final BorrowingRecordRepository borrowingRecordRepository;
+    private final UserRepository userRepository;
+    private final LibraryProperties properties;
+
+    private final Map<Period, Board> boards = new ConcurrentHashMap<>();
+
+    /**
+     * Borrows received while a rebuild reads the database; null when no rebuild runs.
+     * Guarded by this.
+     */
+    private List<BookBorrowedEvent> replay;
+
+    /**
+     * Build the leaderboards once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild every leaderboard from the borrowing records
+     *
+     * Only the top "capacity" users of each period are loaded, so the counts
+     * of the rebuilt sketches are exact.
+     */
+    @Scheduled(cron = "${library.leaderboard.rebuild-cron:0 30 2 * * *}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        int capacity = properties.getLeaderboard().getCapacity();
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+
+        Map<Period, Board> rebuilt = new EnumMap<>(Period.class);
+        try {
+            for (Period period : Period.values()) {
+                LocalDate periodStart = periodStart(period, today);
+                SpaceSavingSketch sketch = new SpaceSavingSketch(capacity);
+                for (BorrowingRecordRepository.UserBorrowCountView view :
+                        borrowingRecordRepository.countBorrowsPerUserSince(periodStart, PageRequest.of(0, capacity))) {
+                    sketch.add(view.getUserId(), view.getBorrows());
+                }
+                rebuilt.put(period, new Board(periodStart, sketch));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                replay = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (BookBorrowedEvent event : replay) {
+                rebuilt.forEach((period, board) -> {
+                    if (board.start().equals(periodStart(period, event.borrowedDate()))) {
+                        board.sketch().add(event.userId(), 1);
+                    }
+                });
+            }
+            replay = null;
+            boards.putAll(rebuilt);
+        }
+
+        log.info("Rebuilt user activity leaderboards in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Count a committed borrow on every leaderboard
+     *
+     * @param event the borrow that happened
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookBorrowed(BookBorrowedEvent event) {
+        if (replay != null) {
+            replay.add(event);
+        }
+        for (Period period : Period.values()) {
+            LocalDate periodStart = periodStart(period, event.borrowedDate());
+            Board board = currentBoard(period, periodStart);
+            if (board.start().equals(periodStart)) {
+                board.sketch().add(event.userId(), 1);
+            }
+        }
+    }
+
+    /**
+     * Get the most active users of the current period
+     *
+     * @param period the leaderboard period
+     * @param limit maximum number of users
+     * @return leaderboard entries, most active first
+     * @throws IllegalArgumentException if the limit is not between 1 and the capacity
+     */
+    public List<UserActivityDTO> getLeaderboard(Period period, int limit) {
+        int capacity = properties.getLeaderboard().getCapacity();
+        if (limit < 1 || limit > capacity) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + capacity);
+        }
+
+        List<SpaceSavingSketch.Entry> entries =
+                currentBoard(period, periodStart(period, LocalDate.now())).sketch().top(limit);
+
+        Map<Long, User> usersById = new HashMap<>();
+        userRepository.findAllById(entries.stream().map(SpaceSavingSketch.Entry::key).toList())
+                .forEach(user -> usersById.put(user.getId(), user));
+
+        List<UserActivityDTO> leaderboard = new ArrayList<>(entries.size());
+        for (SpaceSavingSketch.Entry entry : entries) {
+            User user = usersById.get(entry.key());
+            if (user != null) {
+                leaderboard.add(new UserActivityDTO(leaderboard.size() + 1, user.getId(), user.getUsername(),
+                        user.getFullName(), entry.count(), entry.error()));
+            }
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Get the first day of the period containing a date
+     *
+     * @param period the leaderboard period
+     * @param date any date
+     * @return first day of the period
+     */
+    LocalDate periodStart(Period period, LocalDate date) {
+        return switch (period) {
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case TERM -> termStart(date);
+        };
+    }
+
+    private LocalDate termStart(LocalDate date) {
+        List<Integer> startMonths = properties.getLeaderboard().getTermStartMonths();
+        if (startMonths == null || startMonths.isEmpty()) {
+            return date.withDayOfYear(1);
+        }
+        LocalDate latest = null;
+        for (int month : startMonths) {
+            LocalDate start = LocalDate.of(date.getYear(), month, 1);
+            if (start.isAfter(date)) {
+                start = start.minusYears(1);
+            }
+            if (latest == null || start.isAfter(latest)) {
+                latest = start;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Get the board of a period, starting a fresh one when the period rolled over
+     */
+    private Board currentBoard(Period period, LocalDate periodStart) {
+        return boards.compute(period, (key, board) -> board != null && !periodStart.isAfter(board.start())
+                ? board
+                : new Board(periodStart, new SpaceSavingSketch(properties.getLeaderboard().getCapacity())));
+    }
+
+    /**
+     * Sketch of one period
+     *
+     * @param start first day of the period
+     * @param sketch counts of the period
+     */
+    private record Board(LocalDate start, SpaceSavingSketch sketch) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.library.management.service.overdue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Due Date Timing Wheel
+ *
+ * Holds the open loans bucketed by the day they are due. The wheel has one
+ * slot per day for the next "slots" days, starting at the current day; loans
+ * due later wait in an overflow map and move into their slot as the wheel
+ * turns. Loans whose day has passed are kept in the overdue set.
+ *
+ * Adding, moving and removing a loan is O(1) (plus O(log n) for the overflow),
+ * "overdue now" is the overdue set and "due within N days" reads N + 1 slots.
+ * Turning the wheel by a day empties one slot into the overdue set.
+ *
+ * Not thread safe; OverdueEngine serializes access.
+ */
+class DueDateTimingWheel {
+
+    /**
+     * Where one loan is filed
+     *
+     * @param userId the borrowing user
+     * @param bookId the borrowed book
+     * @param dueDay epoch day of the expected return date
+     */
+    record Loan(Long userId, Long bookId, long dueDay) {
+    }
+
+    private final List<Set<Long>> slots;
+    private final TreeMap<Long, Set<Long>> overflow = new TreeMap<>();
+    private final Set<Long> overdue = new HashSet<>();
+    private final Map<Long, Loan> loans = new HashMap<>();
+
+    /**
+     * The day of slot 0 of the current turn; slot i holds day currentDay + i
+     * at index (currentDay + i) mod slots
+     */
+    private long currentDay;
+
+    /**
+     * Create an empty wheel
+     *
+     * @param slots number of day slots
+     * @param today the current day
+     */
+    DueDateTimingWheel(int slots, LocalDate today) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("A timing wheel needs at least one slot");
+        }
+        this.slots = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            this.slots.add(new HashSet<>());
+        }
+        this.currentDay = today.toEpochDay();
+    }
+
+    /**
+     * Add a loan, or move it if it is already filed
+     *
+     * @param loanId borrowing record ID
+     * @param userId the borrowing user
+     * @param bookId the borrowed book
+     * @param dueDate the expected return date
+     */
+    void put(Long loanId, Long userId, Long bookId, LocalDate dueDate) {
+        remove(loanId);
+        Loan loan = new Loan(userId, bookId, dueDate.toEpochDay());
+        loans.put(loanId, loan);
+        file(loanId, loan.dueDay());
+    }
+
+    /**
+     * Remove a loan, for instance when it is returned
+     *
+     * @param loanId borrowing record ID
+     */
+    void remove(Long loanId) {
+        Loan loan = loans.remove(loanId);
+        if (loan == null) {
+            return;
+        }
+        long day = loan.dueDay();
+        if (day < currentDay) {
+            overdue.remove(loanId);
+        } else if (day < currentDay + slots.size()) {
+            slot(day).remove(loanId);
+        } else {
+            Set<Long> bucket = overflow.get(day);
+            bucket.remove(loanId);
+            if (bucket.isEmpty()) {
+                overflow.remove(day);
+            }
+        }
+    }
+
+    /**
+     * Turn the wheel forward to a day
+     *
+     * Each passed day empties its slot into the overdue set, and loans from the
+     * overflow that are now within reach move into their slots.
+     *
+     * @param today the current day; earlier days are ignored
+     * @return the loans that became overdue
+     */
+    List<Long> advanceTo(LocalDate today) {
+        long target = today.toEpochDay();
+        List<Long> becameOverdue = new ArrayList<>();
+        if (target <= currentDay) {
+            return becameOverdue;
+        }
+
+        // After a long pause every slot has expired; no need to turn day by day
+        long lastExpiredDay = Math.min(target, currentDay + slots.size()) - 1;
+        for (long day = currentDay; day <= lastExpiredDay; day++) {
+            Set<Long> slot = slot(day);
+            becameOverdue.addAll(slot);
+            slot.clear();
+        }
+        currentDay = target;
+
+        // Overflow loans are either overdue by now or belong in a slot
+        while (!overflow.isEmpty() && overflow.firstKey() < currentDay + slots.size()) {
+            Map.Entry<Long, Set<Long>> entry = overflow.pollFirstEntry();
+            if (entry.getKey() < currentDay) {
+                becameOverdue.addAll(entry.getValue());
+            } else {
+                slot(entry.getKey()).addAll(entry.getValue());
+            }
+        }
+        overdue.addAll(becameOverdue);
+        return becameOverdue;
+    }
+
+    /**
+     * @return IDs of the loans whose due day has passed
+     */
+    Set<Long> overdue() {
+        return Set.copyOf(overdue);
+    }
+
+    /**
+     * Collect the loans due from the current day up to a number of days ahead
+     *
+     * @param days days after the current day to include (0 = due today)
+     * @return loan IDs in due date order
+     */
+    List<Long> dueWithin(int days) {
+        List<Long> due = new ArrayList<>();
+        long lastDay = currentDay + Math.max(0, days);
+        long lastSlotDay = Math.min(lastDay, currentDay + slots.size() - 1);
+        for (long day = currentDay; day <= lastSlotDay; day++) {
+            due.addAll(slot(day));
+        }
+        if (lastDay > lastSlotDay) {
+            overflow.headMap(lastDay, true).values().forEach(due::addAll);
+        }
+        return due;
+    }
+
+    /**
+     * @param loanId borrowing record ID
+     * @return where the loan is filed, or null if it is not an open loan
+     */
+    Loan get(Long loanId) {
+        return loans.get(loanId);
+    }
+
+    /**
+     * @return number of open loans on the wheel
+     */
+    int size() {
+        return loans.size();
+    }
+
+    private void file(Long loanId, long day) {
+        if (day < currentDay) {
+            overdue.add(loanId);
+        } else if (day < currentDay + slots.size()) {
+            slot(day).add(loanId);
+        } else {
+            overflow.computeIfAbsent(day, key -> new HashSet<>()).add(loanId);
+        }
+    }
+
+    private Set<Long> slot(long day) {
+        return slots.get((int) Math.floorMod(day, (long) slots.size()));
+    }
+}
@@ -0,0 +1,292 @@
+package com.library.management.service.overdue;
+
+import com.library.management.config.LibraryProperties;
+import com.library.management.event.LoanDueDateChangedEvent;
+import com.library.management.model.BorrowingRecord;
+import com.library.management.repository.BorrowingRecordRepository;
+import com.library.management.service.summary.BorrowingSummaryTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Overdue Engine
+ *
+ * Keeps every open loan on a DueDateTimingWheel keyed by its expected return
+ * date, so "overdue now" and "due within N days" are answered from memory
+ * without comparing each row against CURRENT_DATE.
+ *
+ * The wheel is built from the database at startup and every
+ * library.overdue.rebuild-interval-ms (which also picks up loans changed by
+ * other instances), and follows committed LoanDueDateChangedEvents in between.
+ * Once a day (library.overdue.tick-cron) the loans that fell due are flipped
+ * to OVERDUE with batched UPDATEs of library.overdue.batch-size IDs each, and
+ * the borrowing summaries of their users are recomputed in the same transaction.
+ *
+ * Until the first rebuild succeeds (or after a failed one at startup), the
+ * queries fall back to reading the open loans from the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OverdueEngine {
+
+    private final BorrowingRecordRepository borrowingRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LibraryProperties properties;
+    private final BorrowingSummaryTracker borrowingSummaryTracker;
+
+    /**
+     * Open loans by due day; guarded by this
+     */
+    private DueDateTimingWheel wheel;
+
+    /**
+     * Overdue loans whose row may still say BORROWED; guarded by this
+     */
+    private final Set<Long> pendingFlip = new HashSet<>();
+
+    /**
+     * Events received while a rebuild reads the database; null when no rebuild runs
+     */
+    private List<LoanDueDateChangedEvent> replay;
+
+    /**
+     * Build the wheel and flip missed overdue loans once the application is ready
+     *
+     * A failure is logged rather than rethrown, which would stop the application:
+     * queries are answered from the database until the next scheduled rebuild
+     * succeeds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+            flipOverdueLoans();
+        } catch (RuntimeException e) {
+            log.error("Could not build the overdue timing wheel at startup; retrying at the next rebuild", e);
+        }
+    }
+
+    /**
+     * Flip the loans that fell due to OVERDUE
+     */
+    @Scheduled(cron = "${library.overdue.tick-cron:0 5 0 * * *}")
+    public void tick() {
+        flipOverdueLoans();
+    }
+
+    /**
+     * Rebuild the wheel from the open loans in the database
+     */
+    @Scheduled(fixedDelayString = "${library.overdue.rebuild-interval-ms:3600000}",
+            initialDelayString = "${library.overdue.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+
+        LocalDate today = LocalDate.now();
+        DueDateTimingWheel rebuilt = new DueDateTimingWheel(properties.getOverdue().getWheelSlots(), today);
+        Set<Long> notFlipped = new HashSet<>();
+        try {
+            for (BorrowingRecordRepository.OpenLoanDueDateView loan : borrowingRecordRepository.findOpenLoanDueDates()) {
+                rebuilt.put(loan.getId(), loan.getUserId(), loan.getBookId(), loan.getExpectedReturnDate());
+                if (loan.getStatus() == BorrowingRecord.BorrowingStatus.BORROWED
+                        && loan.getExpectedReturnDate().isBefore(today)) {
+                    notFlipped.add(loan.getId());
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                replay = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (LoanDueDateChangedEvent event : replay) {
+                apply(rebuilt, notFlipped, event);
+            }
+            replay = null;
+            wheel = rebuilt;
+            pendingFlip.clear();
+            pendingFlip.addAll(notFlipped);
+        }
+        log.info("Rebuilt overdue timing wheel with {} open loans in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Follow a committed change of an open loan
+     *
+     * @param event the loan that was opened, renewed or closed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLoanDueDateChanged(LoanDueDateChangedEvent event) {
+        if (replay != null) {
+            replay.add(event);
+        }
+        if (wheel != null) {
+            apply(wheel, pendingFlip, event);
+        }
+    }
+
+    /**
+     * Get the loans that are overdue today
+     *
+     * @return borrowing record IDs in ascending order
+     */
+    public List<Long> getOverdueLoanIds() {
+        synchronized (this) {
+            if (wheel != null) {
+                return new ArrayList<>(new TreeSet<>(current().overdue()));
+            }
+        }
+        LocalDate today = LocalDate.now();
+        return openLoansFromDatabase().stream()
+                .filter(loan -> loan.getExpectedReturnDate().isBefore(today))
+                .map(BorrowingRecordRepository.OpenLoanDueDateView::getId)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Get the loans due from today up to a number of days ahead
+     *
+     * @param days days after today to include (0 = due today)
+     * @return borrowing record IDs, earliest due date first
+     */
+    public List<Long> getLoanIdsDueWithin(int days) {
+        synchronized (this) {
+            if (wheel != null) {
+                return current().dueWithin(days);
+            }
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate lastDay = today.plusDays(Math.max(0, days));
+        return openLoansFromDatabase().stream()
+                .filter(loan -> !loan.getExpectedReturnDate().isBefore(today)
+                        && !loan.getExpectedReturnDate().isAfter(lastDay))
+                .sorted(Comparator.comparing(BorrowingRecordRepository.OpenLoanDueDateView::getExpectedReturnDate)
+                        .thenComparing(BorrowingRecordRepository.OpenLoanDueDateView::getId))
+                .map(BorrowingRecordRepository.OpenLoanDueDateView::getId)
+                .toList();
+    }
+
+    /**
+     * Get the books with at least one overdue loan
+     *
+     * @return book IDs in ascending order
+     */
+    public List<Long> getOverdueBookIds() {
+        synchronized (this) {
+            if (wheel != null) {
+                DueDateTimingWheel current = current();
+                Set<Long> bookIds = new TreeSet<>();
+                for (Long loanId : current.overdue()) {
+                    bookIds.add(current.get(loanId).bookId());
+                }
+                return new ArrayList<>(bookIds);
+            }
+        }
+        LocalDate today = LocalDate.now();
+        return openLoansFromDatabase().stream()
+                .filter(loan -> loan.getExpectedReturnDate().isBefore(today))
+                .map(BorrowingRecordRepository.OpenLoanDueDateView::getBookId)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Read the open loans while the wheel is not built
+     *
+     * Called outside the lock, so committed events are not held up by the query.
+     */
+    private List<BorrowingRecordRepository.OpenLoanDueDateView> openLoansFromDatabase() {
+        log.warn("Overdue timing wheel is not built; reading open loans from the database");
+        return borrowingRecordRepository.findOpenLoanDueDates();
+    }
+
+    /**
+     * Flip every overdue loan that still says BORROWED, one batch per transaction
+     */
+    private void flipOverdueLoans() {
+        LocalDate today = LocalDate.now();
+        List<Long> ids;
+        Map<Long, Long> userIds = new HashMap<>();
+        synchronized (this) {
+            if (wheel == null) {
+                return;
+            }
+            current();
+            ids = new ArrayList<>(new TreeSet<>(pendingFlip));
+            for (Long id : ids) {
+                DueDateTimingWheel.Loan loan = wheel.get(id);
+                if (loan != null) {
+                    userIds.put(id, loan.userId());
+                }
+            }
+        }
+
+        int batchSize = Math.max(1, properties.getOverdue().getBatchSize());
+        int flipped = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            Integer updated = transactionTemplate.execute(status -> {
+                int marked = borrowingRecordRepository.markOverdue(batch, today);
+                if (marked > 0) {
+                    borrowingSummaryTracker.refresh(batch.stream()
+                            .map(userIds::get)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toSet()));
+                }
+                return marked;
+            });
+            flipped += updated != null ? updated : 0;
+            synchronized (this) {
+                batch.forEach(pendingFlip::remove);
+            }
+        }
+        log.info("Flipped {} of {} overdue loans to OVERDUE", flipped, ids.size());
+    }
+
+    /**
+     * Turn the wheel to today, remembering the loans that fell due
+     */
+    private DueDateTimingWheel current() {
+        if (wheel == null) {
+            throw new IllegalStateException("Overdue timing wheel is not built yet");
+        }
+        pendingFlip.addAll(wheel.advanceTo(LocalDate.now()));
+        return wheel;
+    }
+
+    private static void apply(DueDateTimingWheel target, Set<Long> notFlipped, LoanDueDateChangedEvent event) {
+        if (event.expectedReturnDate() == null) {
+            target.remove(event.borrowingRecordId());
+            notFlipped.remove(event.borrowingRecordId());
+        } else {
+            target.put(event.borrowingRecordId(), event.userId(), event.bookId(), event.expectedReturnDate());
+        }
+    }
+}
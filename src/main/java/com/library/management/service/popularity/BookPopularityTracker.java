@@ -0,0 +1,36 @@
+package com.library.management.service.popularity;
+
+import com.library.management.event.BookBorrowedEvent;
+import com.library.management.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Book Popularity Tracker
+ *
+ * Keeps the book_popularity_daily table up to date. Each borrow increments the
+ * counter of its book and day with a single upsert, in the same transaction as
+ * the borrow itself, so the table always agrees with borrowing_records.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookPopularityTracker {
+
+    private final BookRepository bookRepository;
+
+    /**
+     * Count a borrow towards the popularity of its book
+     *
+     * @param event the borrow that happened
+     */
+    @EventListener
+    @Transactional
+    public void onBookBorrowed(BookBorrowedEvent event) {
+        log.debug("Recording borrow of book {} on {}", event.bookId(), event.borrowedDate());
+        bookRepository.incrementPopularity(event.bookId(), event.borrowedDate());
+    }
+}
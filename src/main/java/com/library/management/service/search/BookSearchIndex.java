@@ -0,0 +1,384 @@
+package com.library.management.service.search;
+
+import com.library.management.config.LibraryProperties;
+import com.library.management.model.Book;
+import com.library.management.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Book Search Index
+ *
+ * An in-process inverted index over the searchable Book fields, for deployments
+ * where the PostgreSQL schema cannot be changed.
+ *
+ * Every book gets an int document id. For each field a sorted term dictionary maps
+ * a token to a posting list of document ids stored in a plain int array. A query
+ * term matches every token it is a prefix of (a sorted sub-map range), and several
+ * query terms are combined with AND by intersecting bit sets.
+ *
+ * Updates never rewrite posting lists: a changed book gets a new document id and
+ * its old one is cleared from the live set. Once dead documents outnumber live
+ * ones, the index is rebuilt in the background and swapped in.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSearchIndex {
+
+    /**
+     * Searchable Book fields
+     */
+    public enum Field {
+        TITLE, AUTHOR, CATEGORY, PUBLISHER, DESCRIPTION
+    }
+
+    private final BookRepository bookRepository;
+    private final LibraryProperties properties;
+
+    /**
+     * The segment currently serving queries (null until the first build finished)
+     */
+    private volatile Segment segment;
+
+    /**
+     * Books changed while a rebuild was reading the catalog, replayed afterwards
+     */
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+
+    /**
+     * Check if the index mode is configured
+     * @return true if the index should be maintained
+     */
+    public boolean isEnabled() {
+        return properties.getSearch().getMode() == LibraryProperties.SearchMode.INDEX;
+    }
+
+    /**
+     * Check if the index can answer queries
+     * @return true if the index is enabled and built
+     */
+    public boolean isReady() {
+        return isEnabled() && segment != null;
+    }
+
+    /**
+     * Build the index once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (isEnabled()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the index when too many documents are dead
+     */
+    @Scheduled(fixedDelayString = "${library.search.index-compaction-interval-ms:300000}")
+    public void compactIfNeeded() {
+        Segment current = segment;
+        if (isReady() && current.needsCompaction()) {
+            log.info("Compacting book search index");
+            rebuild();
+        }
+    }
+
+    /**
+     * Build a fresh index from the database and swap it in
+     *
+     * Books are streamed in keyset batches ordered by id, so memory stays bounded
+     * by the batch size plus the index itself.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        building = true;
+        changedDuringBuild.clear();
+
+        Segment fresh = new Segment();
+        int batchSize = properties.getSearch().getIndexBatchSize();
+        long lastId = 0;
+        List<Book> batch;
+        do {
+            batch = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize));
+            for (Book book : batch) {
+                if (!Boolean.TRUE.equals(book.getDeleted())) {
+                    fresh.put(book);
+                }
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+
+        segment = fresh;
+        building = false;
+        replay(fresh);
+
+        log.info("Built book search index with {} books in {} ms",
+                fresh.liveDocuments(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Add or replace a book in the index
+     *
+     * @param book the saved book
+     */
+    public void index(Book book) {
+        if (!isEnabled()) {
+            return;
+        }
+        Segment current = segment;
+        if (current != null) {
+            if (Boolean.TRUE.equals(book.getDeleted())) {
+                current.remove(book.getId());
+            } else {
+                current.put(book);
+            }
+        }
+        if (building) {
+            changedDuringBuild.add(book.getId());
+        }
+    }
+
+    /**
+     * Remove books from the index
+     *
+     * @param bookIds ids of the removed books
+     */
+    public void remove(Collection<Long> bookIds) {
+        if (!isEnabled()) {
+            return;
+        }
+        Segment current = segment;
+        for (Long bookId : bookIds) {
+            if (current != null) {
+                current.remove(bookId);
+            }
+            if (building) {
+                changedDuringBuild.add(bookId);
+            }
+        }
+    }
+
+    /**
+     * Find books whose fields contain every query word as a token prefix
+     *
+     * @param query free text query
+     * @param fields fields to search (any of them may match each word)
+     * @return ids of matching books in ascending order
+     */
+    public long[] search(String query, Set<Field> fields) {
+        Segment current = segment;
+        List<String> terms = tokenize(query);
+        if (current == null || terms.isEmpty()) {
+            return new long[0];
+        }
+        return current.search(terms, fields);
+    }
+
+    /**
+     * Split text into lower-case letter/digit tokens
+     *
+     * @param text the text to tokenize (may be null)
+     * @return list of tokens
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void replay(Segment target) {
+        Set<Long> ids = new HashSet<>(changedDuringBuild);
+        changedDuringBuild.removeAll(ids);
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, Book> found = new HashMap<>();
+        bookRepository.findAllById(ids).forEach(book -> found.put(book.getId(), book));
+        for (Long id : ids) {
+            Book book = found.get(id);
+            if (book == null || Boolean.TRUE.equals(book.getDeleted())) {
+                target.remove(id);
+            } else {
+                target.put(book);
+            }
+        }
+    }
+
+    private static String fieldValue(Book book, Field field) {
+        return switch (field) {
+            case TITLE -> book.getTitle();
+            case AUTHOR -> book.getAuthor();
+            case CATEGORY -> book.getCategory();
+            case PUBLISHER -> book.getPublisher();
+            case DESCRIPTION -> book.getDescription();
+        };
+    }
+
+    /**
+     * One generation of the index
+     */
+    private static final class Segment {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Field, TreeMap<String, IntPostings>> dictionaries = new EnumMap<>(Field.class);
+        private final Map<Long, Integer> documentByBookId = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private long[] bookIds = new long[1024];
+        private int documentCount;
+
+        Segment() {
+            for (Field field : Field.values()) {
+                dictionaries.put(field, new TreeMap<>());
+            }
+        }
+
+        void put(Book book) {
+            lock.writeLock().lock();
+            try {
+                removeDocument(book.getId());
+                int document = documentCount++;
+                if (document == bookIds.length) {
+                    bookIds = Arrays.copyOf(bookIds, bookIds.length * 2);
+                }
+                bookIds[document] = book.getId();
+                documentByBookId.put(book.getId(), document);
+                live.set(document);
+                for (Field field : Field.values()) {
+                    TreeMap<String, IntPostings> dictionary = dictionaries.get(field);
+                    for (String token : tokenize(fieldValue(book, field))) {
+                        dictionary.computeIfAbsent(token, key -> new IntPostings()).add(document);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long bookId) {
+            lock.writeLock().lock();
+            try {
+                removeDocument(bookId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        long[] search(List<String> terms, Set<Field> fields) {
+            lock.readLock().lock();
+            try {
+                BitSet result = null;
+                for (String term : terms) {
+                    BitSet matches = new BitSet(documentCount);
+                    for (Field field : fields) {
+                        for (IntPostings postings : dictionaries.get(field)
+                                .subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                            postings.addTo(matches);
+                        }
+                    }
+                    if (result == null) {
+                        result = matches;
+                    } else {
+                        result.and(matches);
+                    }
+                    if (result.isEmpty()) {
+                        return new long[0];
+                    }
+                }
+                result.and(live);
+
+                long[] ids = new long[result.cardinality()];
+                int i = 0;
+                for (int document = result.nextSetBit(0); document >= 0; document = result.nextSetBit(document + 1)) {
+                    ids[i++] = bookIds[document];
+                }
+                Arrays.sort(ids);
+                return ids;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int liveDocuments() {
+            lock.readLock().lock();
+            try {
+                return live.cardinality();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean needsCompaction() {
+            lock.readLock().lock();
+            try {
+                int liveCount = live.cardinality();
+                int dead = documentCount - liveCount;
+                return dead > 1024 && dead > liveCount;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void removeDocument(Long bookId) {
+            Integer document = documentByBookId.remove(bookId);
+            if (document != null) {
+                live.clear(document);
+            }
+        }
+    }
+
+    /**
+     * Posting list of document ids in ascending order, backed by an int array
+     */
+    private static final class IntPostings {
+
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            if (size > 0 && documents[size - 1] == document) {
+                return;
+            }
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(documents[i]);
+            }
+        }
+    }
+}
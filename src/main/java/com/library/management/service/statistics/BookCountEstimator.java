@@ -0,0 +1,82 @@
+package com.library.management.service.statistics;
+
+import com.library.management.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Book Count Estimator
+ *
+ * Cheap ballpark totals for listings that skip the exact COUNT(*) query.
+ *
+ * - The unfiltered catalog size comes from the statistics counters when they are
+ *   active, otherwise from PostgreSQL's planner estimate (pg_class.reltuples).
+ * - Filtered totals are exact counts cached per query for a short time, so
+ *   clients paging through the same search share one COUNT(*).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookCountEstimator {
+
+    /**
+     * How long a cached filtered count is reused (milliseconds)
+     */
+    private static final long CACHE_TTL_MS = 60_000;
+
+    /**
+     * Upper bound on cached filtered counts; the cache is cleared when exceeded
+     */
+    private static final int MAX_CACHED_COUNTS = 1_000;
+
+    private final BookRepository bookRepository;
+    private final BookStatisticsCounters statisticsCounters;
+
+    private final Map<String, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Estimate the number of books in the catalog
+     *
+     * @return estimated number of books
+     */
+    public long estimateTotalBooks() {
+        if (statisticsCounters.isActive()) {
+            return statisticsCounters.snapshot().totalBooks();
+        }
+        Long estimate = bookRepository.estimateBookCount();
+        if (estimate != null && estimate >= 0) {
+            return estimate;
+        }
+        // The table was never analyzed, fall back to a cached exact count
+        return cachedCount("books:all", bookRepository::count);
+    }
+
+    /**
+     * Get a count for a filtered listing, reusing a recent result for the same key
+     *
+     * @param key identifies the query and its parameters
+     * @param counter computes the exact count on a cache miss
+     * @return cached or freshly computed count
+     */
+    public long cachedCount(String key, Supplier<Long> counter) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = cachedCounts.get(key);
+        if (cached != null && now - cached.computedAt() < CACHE_TTL_MS) {
+            return cached.count();
+        }
+        if (cachedCounts.size() >= MAX_CACHED_COUNTS) {
+            cachedCounts.clear();
+        }
+        long count = counter.get();
+        cachedCounts.put(key, new CachedCount(count, now));
+        return count;
+    }
+
+    private record CachedCount(long count, long computedAt) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.library.management.service.statistics;
+
+import com.library.management.config.LibraryProperties;
+import com.library.management.model.Book;
+import com.library.management.service.BookService.BookStatisticsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Book Statistics Counters
+ *
+ * In-memory counters that mirror the aggregate statistics of the books table.
+ * They are updated from committed book mutations (see BookStatisticsEventListener)
+ * and periodically corrected against the database (see BookStatisticsReconciler).
+ *
+ * LongAdder and DoubleAdder are striped, lock-free accumulators: concurrent writers
+ * update different cells, and readers sum the cells. This keeps writes cheap under
+ * contention and makes a read O(number of cells).
+ *
+ * The overdue figure depends on the current date rather than on book mutations,
+ * so it is only refreshed by reconciliation.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookStatisticsCounters {
+
+    private final LibraryProperties properties;
+
+    private final Map<Book.BookStatus, LongAdder> booksByStatus = createStatusCounters();
+    private final LongAdder totalBooks = new LongAdder();
+    private final LongAdder booksNeedingRestock = new LongAdder();
+    private final LongAdder totalCopies = new LongAdder();
+    private final LongAdder copiesAvailable = new LongAdder();
+    private final DoubleAdder availabilityPercentageSum = new DoubleAdder();
+    private final LongAdder overdueBooks = new LongAdder();
+
+    /**
+     * Set once the counters have been seeded from the database
+     */
+    private volatile boolean initialized;
+
+    /**
+     * Check if the counters are enabled and ready to answer statistics requests
+     * @return true if statistics can be served from memory
+     */
+    public boolean isActive() {
+        return isEnabled() && initialized;
+    }
+
+    /**
+     * Check if the counters mode is configured
+     * @return true if counters should be maintained
+     */
+    public boolean isEnabled() {
+        return properties.getStatistics().getMode() == LibraryProperties.StatisticsMode.COUNTERS;
+    }
+
+    /**
+     * Apply the change of one book to the counters
+     *
+     * @param before the book state before the change (null for an insert)
+     * @param after the book state after the change (null for a delete)
+     */
+    public void record(Contribution before, Contribution after) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (before != null) {
+            apply(before, -1);
+        }
+        if (after != null) {
+            apply(after, 1);
+        }
+    }
+
+    /**
+     * Build the statistics DTO from the current counter values
+     *
+     * @return book statistics DTO
+     */
+    public BookStatisticsDTO toStatistics() {
+        Snapshot snapshot = snapshot();
+        double average = snapshot.totalBooks() == 0 ? 0.0
+                : snapshot.availabilityPercentageSum() / snapshot.totalBooks();
+        return new BookStatisticsDTO(
+                snapshot.totalBooks(),
+                snapshot.booksByStatus().get(Book.BookStatus.AVAILABLE),
+                snapshot.booksByStatus().get(Book.BookStatus.BORROWED),
+                snapshot.overdueBooks(),
+                snapshot.booksNeedingRestock(),
+                average
+        );
+    }
+
+    /**
+     * Read all counters
+     *
+     * @return point-in-time view of the counters
+     */
+    public Snapshot snapshot() {
+        Map<Book.BookStatus, Long> statusCounts = new EnumMap<>(Book.BookStatus.class);
+        booksByStatus.forEach((status, adder) -> statusCounts.put(status, adder.sum()));
+        return new Snapshot(
+                totalBooks.sum(),
+                statusCounts,
+                booksNeedingRestock.sum(),
+                overdueBooks.sum(),
+                totalCopies.sum(),
+                copiesAvailable.sum(),
+                availabilityPercentageSum.sum()
+        );
+    }
+
+    /**
+     * Correct the counters by the drift between a baseline and the counter values
+     * read when the baseline was taken, and return that drift
+     *
+     * Each counter is shifted by (baseline - counted) rather than set to the
+     * baseline, so mutations recorded after the counted snapshot are kept. The
+     * counted snapshot must be taken just before the baseline is read: a mutation
+     * that commits between the two is then in both the baseline and the counters,
+     * and is taken back out by the next reconciliation.
+     *
+     * @param baseline values computed from the database
+     * @param counted counter values read just before the baseline
+     * @return counted values minus baseline values
+     */
+    public Snapshot reconcile(Snapshot baseline, Snapshot counted) {
+        Map<Book.BookStatus, Long> statusDrift = new EnumMap<>(Book.BookStatus.class);
+        booksByStatus.forEach((status, adder) -> statusDrift.put(status, correct(adder,
+                baseline.booksByStatus().getOrDefault(status, 0L), counted.booksByStatus().getOrDefault(status, 0L))));
+
+        double availabilityDrift = counted.availabilityPercentageSum() - baseline.availabilityPercentageSum();
+        availabilityPercentageSum.add(-availabilityDrift);
+
+        Snapshot drift = new Snapshot(
+                correct(totalBooks, baseline.totalBooks(), counted.totalBooks()),
+                statusDrift,
+                correct(booksNeedingRestock, baseline.booksNeedingRestock(), counted.booksNeedingRestock()),
+                correct(overdueBooks, baseline.overdueBooks(), counted.overdueBooks()),
+                correct(totalCopies, baseline.totalCopies(), counted.totalCopies()),
+                correct(copiesAvailable, baseline.copiesAvailable(), counted.copiesAvailable()),
+                availabilityDrift
+        );
+        initialized = true;
+        return drift;
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        totalBooks.add(sign);
+        booksByStatus.get(contribution.status()).add(sign);
+        if (contribution.needsRestock()) {
+            booksNeedingRestock.add(sign);
+        }
+        totalCopies.add((long) sign * contribution.totalCopies());
+        copiesAvailable.add((long) sign * contribution.copiesAvailable());
+        availabilityPercentageSum.add(sign * contribution.availabilityPercentage());
+    }
+
+    private static long correct(LongAdder adder, long target, long counted) {
+        long drift = counted - target;
+        adder.add(-drift);
+        return drift;
+    }
+
+    private static Map<Book.BookStatus, LongAdder> createStatusCounters() {
+        Map<Book.BookStatus, LongAdder> counters = new EnumMap<>(Book.BookStatus.class);
+        for (Book.BookStatus status : Book.BookStatus.values()) {
+            counters.put(status, new LongAdder());
+        }
+        return counters;
+    }
+
+    /**
+     * The part of the statistics one book accounts for
+     *
+     * @param status book status
+     * @param copiesAvailable available copies
+     * @param totalCopies total copies
+     */
+    public record Contribution(Book.BookStatus status, int copiesAvailable, int totalCopies) {
+
+        /**
+         * Same rule as BookRepository.findBooksNeedingRestock
+         */
+        public boolean needsRestock() {
+            return copiesAvailable == 0 && status == Book.BookStatus.BORROWED;
+        }
+
+        /**
+         * Same rule as Book.getAvailabilityPercentage
+         */
+        public double availabilityPercentage() {
+            if (totalCopies == 0) return 0.0;
+            return (double) copiesAvailable / totalCopies * 100;
+        }
+    }
+
+    /**
+     * Point-in-time values of all counters
+     */
+    public record Snapshot(long totalBooks,
+                           Map<Book.BookStatus, Long> booksByStatus,
+                           long booksNeedingRestock,
+                           long overdueBooks,
+                           long totalCopies,
+                           long copiesAvailable,
+                           double availabilityPercentageSum) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.library.management.service.statistics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Book Statistics Actuator Endpoint
+ *
+ * Exposes the in-memory statistics counters and the drift found by the last
+ * reconciliation under /actuator/bookstatistics.
+ *
+ * GET  /actuator/bookstatistics  - counters, last drift and reconciliation count
+ * POST /actuator/bookstatistics  - reconcile now
+ *
+ * @Endpoint: Registers this class as an actuator endpoint with the given id
+ */
+@Component
+@Endpoint(id = "bookstatistics")
+@RequiredArgsConstructor
+public class BookStatisticsEndpoint {
+
+    private final BookStatisticsCounters counters;
+    private final BookStatisticsReconciler reconciler;
+
+    /**
+     * Read the counters and the last reconciliation
+     *
+     * @return endpoint payload
+     */
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", counters.isEnabled());
+        result.put("active", counters.isActive());
+        result.put("counters", counters.snapshot());
+        result.put("reconciliations", reconciler.getReconciliationCount());
+
+        BookStatisticsReconciler.Reconciliation last = reconciler.getLastReconciliation();
+        if (last != null) {
+            result.put("lastReconciledAt", last.reconciledAt());
+            result.put("driftDetected", last.hasDrift());
+            result.put("drift", last.drift());
+        }
+        return result;
+    }
+
+    /**
+     * Trigger a reconciliation immediately
+     *
+     * @return the drift that was corrected
+     */
+    @WriteOperation
+    public BookStatisticsReconciler.Reconciliation reconcile() {
+        return reconciler.reconcile();
+    }
+}
@@ -0,0 +1,133 @@
+package com.library.management.service.statistics;
+
+import com.library.management.model.Book;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Book Statistics Event Listener
+ *
+ * Feeds BookStatisticsCounters from Hibernate post-commit events. Every path that
+ * changes a Book through the persistence context is covered: createBook, updateBook,
+ * deleteBook, addCopies, removeCopies as well as Book.borrowCopy()/returnCopy().
+ *
+ * Post-commit listeners only run for committed transactions, so rolled back changes
+ * never reach the counters. Update events carry the loaded (old) state next to the
+ * new state, which is enough to compute the delta without reading the database.
+ *
+ * A soft deleted book contributes nothing, so deleting a book is counted like
+ * removing it. Bulk JPQL/SQL updates bypass these events; reconciliation
+ * corrects them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookStatisticsEventListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final BookStatisticsCounters counters;
+
+    /**
+     * Register this listener with Hibernate once the session factory exists
+     */
+    @PostConstruct
+    public void register() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        log.info("Registered book statistics listener");
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (isBook(event.getPersister())) {
+            counters.record(null, contribution(event.getPersister(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (isBook(event.getPersister()) && event.getOldState() != null) {
+            counters.record(contribution(event.getPersister(), event.getOldState()),
+                    contribution(event.getPersister(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (isBook(event.getPersister()) && event.getDeletedState() != null) {
+            counters.record(contribution(event.getPersister(), event.getDeletedState()), null);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was recorded, nothing to undo
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was recorded, nothing to undo
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was recorded, nothing to undo
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return isBook(persister);
+    }
+
+    private boolean isBook(EntityPersister persister) {
+        return Book.class.equals(persister.getMappedClass());
+    }
+
+    /**
+     * Extract the statistics relevant part of a Book from a Hibernate state array
+     * 
+     * @return the contribution, or null for a soft deleted book
+     */
+    private BookStatisticsCounters.Contribution contribution(EntityPersister persister, Object[] state) {
+        String[] propertyNames = persister.getPropertyNames();
+        Book.BookStatus status = null;
+        int copiesAvailable = 0;
+        int totalCopies = 0;
+        boolean deleted = false;
+        for (int i = 0; i < propertyNames.length; i++) {
+            switch (propertyNames[i]) {
+                case "status" -> status = (Book.BookStatus) state[i];
+                case "copiesAvailable" -> copiesAvailable = intValue(state[i]);
+                case "totalCopies" -> totalCopies = intValue(state[i]);
+                case "deleted" -> deleted = Boolean.TRUE.equals(state[i]);
+                default -> { }
+            }
+        }
+        if (deleted) {
+            return null;
+        }
+        return new BookStatisticsCounters.Contribution(
+                status != null ? status : Book.BookStatus.AVAILABLE, copiesAvailable, totalCopies);
+    }
+
+    private static int intValue(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+}
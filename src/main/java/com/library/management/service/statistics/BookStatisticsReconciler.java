@@ -0,0 +1,179 @@
+package com.library.management.service.statistics;
+
+import com.library.management.model.Book;
+import com.library.management.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Book Statistics Reconciler
+ *
+ * Seeds BookStatisticsCounters at startup and periodically compares them with the
+ * database. Any difference (drift) is corrected and kept for the actuator endpoint.
+ *
+ * Drift can come from bulk updates that bypass Hibernate events, from other
+ * application instances writing to the same database, or from mutations racing
+ * with a reconciliation.
+ *
+ * Only one reconciliation runs at a time: two overlapping runs would apply the
+ * same correction twice. The baseline is read in one read-only REPEATABLE READ
+ * transaction, so all of its figures come from the same snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookStatisticsReconciler {
+
+    private final BookRepository bookRepository;
+    private final BookStatisticsCounters counters;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong reconciliations = new AtomicLong();
+    private volatile Reconciliation lastReconciliation;
+
+    /**
+     * Seed the counters as soon as the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (counters.isEnabled()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Periodic reconciliation
+     */
+    @Scheduled(fixedDelayString = "${library.statistics.reconcile-interval-ms:60000}",
+               initialDelayString = "${library.statistics.reconcile-interval-ms:60000}")
+    public void scheduledReconcile() {
+        if (counters.isEnabled()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Compare the counters with the database and correct them
+     *
+     * If another reconciliation is running, returns without waiting for it.
+     *
+     * @return the reconciliation that was performed, or the last completed one
+     *         (null if none) when another run was in progress
+     */
+    public Reconciliation reconcile() {
+        if (!lock.tryLock()) {
+            log.debug("Book statistics reconciliation already running");
+            return lastReconciliation;
+        }
+        Reconciliation reconciliation;
+        try {
+            BookStatisticsCounters.Snapshot counted = counters.snapshot();
+            BookStatisticsCounters.Snapshot baseline = loadBaseline();
+            BookStatisticsCounters.Snapshot drift = counters.reconcile(baseline, counted);
+
+            reconciliation = new Reconciliation(LocalDateTime.now(), baseline, drift);
+            lastReconciliation = reconciliation;
+            reconciliations.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+
+        if (reconciliation.hasDrift()) {
+            log.warn("Book statistics counters drifted and were corrected: {}", reconciliation.drift());
+        } else {
+            log.debug("Book statistics counters are in sync with the database");
+        }
+        return reconciliation;
+    }
+
+    /**
+     * Get the most recent reconciliation
+     * @return last reconciliation, or null if none happened yet
+     */
+    public Reconciliation getLastReconciliation() {
+        return lastReconciliation;
+    }
+
+    /**
+     * Get the number of reconciliations since startup
+     * @return reconciliation count
+     */
+    public long getReconciliationCount() {
+        return reconciliations.get();
+    }
+
+    private BookStatisticsCounters.Snapshot loadBaseline() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return transactionTemplate.execute(status -> readBaseline());
+    }
+
+    private BookStatisticsCounters.Snapshot readBaseline() {
+        Map<Book.BookStatus, Long> booksByStatus = new EnumMap<>(Book.BookStatus.class);
+        long totalBooks = 0;
+        long booksNeedingRestock = 0;
+        long totalCopies = 0;
+        long copiesAvailable = 0;
+        double availabilityPercentageSum = 0.0;
+
+        for (BookRepository.StatusTotalsView totals : bookRepository.getStatusTotals()) {
+            booksByStatus.put(Book.BookStatus.valueOf(totals.getStatus()), totals.getBooks());
+            totalBooks += totals.getBooks();
+            booksNeedingRestock += totals.getBooksNeedingRestock();
+            totalCopies += totals.getTotalCopies();
+            copiesAvailable += totals.getCopiesAvailable();
+            availabilityPercentageSum += totals.getAvailabilityPercentageSum();
+        }
+        long overdueBooks = bookRepository.getBookStatistics().getOverdueBooks();
+
+        return new BookStatisticsCounters.Snapshot(totalBooks, booksByStatus, booksNeedingRestock,
+                overdueBooks, totalCopies, copiesAvailable, availabilityPercentageSum);
+    }
+
+    /**
+     * Result of one reconciliation
+     *
+     * @param reconciledAt when the reconciliation ran
+     * @param baseline values read from the database
+     * @param drift counter values minus database values before correction
+     */
+    public record Reconciliation(LocalDateTime reconciledAt,
+                                 BookStatisticsCounters.Snapshot baseline,
+                                 BookStatisticsCounters.Snapshot drift) {
+
+        /**
+         * Tolerance for floating point noise in the availability percentage sum
+         */
+        private static final double PERCENTAGE_EPSILON = 1e-6;
+
+        /**
+         * Check if any counter differed from the database
+         * @return true if drift was detected
+         */
+        public boolean hasDrift() {
+            return drift.totalBooks() != 0
+                    || drift.booksByStatus().values().stream().anyMatch(value -> value != 0)
+                    || drift.booksNeedingRestock() != 0
+                    || drift.overdueBooks() != 0
+                    || drift.totalCopies() != 0
+                    || drift.copiesAvailable() != 0
+                    || Math.abs(drift.availabilityPercentageSum()) > PERCENTAGE_EPSILON;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.library.management.service.summary;
+
+import com.library.management.model.User;
+import com.library.management.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Borrowing Summary
+ *
+ * The loan and fine counters of one user, as stored in user_borrowing_summary.
+ *
+ * @param userId the user ID
+ * @param activeLoans open loans (borrowed or overdue)
+ * @param overdueLoans loans flipped to OVERDUE
+ * @param unpaidFines total of the fines not paid yet
+ * @param lastActivityAt last borrow, return or fine payment (null if none)
+ */
+public record BorrowingSummary(Long userId, int activeLoans, int overdueLoans, double unpaidFines,
+                               LocalDateTime lastActivityAt) {
+
+    /**
+     * @param view a summary row
+     * @return the summary
+     */
+    static BorrowingSummary of(UserRepository.BorrowingSummaryView view) {
+        return new BorrowingSummary(view.getUserId(), view.getActiveLoans(), view.getOverdueLoans(),
+                view.getUnpaidFines(), view.getLastActivityAt());
+    }
+
+    /**
+     * @param userId the user ID
+     * @return the summary of a user who never borrowed a book
+     */
+    static BorrowingSummary empty(Long userId) {
+        return new BorrowingSummary(userId, 0, 0, 0.0, null);
+    }
+
+    /**
+     * Explain why a user may not take out more loans
+     *
+     * @param user the user the summary belongs to
+     * @param newLoans loans about to be added
+     * @return the reason, or null if the loans are allowed
+     */
+    public String refusalReason(User user, int newLoans) {
+        if (overdueLoans > 0) {
+            return "User with ID " + userId + " has " + overdueLoans + " overdue loans";
+        }
+        if (unpaidFines > 0) {
+            return "User with ID " + userId + " has unpaid fines of " + unpaidFines;
+        }
+        if (activeLoans + newLoans > user.getMaxBooksAllowed()) {
+            return "User with ID " + userId + " has reached the limit of " + user.getMaxBooksAllowed()
+                    + " borrowed books";
+        }
+        return null;
+    }
+}
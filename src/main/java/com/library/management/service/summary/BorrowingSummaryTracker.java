@@ -0,0 +1,228 @@
+package com.library.management.service.summary;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.management.config.LibraryProperties;
+import com.library.management.model.BorrowingRecord;
+import com.library.management.model.User;
+import com.library.management.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Borrowing Summary Tracker
+ *
+ * Keeps user_borrowing_summary in step with the borrowing records: every
+ * borrow, return and fine payment changes the counters of its user in the same
+ * transaction. A checkout checks the loan limit, overdue loans and unpaid fines
+ * of the user with one conditional UPDATE of the summary row instead of
+ * counting the user's borrowing records; the row lock it takes serializes
+ * concurrent checkouts of the same user.
+ *
+ * Bulk statements (the overdue flip and the fine accrual) recompute the
+ * summaries of the users they touched instead.
+ *
+ * Reads of a summary are served from an in-process Caffeine cache
+ * (library.borrowing-summary.*). Entries are evicted after every commit that
+ * changes them; checkouts never trust the cache.
+ */
+@Component
+public class BorrowingSummaryTracker {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, BorrowingSummary> cache;
+
+    public BorrowingSummaryTracker(UserRepository userRepository, LibraryProperties properties) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getBorrowingSummary().getCacheMaximumSize())
+                .expireAfterWrite(properties.getBorrowingSummary().getCacheTimeToLive())
+                .build();
+    }
+
+    /**
+     * Get the summary of a user, from the cache if possible
+     *
+     * @param userId the user ID
+     * @return the summary (all zero if the user never borrowed a book)
+     */
+    public BorrowingSummary get(Long userId) {
+        return cache.get(userId, id -> userRepository.findBorrowingSummary(id)
+                .map(BorrowingSummary::of)
+                .orElseGet(() -> BorrowingSummary.empty(id)));
+    }
+
+    /**
+     * Count a new loan of a user, if the user may borrow another book
+     *
+     * Must run in the checkout transaction: the summary row stays locked until
+     * it ends, and the count is rolled back with it.
+     *
+     * @param user the borrowing user
+     * @throws IllegalStateException if the user is at the loan limit, has overdue loans or unpaid fines
+     */
+    public void reserveLoan(User user) {
+        if (userRepository.reserveLoan(user.getId(), user.getMaxBooksAllowed()) == 0) {
+            // Refused or no summary yet: lock the row and find out which
+            BorrowingSummary summary = lock(List.of(user.getId())).get(user.getId());
+            String refusal = summary.refusalReason(user, 1);
+            if (refusal != null) {
+                throw new IllegalStateException(refusal);
+            }
+            userRepository.adjustBorrowingSummary(user.getId(), 1, 0, 0.0);
+        }
+        evictAfterCommit(List.of(user.getId()));
+    }
+
+    /**
+     * Find and lock the summaries of several users, creating missing ones
+     *
+     * @param userIds the user IDs
+     * @return the summaries by user ID, locked until the end of the transaction
+     */
+    public Map<Long, BorrowingSummary> lock(Collection<Long> userIds) {
+        Map<Long, BorrowingSummary> summaries = new HashMap<>();
+        userRepository.findBorrowingSummariesForUpdate(userIds)
+                .forEach(view -> summaries.put(view.getUserId(), BorrowingSummary.of(view)));
+
+        List<Long> missing = userIds.stream().filter(id -> !summaries.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            userRepository.createBorrowingSummaries(missing);
+            userRepository.findBorrowingSummariesForUpdate(missing)
+                    .forEach(view -> summaries.put(view.getUserId(), BorrowingSummary.of(view)));
+        }
+        return summaries;
+    }
+
+    /**
+     * Count new loans of users whose summaries the caller has locked
+     *
+     * @param newLoans number of new loans by user ID
+     */
+    public void recordLoansOpened(Map<Long, Integer> newLoans) {
+        new TreeMap<>(newLoans).forEach((userId, count) -> userRepository.adjustBorrowingSummary(userId, count, 0, 0.0));
+        evictAfterCommit(newLoans.keySet());
+    }
+
+    /**
+     * Capture what a borrowing record contributes to its user's summary
+     *
+     * @param record the borrowing record, before a transition
+     * @return its contribution
+     */
+    public static LoanState stateOf(BorrowingRecord record) {
+        double fine = record.getFineAmount() != null ? record.getFineAmount() : 0.0;
+        return new LoanState(record.isOpen() ? 1 : 0,
+                record.getStatus() == BorrowingRecord.BorrowingStatus.OVERDUE ? 1 : 0,
+                record.isFinePaid() || fine < 0 ? 0.0 : fine);
+    }
+
+    /**
+     * Apply a return or fine payment to the summary of its user
+     *
+     * @param record the changed borrowing record
+     * @param before its state before the change
+     */
+    public void recordTransition(BorrowingRecord record, LoanState before) {
+        recordTransitions(List.of(new Transition(record, before)));
+    }
+
+    /**
+     * Apply returns and fine payments to the summaries of their users
+     *
+     * Changes are summed per user and applied in user ID order.
+     *
+     * @param transitions the changed borrowing records with their states before the change
+     */
+    public void recordTransitions(List<Transition> transitions) {
+        Map<Long, LoanState> changes = new TreeMap<>();
+        for (Transition transition : transitions) {
+            LoanState previous = transition.before();
+            LoanState current = stateOf(transition.record());
+            changes.merge(transition.record().getUser().getId(),
+                    new LoanState(current.activeLoans() - previous.activeLoans(),
+                            current.overdueLoans() - previous.overdueLoans(),
+                            current.unpaidFines() - previous.unpaidFines()),
+                    LoanState::plus);
+        }
+
+        List<Long> changed = new ArrayList<>();
+        changes.forEach((userId, change) -> {
+            if (!change.isZero()) {
+                userRepository.adjustBorrowingSummary(userId, change.activeLoans(), change.overdueLoans(),
+                        change.unpaidFines());
+                changed.add(userId);
+            }
+        });
+        evictAfterCommit(changed);
+    }
+
+    /**
+     * Recompute the summaries of users after a bulk change of their borrowing records
+     *
+     * @param userIds the user IDs
+     */
+    public void refresh(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        TreeSet<Long> sorted = new TreeSet<>(userIds);
+        userRepository.findBorrowingSummariesForUpdate(sorted);
+        userRepository.refreshBorrowingSummaries(sorted);
+        evictAfterCommit(sorted);
+    }
+
+    private void evictAfterCommit(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(ids);
+                }
+            });
+        } else {
+            cache.invalidateAll(ids);
+        }
+    }
+
+    /**
+     * A changed borrowing record and its state before the change
+     *
+     * @param record the borrowing record, as changed
+     * @param before its state before the change
+     */
+    public record Transition(BorrowingRecord record, LoanState before) {
+    }
+
+    /**
+     * What one or more borrowing records contribute to a summary
+     *
+     * @param activeLoans open loans
+     * @param overdueLoans loans flipped to OVERDUE
+     * @param unpaidFines unpaid fine total
+     */
+    public record LoanState(int activeLoans, int overdueLoans, double unpaidFines) {
+
+        LoanState plus(LoanState other) {
+            return new LoanState(activeLoans + other.activeLoans, overdueLoans + other.overdueLoans,
+                    unpaidFines + other.unpaidFines);
+        }
+
+        boolean isZero() {
+            return activeLoans == 0 && overdueLoans == 0 && unpaidFines == 0.0;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+-- ===========================================
+-- COMPOSITE INDEXES FOR REPOSITORY QUERIES
+-- ===========================================
+-- One index per access path of BookRepository, BorrowingRecordRepository and
+-- UserRepository. Equality columns come first, then the range or sort column.
+-- Every entity query also filters on deleted = false (@SQLRestriction), so
+-- the indexes cover live rows only.
+--
+-- QueryPlanVerifier checks the plans of these queries against the indexes;
+-- keep its catalogue in sync when an index is added, renamed or dropped.
+
+-- Borrowing records of a user or book, optionally by status:
+-- findByUserAndStatus, findActiveBorrowingRecordsByUserId,
+-- countActiveBorrowingRecordsByUser, findByUserId, findByBookAndStatus, findByBookId
+CREATE INDEX IF NOT EXISTS idx_borrowing_records_user_status
+    ON borrowing_records (user_id, status) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_borrowing_records_book_status
+    ON borrowing_records (book_id, status) WHERE deleted = false;
+
+-- Borrowing history pages, newest first:
+-- findByUserIdOrderByBorrowedDateDesc, findByBookIdOrderByBorrowedDateDesc
+CREATE INDEX IF NOT EXISTS idx_borrowing_records_user_borrowed_date
+    ON borrowing_records (user_id, borrowed_date) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_borrowing_records_book_borrowed_date
+    ON borrowing_records (book_id, borrowed_date) WHERE deleted = false;
+
+-- Loans by due date: findOverdueBorrowingRecords, findBorrowingRecordsDueSoon,
+-- findBorrowingRecordsThatCanBeRenewed, findActiveBorrowingRecords, countByStatus
+CREATE INDEX IF NOT EXISTS idx_borrowing_records_status_due_date
+    ON borrowing_records (status, expected_return_date) WHERE deleted = false;
+
+-- Leaderboard rebuild (countBorrowsPerUserSince) reads borrowed_date and
+-- user_id only, so it can be answered from the index alone
+CREATE INDEX IF NOT EXISTS idx_borrowing_records_borrowed_date_user
+    ON borrowing_records (borrowed_date, user_id) WHERE deleted = false;
+
+-- Unpaid fines are a small subset: findBorrowingRecordsWithOutstandingFines,
+-- findUsersWithOutstandingFines
+CREATE INDEX IF NOT EXISTS idx_borrowing_records_outstanding_fines
+    ON borrowing_records (user_id)
+    WHERE fine_amount > 0 AND fine_paid_date IS NULL AND deleted = false;
+
+-- Availability and restock listings: findAvailableBooks,
+-- findBooksNeedingRestock; also serves status-only lookups, so it replaces
+-- the single column status index from V9
+CREATE INDEX IF NOT EXISTS idx_books_status_copies_available
+    ON books (status, copies_available) WHERE deleted = false;
+DROP INDEX IF EXISTS idx_books_status_live;
+
+-- Recently added books, including the keyset pages (created_at DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_books_created_at
+    ON books (created_at, id) WHERE deleted = false;
+
+-- Users by status and role: findUsersWhoCanBorrow, findActiveUsers,
+-- findByStatus, countByStatus
+CREATE INDEX IF NOT EXISTS idx_users_status_role
+    ON users (status, role) WHERE deleted = false;
+
+-- Recently registered users, including the keyset pages (created_at DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_users_created_at
+    ON users (created_at, id) WHERE deleted = false;
@@ -0,0 +1,19 @@
+-- ===========================================
+-- FINE ACCRUAL
+-- ===========================================
+-- The nightly fine accrual job walks the open overdue loans in ID order. It
+-- records the highest ID up to which every chunk has committed, so an
+-- interrupted run resumes there instead of starting over. One row per run day.
+
+CREATE TABLE IF NOT EXISTS fine_accrual_runs (
+    run_date        DATE          PRIMARY KEY,
+    last_id         BIGINT        NOT NULL,
+    rows_updated    BIGINT        NOT NULL,
+    started_at      TIMESTAMP(6)  NOT NULL,
+    completed_at    TIMESTAMP(6)
+);
+
+-- Keyset walk over the open loans; a small partial index in ID order
+CREATE INDEX IF NOT EXISTS idx_borrowing_records_open_loans_by_id
+    ON borrowing_records (id, expected_return_date)
+    WHERE status IN ('BORROWED', 'OVERDUE') AND deleted = false AND fine_paid_date IS NULL;
@@ -0,0 +1,28 @@
+-- ===========================================
+-- USER BORROWING SUMMARY
+-- ===========================================
+-- One row per user with the counters a checkout needs: open loans, loans
+-- flipped to OVERDUE and the unpaid fine total. Every borrow, return and fine
+-- payment updates the row in the same transaction, so the eligibility check is
+-- a single primary key lookup instead of counting borrowing_records. Rows are
+-- created on a user's first checkout.
+
+CREATE TABLE IF NOT EXISTS user_borrowing_summary (
+    user_id             BIGINT          PRIMARY KEY REFERENCES users (id),
+    active_loans        INTEGER         NOT NULL DEFAULT 0,
+    overdue_loans       INTEGER         NOT NULL DEFAULT 0,
+    unpaid_fines        NUMERIC(12, 2)  NOT NULL DEFAULT 0,
+    last_activity_at    TIMESTAMP(6)
+);
+
+-- Backfill from the existing borrowing history
+INSERT INTO user_borrowing_summary (user_id, active_loans, overdue_loans, unpaid_fines, last_activity_at)
+SELECT u.id,
+       COUNT(br.id) FILTER (WHERE br.status IN ('BORROWED', 'OVERDUE')),
+       COUNT(br.id) FILTER (WHERE br.status = 'OVERDUE'),
+       COALESCE(ROUND(SUM(br.fine_amount) FILTER (WHERE br.fine_amount > 0 AND br.fine_paid_date IS NULL)::NUMERIC, 2), 0),
+       MAX(br.updated_at)
+FROM users u
+LEFT JOIN borrowing_records br ON br.user_id = u.id AND br.deleted = false
+GROUP BY u.id
+ON CONFLICT (user_id) DO NOTHING;
@@ -0,0 +1,44 @@
+-- ===========================================
+-- DROP FULL UNIQUE CONSTRAINTS ON ISBN, EMAIL AND USERNAME
+-- ===========================================
+-- V9 dropped the full unique constraints by PostgreSQL's default names, which
+-- only exist on a database created from V1. Databases baselined at V1 were
+-- created by Hibernate and carry hash-named constraints (uk...), which V9 left
+-- in place; they still block reusing the ISBN, email or username of a deleted
+-- row. Uniqueness among live rows is enforced by the partial indexes of V9.
+--
+-- Drop every single-column unique constraint, and every full (non-partial)
+-- single-column unique index that backs no constraint, on these columns,
+-- whatever its name.
+
+DO $$
+DECLARE
+    target RECORD;
+BEGIN
+    FOR target IN
+        SELECT c.conrelid::regclass AS table_name, c.conname AS constraint_name
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+        WHERE c.contype = 'u'
+          AND array_length(c.conkey, 1) = 1
+          AND ((c.conrelid = 'books'::regclass AND a.attname = 'isbn')
+            OR (c.conrelid = 'users'::regclass AND a.attname IN ('email', 'username')))
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', target.table_name, target.constraint_name);
+    END LOOP;
+
+    FOR target IN
+        SELECT i.indexrelid::regclass AS index_name
+        FROM pg_index i
+        JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+        WHERE i.indisunique
+          AND NOT i.indisprimary
+          AND i.indnatts = 1
+          AND i.indpred IS NULL
+          AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid)
+          AND ((i.indrelid = 'books'::regclass AND a.attname = 'isbn')
+            OR (i.indrelid = 'users'::regclass AND a.attname IN ('email', 'username')))
+    LOOP
+        EXECUTE format('DROP INDEX %s', target.index_name);
+    END LOOP;
+END $$;
@@ -0,0 +1,65 @@
+-- ===========================================
+-- BASELINE SCHEMA
+-- ===========================================
+-- Mirrors the schema Hibernate generated from the entities before migrations
+-- were introduced. Existing databases are baselined at this version (see
+-- spring.flyway.baseline-on-migrate) and skip this script.
+
+CREATE TABLE IF NOT EXISTS books (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at          TIMESTAMP(6)  NOT NULL,
+    updated_at          TIMESTAMP(6),
+    deleted             BOOLEAN       NOT NULL DEFAULT FALSE,
+    title               VARCHAR(255)  NOT NULL,
+    author              VARCHAR(255)  NOT NULL,
+    isbn                VARCHAR(255)  NOT NULL UNIQUE,
+    publisher           VARCHAR(255)  NOT NULL,
+    publication_date    DATE          NOT NULL,
+    category            VARCHAR(255)  NOT NULL,
+    pages               INTEGER       NOT NULL,
+    price               NUMERIC(38, 2) NOT NULL,
+    description         VARCHAR(1000),
+    copies_available    INTEGER       NOT NULL,
+    total_copies        INTEGER       NOT NULL,
+    status              VARCHAR(255)  NOT NULL,
+    language            VARCHAR(255)  NOT NULL,
+    cover_image_url     VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at          TIMESTAMP(6)  NOT NULL,
+    updated_at          TIMESTAMP(6),
+    deleted             BOOLEAN       NOT NULL DEFAULT FALSE,
+    first_name          VARCHAR(255)  NOT NULL,
+    last_name           VARCHAR(255)  NOT NULL,
+    email               VARCHAR(255)  NOT NULL UNIQUE,
+    phone_number        VARCHAR(255)  NOT NULL,
+    date_of_birth       DATE          NOT NULL,
+    address             VARCHAR(500)  NOT NULL,
+    username            VARCHAR(255)  NOT NULL UNIQUE,
+    password            VARCHAR(255)  NOT NULL,
+    role                VARCHAR(255)  NOT NULL,
+    status              VARCHAR(255)  NOT NULL,
+    student_id          VARCHAR(255),
+    department          VARCHAR(255),
+    profile_image_url   VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS borrowing_records (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at              TIMESTAMP(6)  NOT NULL,
+    updated_at              TIMESTAMP(6),
+    deleted                 BOOLEAN       NOT NULL DEFAULT FALSE,
+    user_id                 BIGINT        NOT NULL REFERENCES users (id),
+    book_id                 BIGINT        NOT NULL REFERENCES books (id),
+    borrowed_date           DATE          NOT NULL,
+    expected_return_date    DATE          NOT NULL,
+    actual_return_date      DATE,
+    status                  VARCHAR(255)  NOT NULL,
+    fine_amount             DOUBLE PRECISION,
+    fine_paid_date          DATE,
+    notes                   VARCHAR(1000),
+    renewal_count           INTEGER,
+    max_renewals            INTEGER
+);
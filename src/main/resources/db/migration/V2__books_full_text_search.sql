@@ -0,0 +1,17 @@
+-- ===========================================
+-- FULL-TEXT SEARCH ON BOOKS
+-- ===========================================
+-- A stored generated column keeps the search document in sync on every
+-- insert and update without triggers. Weights rank title matches above
+-- author matches, and both above category/publisher and description.
+
+ALTER TABLE books ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(author, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(category, '')), 'C') ||
+        setweight(to_tsvector('english', coalesce(publisher, '')), 'C') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'D')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_books_search_vector ON books USING GIN (search_vector);
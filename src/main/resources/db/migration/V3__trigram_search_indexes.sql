@@ -0,0 +1,20 @@
+-- ===========================================
+-- TRIGRAM INDEXES FOR SUBSTRING SEARCH
+-- ===========================================
+-- LOWER(column) LIKE '%term%' cannot use a B-tree index. A GIN trigram index
+-- on the same LOWER(column) expression can, for terms of 3+ characters.
+-- The repository queries use LOWER(...) so the expressions match exactly.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_books_title_trgm       ON books USING GIN (LOWER(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_books_author_trgm      ON books USING GIN (LOWER(author) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_books_category_trgm    ON books USING GIN (LOWER(category) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_books_publisher_trgm   ON books USING GIN (LOWER(publisher) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_books_description_trgm ON books USING GIN (LOWER(description) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm  ON users USING GIN (LOWER(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm   ON users USING GIN (LOWER(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm       ON users USING GIN (LOWER(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_username_trgm    ON users USING GIN (LOWER(username) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_student_id_trgm  ON users USING GIN (LOWER(student_id) gin_trgm_ops);
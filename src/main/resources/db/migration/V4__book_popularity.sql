@@ -0,0 +1,25 @@
+-- ===========================================
+-- BOOK POPULARITY COUNTERS
+-- ===========================================
+-- One row per book and day with the number of times the book was borrowed on
+-- that day. Popularity rankings sum these rows over a window instead of
+-- counting borrowing_records, so the read path never touches the (much larger)
+-- borrowing history. Rows are upserted on every borrow.
+
+CREATE TABLE IF NOT EXISTS book_popularity_daily (
+    book_id         BIGINT  NOT NULL REFERENCES books (id),
+    day             DATE    NOT NULL,
+    borrow_count    BIGINT  NOT NULL,
+    PRIMARY KEY (book_id, day)
+);
+
+-- Window queries filter by day and aggregate per book
+CREATE INDEX IF NOT EXISTS idx_book_popularity_daily_day
+    ON book_popularity_daily (day, book_id) INCLUDE (borrow_count);
+
+-- Backfill from the existing borrowing history
+INSERT INTO book_popularity_daily (book_id, day, borrow_count)
+SELECT br.book_id, br.borrowed_date, COUNT(*)
+FROM borrowing_records br
+GROUP BY br.book_id, br.borrowed_date
+ON CONFLICT (book_id, day) DO NOTHING;
@@ -0,0 +1,11 @@
+-- ===========================================
+-- OPTIMISTIC LOCKING VERSION COLUMNS
+-- ===========================================
+-- BaseEntity carries a JPA @Version. Every update is issued as
+-- "UPDATE ... SET version = version + 1 WHERE id = ? AND version = ?", so a
+-- concurrent read-modify-write on the same row fails instead of silently
+-- overwriting the other transaction's change.
+
+ALTER TABLE books             ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users             ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE borrowing_records ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
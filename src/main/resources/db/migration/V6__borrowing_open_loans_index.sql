@@ -0,0 +1,10 @@
+-- ===========================================
+-- OPEN LOANS INDEX
+-- ===========================================
+-- Every checkout counts the open loans of the borrowing user. Open loans are a
+-- small fraction of the borrowing history, so a partial index on them stays
+-- small and answers the count with an index-only scan.
+
+CREATE INDEX IF NOT EXISTS idx_borrowing_records_open_loans
+    ON borrowing_records (user_id, book_id)
+    WHERE status IN ('BORROWED', 'OVERDUE') AND deleted = false;
@@ -0,0 +1,23 @@
+-- ===========================================
+-- SEQUENCE-BASED IDS
+-- ===========================================
+-- Hibernate cannot batch inserts into IDENTITY columns, because it needs each
+-- generated key back before the next statement. IDs now come from one sequence
+-- per table. Hibernate reserves 50 IDs per call (pooled-lo optimizer: the
+-- sequence value is the first ID of the block), so the increment must stay 50.
+--
+-- Existing IDs are kept. Each sequence starts right after the highest existing
+-- ID. The identity default is dropped, so rows inserted outside the application
+-- must take their ID from the sequence explicitly.
+
+ALTER TABLE books ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS books_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('books_seq', COALESCE((SELECT MAX(id) FROM books), 0) + 1, false);
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+
+ALTER TABLE borrowing_records ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS borrowing_records_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('borrowing_records_seq', COALESCE((SELECT MAX(id) FROM borrowing_records), 0) + 1, false);
@@ -0,0 +1,10 @@
+-- ===========================================
+-- OPEN LOANS BY BOOK INDEX
+-- ===========================================
+-- Deleting a book checks whether it is currently borrowed. The (user_id, book_id)
+-- index from V6 cannot answer that by book, so open loans get a second small
+-- partial index keyed by book.
+
+CREATE INDEX IF NOT EXISTS idx_borrowing_records_open_loans_by_book
+    ON borrowing_records (book_id)
+    WHERE status IN ('BORROWED', 'OVERDUE') AND deleted = false;
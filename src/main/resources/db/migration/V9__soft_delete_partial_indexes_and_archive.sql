@@ -0,0 +1,42 @@
+-- ===========================================
+-- SOFT DELETE: PARTIAL INDEXES AND ARCHIVE TABLES
+-- ===========================================
+-- Every entity query now filters on deleted = false, so the hot lookup columns
+-- are indexed over live rows only. The indexes stay small and never contain
+-- the dead rows a query would have to skip.
+--
+-- ISBN, email and username only have to be unique among live rows. The full
+-- unique constraints are replaced by partial unique indexes, so a deleted book
+-- or user no longer blocks its ISBN, email or username.
+
+ALTER TABLE books DROP CONSTRAINT IF EXISTS books_isbn_key;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_books_isbn_live ON books (isbn) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_books_status_live ON books (status) WHERE deleted = false;
+
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_key;
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_username_key;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email_live ON users (email) WHERE deleted = false;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username_live ON users (username) WHERE deleted = false;
+
+-- The archive job looks for rows deleted before a cutoff. Deleting a row sets
+-- updated_at, and these indexes only hold the (few) deleted rows.
+CREATE INDEX IF NOT EXISTS idx_books_deleted ON books (updated_at) WHERE deleted = true;
+CREATE INDEX IF NOT EXISTS idx_users_deleted ON users (updated_at) WHERE deleted = true;
+CREATE INDEX IF NOT EXISTS idx_borrowing_records_deleted ON borrowing_records (updated_at) WHERE deleted = true;
+
+-- Archive tables have the columns of their live table, in the same order,
+-- followed by archived_at; the archive job copies rows with SELECT *. A column
+-- added to a live table must be added to its archive table in the same migration.
+-- No foreign keys: archived rows may reference rows that are archived later.
+
+CREATE TABLE IF NOT EXISTS books_archive (LIKE books);
+ALTER TABLE books_archive ADD COLUMN IF NOT EXISTS archived_at TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP;
+ALTER TABLE books_archive ADD PRIMARY KEY (id);
+
+CREATE TABLE IF NOT EXISTS users_archive (LIKE users);
+ALTER TABLE users_archive ADD COLUMN IF NOT EXISTS archived_at TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP;
+ALTER TABLE users_archive ADD PRIMARY KEY (id);
+
+CREATE TABLE IF NOT EXISTS borrowing_records_archive (LIKE borrowing_records);
+ALTER TABLE borrowing_records_archive ADD COLUMN IF NOT EXISTS archived_at TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP;
+ALTER TABLE borrowing_records_archive ADD PRIMARY KEY (id);
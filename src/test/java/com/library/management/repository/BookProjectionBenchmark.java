@@ -0,0 +1,88 @@
+package com.library.management.repository;
+
+import com.library.management.dto.BookDTO;
+import com.library.management.support.Benchmarks;
+import com.library.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Book Projection Benchmark
+ *
+ * Compares reading 1,000-book pages as BookDTO projections (BOOK_DTO_SELECT,
+ * findAllAsPage) with loading managed Book entities and copying them into
+ * BookDTOs, the way the listings used to work. Prints latency and heap
+ * allocated per page for both; the projection must allocate less.
+ *
+ * Pages read per path: -Dbenchmark.projection.pages (default 50).
+ */
+@Tag("benchmark")
+class BookProjectionBenchmark extends PostgresIntegrationTest {
+
+    private static final int PAGE_SIZE = 1_000;
+    private static final int WARMUPS = 10;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void projectionAllocatesLessThanEntities() {
+        int pages = Benchmarks.intProperty("benchmark.projection.pages", 50);
+        int catalogPages = 20;
+        testData.seedBooks(catalogPages * PAGE_SIZE);
+
+        Result entities = measure(pages, catalogPages, pageable ->
+                bookRepository.findAll(pageable).map(BookDTO::new).getContent());
+        Result projections = measure(pages, catalogPages, pageable ->
+                bookRepository.findAllAsPage(pageable).getContent());
+
+        System.out.printf("%n%-12s %10s %10s %14s%n", "1000 books", "p50 ms", "p99 ms", "KiB allocated");
+        print("entities", entities);
+        print("projection", projections);
+
+        assertThat(projections.bytesPerPage()).isLessThan(entities.bytesPerPage());
+    }
+
+    /**
+     * Read pages in one transaction each, cycling through the catalog
+     */
+    private Result measure(int pages, int catalogPages, Function<Pageable, List<BookDTO>> reader) {
+        AtomicInteger next = new AtomicInteger();
+        Runnable readPage = () -> transactionTemplate.executeWithoutResult(status -> {
+            Pageable pageable = PageRequest.of(next.getAndIncrement() % catalogPages, PAGE_SIZE, Sort.by("id"));
+            assertThat(reader.apply(pageable)).hasSize(PAGE_SIZE);
+        });
+
+        for (int i = 0; i < WARMUPS; i++) {
+            readPage.run();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        Benchmarks.Timings timings = Benchmarks.time(0, pages, readPage);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Result(timings, allocated / pages);
+    }
+
+    private static void print(String label, Result result) {
+        System.out.printf("%-12s %10.2f %10.2f %14d%n", label, result.timings().p50(), result.timings().p99(),
+                result.bytesPerPage() / 1024);
+    }
+
+    private record Result(Benchmarks.Timings timings, long bytesPerPage) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.library.management.repository;
+
+import com.library.management.model.Book;
+import com.library.management.model.BorrowingRecord;
+import com.library.management.model.User;
+import com.library.management.support.Benchmarks;
+import com.library.management.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Borrowing Record Bulk Insert Benchmark
+ *
+ * Inserts borrowing records with saveAll, one transaction per chunk, once with
+ * JDBC batching as configured (hibernate.jdbc.batch_size) and once with batching
+ * switched off for the session, and prints rows per second of both. Sequence
+ * IDs are what make the batches possible: an IDENTITY column would force one
+ * INSERT per row either way, so the batched run must prepare far fewer
+ * statements than rows.
+ *
+ * Rows per run: -Dbenchmark.insert.rows (default 100000), in chunks of
+ * -Dbenchmark.insert.chunk (default 1000).
+ */
+@Tag("benchmark")
+class BorrowingRecordBulkInsertBenchmark extends PostgresIntegrationTest {
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void batchedInsertsOutrunSingleInserts() {
+        int rows = Benchmarks.intProperty("benchmark.insert.rows", 100_000);
+        int chunk = Benchmarks.intProperty("benchmark.insert.chunk", 1_000);
+        List<User> users = testData.students(100);
+        List<Book> books = testData.books(100, 1);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Warm-up, not measured
+        insert(users, books, chunk, chunk, false);
+
+        statistics.clear();
+        double unbatched = insert(users, books, rows, chunk, false);
+        statistics.clear();
+        double batched = insert(users, books, rows, chunk, true);
+        long batchedStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("%n%d borrowing records in chunks of %d%n%-12s %10.0f rows/s%n%-12s %10.0f rows/s (%.1fx)%n",
+                rows, chunk, "unbatched", unbatched, "batched", batched, batched / unbatched);
+
+        Long stored = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM borrowing_records", Long.class);
+        assertThat(stored).isEqualTo(2L * rows + chunk);
+        // One INSERT per batch plus the sequence calls, not one per row
+        assertThat(batchedStatements).isLessThan(rows / 5);
+    }
+
+    /**
+     * @return rows inserted per second
+     */
+    private double insert(List<User> users, List<Book> books, int rows, int chunk, boolean batching) {
+        LocalDate returned = LocalDate.now().minusDays(1);
+        long start = System.nanoTime();
+        for (int from = 0; from < rows; from += chunk) {
+            int size = Math.min(chunk, rows - from);
+            int offset = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!batching) {
+                    entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+                }
+                List<BorrowingRecord> records = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    int n = offset + i;
+                    BorrowingRecord record = new BorrowingRecord();
+                    record.setUser(users.get(n % users.size()));
+                    record.setBook(books.get((n / users.size()) % books.size()));
+                    record.setBorrowedDate(returned.minusDays(14));
+                    record.setExpectedReturnDate(returned);
+                    record.setActualReturnDate(returned);
+                    record.setStatus(BorrowingRecord.BorrowingStatus.RETURNED);
+                    records.add(record);
+                }
+                borrowingRecordRepository.saveAll(records);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,130 @@
+package com.library.management.repository;
+
+import com.library.management.dto.BorrowingRecordDTO;
+import com.library.management.model.Book;
+import com.library.management.model.BorrowingRecord;
+import com.library.management.model.User;
+import com.library.management.service.BorrowingService;
+import com.library.management.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Borrowing Record Query Count Test
+ *
+ * BorrowingRecordDTO reads the user and the book of each record. Checks with
+ * Hibernate statistics that building the DTOs of a list costs the same number
+ * of statements whether the list holds one record or many, i.e. that the
+ * associations are fetched with the records instead of one by one.
+ */
+class BorrowingRecordQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int MANY = 30;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User fewLoansUser;
+    private User manyLoansUser;
+
+    @BeforeEach
+    void seed() {
+        List<User> users = testData.students(2);
+        fewLoansUser = users.get(0);
+        manyLoansUser = users.get(1);
+        List<Book> books = testData.books(MANY, 1);
+        LocalDate past = LocalDate.now().minusDays(3);
+
+        // Both users have more records than a page of 5, so pages need a count query either way
+        for (int i = 0; i < 6; i++) {
+            testData.loan(fewLoansUser, books.get(i), BorrowingRecord.BorrowingStatus.RETURNED, past);
+        }
+        testData.loan(fewLoansUser, books.get(6), BorrowingRecord.BorrowingStatus.OVERDUE, past);
+        for (Book book : books) {
+            testData.loan(manyLoansUser, book, BorrowingRecord.BorrowingStatus.OVERDUE, past);
+        }
+    }
+
+    @Test
+    void findByUserIdUsesOneStatementRegardlessOfSize() {
+        assertConstantStatements(1,
+                () -> toDTOs(borrowingRecordRepository.findByUserId(fewLoansUser.getId())),
+                () -> toDTOs(borrowingRecordRepository.findByUserId(manyLoansUser.getId())));
+    }
+
+    @Test
+    void activeAndOverdueListsUseOneStatementRegardlessOfSize() {
+        assertConstantStatements(1,
+                () -> toDTOs(borrowingRecordRepository.findActiveBorrowingRecordsByUserId(fewLoansUser.getId())),
+                () -> toDTOs(borrowingRecordRepository.findActiveBorrowingRecordsByUserId(manyLoansUser.getId())));
+
+        long overdue = statementsOf(() -> toDTOs(borrowingRecordRepository.findOverdueBorrowingRecords()));
+        long active = statementsOf(() -> toDTOs(borrowingRecordRepository.findActiveBorrowingRecords()));
+        assertThat(overdue).isEqualTo(1);
+        assertThat(active).isEqualTo(1);
+    }
+
+    @Test
+    void findByCriteriaUsesOneSelectAndOneCount() {
+        assertConstantStatements(2,
+                () -> borrowingRecordRepository.findByCriteria(fewLoansUser.getId(), null, null, PageRequest.of(0, 5))
+                        .map(BorrowingRecordDTO::new).getContent(),
+                () -> borrowingRecordRepository.findByCriteria(manyLoansUser.getId(), null, null, PageRequest.of(0, 25))
+                        .map(BorrowingRecordDTO::new).getContent());
+    }
+
+    @Test
+    void userHistoryPageUsesOneSelectAndOneCount() {
+        assertConstantStatements(2,
+                () -> borrowingService.getBorrowingRecordsByUser(fewLoansUser.getId(), PageRequest.of(0, 5)).getContent(),
+                () -> borrowingService.getBorrowingRecordsByUser(manyLoansUser.getId(), PageRequest.of(0, 25)).getContent());
+    }
+
+    /**
+     * Check that a small and a large result cost the same, expected number of statements
+     */
+    private void assertConstantStatements(long expected, Supplier<Collection<?>> small, Supplier<Collection<?>> large) {
+        long smallStatements = statementsOf(small);
+        long largeStatements = statementsOf(large);
+        assertThat(smallStatements).as("statements for the small result").isEqualTo(expected);
+        assertThat(largeStatements).as("statements for the large result").isEqualTo(expected);
+    }
+
+    /**
+     * Count the JDBC statements prepared while building a result in one transaction
+     */
+    private long statementsOf(Supplier<? extends Collection<?>> result) {
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Collection<?> items = transactionTemplate.execute(status -> result.get());
+        assertThat(items).isNotEmpty();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static List<BorrowingRecordDTO> toDTOs(List<BorrowingRecord> records) {
+        return records.stream().map(BorrowingRecordDTO::new).toList();
+    }
+}
@@ -0,0 +1,149 @@
+package com.library.management.repository;
+
+import com.library.management.model.Book;
+import com.library.management.model.BorrowingRecord;
+import com.library.management.model.User;
+import com.library.management.support.PostgresIntegrationTest;
+import com.library.management.support.QueryPlans;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query Plan Verifier Test
+ *
+ * Calls the hot repository queries against a seeded database, captures the SQL
+ * Hibernate actually sends, and checks that each statement is answered through
+ * one of the indexes designed for it (see V10__composite_query_indexes.sql) and
+ * never by a sequential scan. A query whose SQL changes is checked as it is now,
+ * not as it was written down once.
+ */
+class QueryPlanVerifierTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private QueryPlans queryPlans;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Book book;
+
+    private final List<String> failures = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        List<User> users = testData.students(20);
+        List<Book> books = testData.books(20, 3);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 100; i++) {
+            BorrowingRecord.BorrowingStatus status = BorrowingRecord.BorrowingStatus.values()[i % 3];
+            testData.loan(users.get(i % 20), books.get(i / 5), status, today.plusDays(i % 30 - 15));
+        }
+        user = users.get(0);
+        book = books.get(0);
+    }
+
+    @Test
+    void borrowingRecordQueriesUseTheirIndexes() {
+        LocalDate today = LocalDate.now();
+        check("BorrowingRecordRepository.findByUserAndStatus", "borrowing_records",
+                () -> borrowingRecordRepository.findByUserAndStatus(user, BorrowingRecord.BorrowingStatus.BORROWED),
+                "idx_borrowing_records_user_status", "idx_borrowing_records_open_loans");
+        check("BorrowingRecordRepository.findByBookAndStatus", "borrowing_records",
+                () -> borrowingRecordRepository.findByBookAndStatus(book, BorrowingRecord.BorrowingStatus.BORROWED),
+                "idx_borrowing_records_book_status", "idx_borrowing_records_open_loans_by_book");
+        check("BorrowingRecordRepository.existsOpenLoanByUserIdAndBookId", "borrowing_records",
+                () -> borrowingRecordRepository.existsOpenLoanByUserIdAndBookId(user.getId(), book.getId()),
+                "idx_borrowing_records_open_loans", "idx_borrowing_records_user_status");
+        check("BorrowingRecordRepository.existsOpenLoanByBookId", "borrowing_records",
+                () -> borrowingRecordRepository.existsOpenLoanByBookId(book.getId()),
+                "idx_borrowing_records_open_loans_by_book", "idx_borrowing_records_book_status");
+        check("BorrowingRecordRepository.findByUserIdOrderByBorrowedDateDesc", "borrowing_records",
+                () -> borrowingRecordRepository.findByUserIdOrderByBorrowedDateDesc(user.getId(), PageRequest.of(0, 20)),
+                "idx_borrowing_records_user_borrowed_date");
+        check("BorrowingRecordRepository.findByBookIdOrderByBorrowedDateDesc", "borrowing_records",
+                () -> borrowingRecordRepository.findByBookIdOrderByBorrowedDateDesc(book.getId(), PageRequest.of(0, 20)),
+                "idx_borrowing_records_book_borrowed_date");
+        check("BorrowingRecordRepository.findOverdueBorrowingRecords", "borrowing_records",
+                () -> borrowingRecordRepository.findOverdueBorrowingRecords(),
+                "idx_borrowing_records_status_due_date");
+        check("BorrowingRecordRepository.findBorrowingRecordsDueSoon", "borrowing_records",
+                () -> borrowingRecordRepository.findBorrowingRecordsDueSoon(today.plusDays(3)),
+                "idx_borrowing_records_status_due_date");
+        check("BorrowingRecordRepository.countBorrowsPerUserSince", "borrowing_records",
+                () -> borrowingRecordRepository.countBorrowsPerUserSince(today.minusDays(30), PageRequest.of(0, 100)),
+                "idx_borrowing_records_borrowed_date_user");
+        check("BorrowingRecordRepository.findBorrowingRecordsWithOutstandingFines", "borrowing_records",
+                () -> borrowingRecordRepository.findBorrowingRecordsWithOutstandingFines(),
+                "idx_borrowing_records_outstanding_fines");
+        check("BorrowingRecordRepository.findFineAccrualChunkEnd", "borrowing_records",
+                () -> borrowingRecordRepository.findFineAccrualChunkEnd(0L, today, 1000),
+                "idx_borrowing_records_open_loans_by_id");
+
+        assertThat(failures).isEmpty();
+    }
+
+    @Test
+    void bookQueriesUseTheirIndexes() {
+        check("BookRepository.findAvailableBooks", "books",
+                () -> bookRepository.findAvailableBooks(),
+                "idx_books_status_copies_available");
+        check("BookRepository.findBooksNeedingRestock", "books",
+                () -> bookRepository.findBooksNeedingRestock(),
+                "idx_books_status_copies_available");
+        check("BookRepository.findByIsbn", "books",
+                () -> bookRepository.findByIsbn(book.getIsbn()),
+                "uk_books_isbn_live");
+        check("BookRepository.findRecentAfter", "books",
+                () -> bookRepository.findRecentAfter(LocalDateTime.now(), Long.MAX_VALUE, PageRequest.of(0, 20)),
+                "idx_books_created_at");
+
+        assertThat(failures).isEmpty();
+    }
+
+    @Test
+    void userQueriesUseTheirIndexes() {
+        check("UserRepository.findUsersWhoCanBorrow", "users",
+                () -> userRepository.findUsersWhoCanBorrow(),
+                "idx_users_status_role");
+        check("UserRepository.findByEmail", "users",
+                () -> userRepository.findByEmail(user.getEmail()),
+                "uk_users_email_live");
+        check("UserRepository.findByUsername", "users",
+                () -> userRepository.findByUsername(user.getUsername()),
+                "uk_users_username_live");
+        check("UserRepository.findRecentAfter", "users",
+                () -> userRepository.findRecentAfter(LocalDateTime.now(), Long.MAX_VALUE, PageRequest.of(0, 20)),
+                "idx_users_created_at");
+
+        assertThat(failures).isEmpty();
+    }
+
+    /**
+     * Explain the statement a repository call sends for a table and record a
+     * failure unless one of the expected indexes answers it
+     */
+    private void check(String query, String table, Runnable call, String... expectedIndexes) {
+        QueryPlans.Plan plan = queryPlans.explainFirst(table, call);
+        if (!plan.usesAnyOf(Set.of(expectedIndexes))) {
+            failures.add(query + " uses " + plan.indexes() + " and scans " + plan.sequentialScans()
+                    + " instead of one of " + Set.of(expectedIndexes) + "\n" + plan.sql() + "\n" + plan.json());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.library.management.repository;
+
+import com.library.management.support.PostgresIntegrationTest;
+import com.library.management.support.QueryPlans;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Trigram Search Plan Test
+ *
+ * The ContainingIgnoreCase finders search with a leading wildcard, which a
+ * B-tree index cannot answer. Checks through EXPLAIN that the SQL they send
+ * is answered by the pg_trgm GIN indexes of V3__trigram_search_indexes.sql and
+ * never by a sequential scan.
+ */
+class TrigramSearchPlanTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private QueryPlans queryPlans;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void seed() {
+        testData.seedBooks(1000);
+        testData.students(50);
+    }
+
+    @Test
+    void bookFindersUseTrigramIndexes() {
+        assertUses(queryPlans.explainFirst("books",
+                () -> bookRepository.findByTitleContainingIgnoreCase(LikeTerms.escape("river"))),
+                "idx_books_title_trgm");
+        assertUses(queryPlans.explainFirst("books",
+                () -> bookRepository.findByAuthorContainingIgnoreCase(LikeTerms.escape("author 4"))),
+                "idx_books_author_trgm");
+        assertUses(queryPlans.explainFirst("books",
+                () -> bookRepository.findByCategoryContainingIgnoreCase(LikeTerms.escape("fict"))),
+                "idx_books_category_trgm");
+        assertUses(queryPlans.explainFirst("books",
+                () -> bookRepository.findByPublisherContainingIgnoreCase(LikeTerms.escape("publisher 1"))),
+                "idx_books_publisher_trgm");
+    }
+
+    @Test
+    void multiColumnSearchCombinesTrigramIndexes() {
+        QueryPlans.Plan plan = queryPlans.explainFirst("books",
+                () -> bookRepository.searchBooks(LikeTerms.escape("harbor"), PageRequest.of(0, 20)));
+
+        assertThat(plan.sequentialScans()).as(plan.json()).isEmpty();
+        assertThat(plan.indexes()).as(plan.json()).contains("idx_books_title_trgm", "idx_books_author_trgm",
+                "idx_books_category_trgm", "idx_books_publisher_trgm", "idx_books_description_trgm");
+    }
+
+    @Test
+    void userFindersUseTrigramIndexes() {
+        assertUses(queryPlans.explainFirst("users",
+                () -> userRepository.findByFirstNameContainingIgnoreCase(LikeTerms.escape("read"))),
+                "idx_users_first_name_trgm");
+        assertUses(queryPlans.explainFirst("users",
+                () -> userRepository.findByLastNameContainingIgnoreCase(LikeTerms.escape("number1"))),
+                "idx_users_last_name_trgm");
+    }
+
+    @Test
+    void escapedWildcardsMatchLiterally() {
+        testData.book(1);
+        assertThat(bookRepository.findByTitleContainingIgnoreCase(LikeTerms.escape("%"))).isEmpty();
+        assertThat(bookRepository.findByTitleContainingIgnoreCase(LikeTerms.escape("_"))).isEmpty();
+        assertThat(bookRepository.findByTitleContainingIgnoreCase(LikeTerms.escape("test book"))).isNotEmpty();
+    }
+
+    private static void assertUses(QueryPlans.Plan plan, String index) {
+        assertThat(plan.usesAnyOf(Set.of(index)))
+                .as("%s should use %s:%n%s%n%s", plan.sql(), index, plan.json(), plan.indexes())
+                .isTrue();
+    }
+}
@@ -0,0 +1,115 @@
+package com.library.management.service;
+
+import com.library.management.dto.BookBulkDeleteResultDTO;
+import com.library.management.model.Book;
+import com.library.management.model.BorrowingRecord;
+import com.library.management.model.User;
+import com.library.management.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Book Delete Query Count Test
+ *
+ * Deleting a book must not depend on the size of its borrowing history, and
+ * deleting many books must not depend on how many there are. Checks with
+ * Hibernate statistics that deleteBook and deleteBooks issue the same number
+ * of statements for small and large inputs, and never load borrowing records.
+ */
+class BookDeleteQueryCountTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User reader;
+
+    @BeforeEach
+    void seed() {
+        reader = testData.student();
+    }
+
+    @Test
+    void deleteBookIgnoresTheBorrowingHistory() {
+        Book quiet = testData.book(1);
+        Book popular = testData.book(1);
+        returnedLoans(quiet, 1);
+        returnedLoans(popular, 50);
+
+        long quietStatements = statementsOf(() -> bookService.deleteBook(quiet.getId()));
+        long popularStatements = statementsOf(() -> bookService.deleteBook(popular.getId()));
+
+        assertThat(popularStatements).isEqualTo(quietStatements);
+        assertThat(borrowingRecordsLoaded()).isZero();
+        assertThat(isDeleted(quiet)).isTrue();
+        assertThat(isDeleted(popular)).isTrue();
+    }
+
+    @Test
+    void deleteBooksIssuesTheSameStatementsForAnyNumberOfBooks() {
+        List<Book> few = testData.books(2, 1);
+        List<Book> many = testData.books(50, 1);
+        Book borrowed = many.get(0);
+        testData.loan(reader, borrowed, BorrowingRecord.BorrowingStatus.BORROWED, LocalDate.now().plusDays(7));
+        many.forEach(book -> returnedLoans(book, 1));
+
+        long fewStatements = statementsOf(() -> bookService.deleteBooks(ids(few)));
+        BookBulkDeleteResultDTO[] result = new BookBulkDeleteResultDTO[1];
+        long manyStatements = statementsOf(() -> result[0] = bookService.deleteBooks(ids(many)));
+
+        assertThat(manyStatements).isEqualTo(fewStatements);
+        assertThat(borrowingRecordsLoaded()).isZero();
+        assertThat(result[0].getRequested()).isEqualTo(50);
+        assertThat(result[0].getDeleted()).isEqualTo(49);
+        assertThat(result[0].getWithOpenLoans()).containsExactly(borrowed.getId());
+        assertThat(isDeleted(borrowed)).isFalse();
+    }
+
+    private void returnedLoans(Book book, int count) {
+        for (int i = 0; i < count; i++) {
+            testData.loan(reader, book, BorrowingRecord.BorrowingStatus.RETURNED, LocalDate.now().minusDays(30 + i));
+        }
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Count the JDBC statements prepared by an action
+     */
+    private long statementsOf(Runnable action) {
+        entityManagerFactory.getCache().evictAll();
+        statistics().clear();
+        action.run();
+        return statistics().getPrepareStatementCount();
+    }
+
+    private long borrowingRecordsLoaded() {
+        return statistics().getEntityStatistics(BorrowingRecord.class.getName()).getLoadCount();
+    }
+
+    private boolean isDeleted(Book book) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT deleted FROM books WHERE id = ?", Boolean.class, book.getId()));
+    }
+
+    private static List<Long> ids(List<Book> books) {
+        return books.stream().map(Book::getId).toList();
+    }
+}
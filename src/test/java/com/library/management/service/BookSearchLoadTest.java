@@ -0,0 +1,77 @@
+package com.library.management.service;
+
+import com.library.management.config.LibraryProperties;
+import com.library.management.support.Benchmarks;
+import com.library.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Book Search Load Test
+ *
+ * Compares the latency of searchBooks with the LIKE predicates
+ * (library.search.mode=LIKE) and with the tsvector/GIN index (FULL_TEXT) on
+ * catalogs of growing size, cycling through terms that match a few percent of
+ * the books. Prints p50 and p99 of each path per size.
+ *
+ * Catalog sizes: -Dbenchmark.search.sizes (default 100000; add 1000000 for the
+ * full comparison). Searches per path and size: -Dbenchmark.search.iterations
+ * (default 200).
+ */
+@Tag("benchmark")
+class BookSearchLoadTest extends PostgresIntegrationTest {
+
+    private static final List<String> TERMS = List.of(
+            "river", "machine", "harbor", "crystal", "voyage", "signal", "winter", "island");
+
+    private static final int WARMUPS = 20;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private LibraryProperties properties;
+
+    private LibraryProperties.SearchMode originalMode;
+
+    @AfterEach
+    void restoreMode() {
+        if (originalMode != null) {
+            properties.getSearch().setMode(originalMode);
+        }
+    }
+
+    @Test
+    void likeVersusFullTextLatency() {
+        originalMode = properties.getSearch().getMode();
+        List<Integer> sizes = Benchmarks.intListProperty("benchmark.search.sizes", "100000")
+                .stream().sorted().toList();
+        int iterations = Benchmarks.intProperty("benchmark.search.iterations", 200);
+
+        System.out.printf("%n%10s %-10s %10s %10s%n", "books", "mode", "p50 ms", "p99 ms");
+        int seeded = 0;
+        for (int size : sizes) {
+            testData.seedBooks(size - seeded);
+            seeded = size;
+
+            for (LibraryProperties.SearchMode mode : List.of(
+                    LibraryProperties.SearchMode.LIKE, LibraryProperties.SearchMode.FULL_TEXT)) {
+                properties.getSearch().setMode(mode);
+                assertThat(bookService.searchBooks(TERMS.get(0), PageRequest.of(0, 20)).getContent()).isNotEmpty();
+
+                AtomicInteger next = new AtomicInteger();
+                Benchmarks.Timings timings = Benchmarks.time(WARMUPS, iterations, () -> bookService.searchBooks(
+                        TERMS.get(next.getAndIncrement() % TERMS.size()), PageRequest.of(0, 20)));
+                System.out.printf("%10d %-10s %10.2f %10.2f%n", size, mode, timings.p50(), timings.p99());
+            }
+        }
+    }
+}
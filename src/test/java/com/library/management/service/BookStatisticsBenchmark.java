@@ -0,0 +1,85 @@
+package com.library.management.service;
+
+import com.library.management.config.LibraryProperties;
+import com.library.management.service.statistics.BookStatisticsReconciler;
+import com.library.management.support.Benchmarks;
+import com.library.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Book Statistics Benchmark
+ *
+ * Times getBookStatistics as the books table grows, with the aggregate query
+ * (library.statistics.mode=QUERY) and with the in-memory counters (COUNTERS).
+ * The query never loads a Book entity, so it grows with the scan only; the
+ * counters must stay flat.
+ *
+ * Catalog sizes: -Dbenchmark.statistics.sizes (default 10000,100000,300000).
+ */
+@Tag("benchmark")
+class BookStatisticsBenchmark extends PostgresIntegrationTest {
+
+    private static final int WARMUPS = 5;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookStatisticsReconciler reconciler;
+
+    @Autowired
+    private LibraryProperties properties;
+
+    private LibraryProperties.StatisticsMode originalMode;
+
+    @AfterEach
+    void restoreMode() {
+        if (originalMode != null) {
+            properties.getStatistics().setMode(originalMode);
+        }
+    }
+
+    @Test
+    void latencyAsTheCatalogGrows() {
+        originalMode = properties.getStatistics().getMode();
+        List<Integer> sizes = Benchmarks.intListProperty("benchmark.statistics.sizes", "10000,100000,300000")
+                .stream().sorted().toList();
+        List<Double> counterLatencies = new ArrayList<>();
+
+        System.out.printf("%n%10s %14s %14s %17s%n", "books", "query p50 ms", "query p99 ms", "counters p50 ms");
+        int seeded = 0;
+        for (int size : sizes) {
+            testData.seedBooks(size - seeded);
+            seeded = size;
+
+            properties.getStatistics().setMode(LibraryProperties.StatisticsMode.QUERY);
+            BookService.BookStatisticsDTO fromQuery = bookService.getBookStatistics();
+            Benchmarks.Timings query = Benchmarks.time(WARMUPS, ITERATIONS, bookService::getBookStatistics);
+
+            properties.getStatistics().setMode(LibraryProperties.StatisticsMode.COUNTERS);
+            reconciler.reconcile();
+            BookService.BookStatisticsDTO fromCounters = bookService.getBookStatistics();
+            Benchmarks.Timings counters = Benchmarks.time(WARMUPS, ITERATIONS, bookService::getBookStatistics);
+
+            assertThat(fromQuery.getTotalBooks()).isEqualTo(size);
+            assertThat(fromCounters.getTotalBooks()).isEqualTo(size);
+            assertThat(fromCounters.getBorrowedBooks()).isEqualTo(fromQuery.getBorrowedBooks());
+            counterLatencies.add(counters.p50());
+
+            System.out.printf("%10d %14.2f %14.2f %17.3f%n", size, query.p50(), query.p99(), counters.p50());
+        }
+
+        // Flat: the largest catalog is served about as fast as the smallest
+        assertThat(counterLatencies.get(counterLatencies.size() - 1))
+                .isLessThanOrEqualTo(Math.max(1.0, 3 * counterLatencies.get(0)));
+    }
+}
@@ -0,0 +1,124 @@
+package com.library.management.service;
+
+import com.library.management.config.LibraryProperties;
+import com.library.management.dto.BorrowingRecordDTO;
+import com.library.management.model.Book;
+import com.library.management.model.User;
+import com.library.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Borrowing Concurrency Test
+ *
+ * 200 borrowers check out the same title at the same moment, in each inventory
+ * mode. The title has fewer copies than borrowers, so copies run out while
+ * checkouts are still racing. Whatever the outcome of each checkout, the copy
+ * count, the borrowing records and the borrowing summaries must agree: no copy
+ * is sold twice and no decrement is lost.
+ */
+class BorrowingConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int BORROWERS = 200;
+    private static final int COPIES = 100;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private LibraryProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LibraryProperties.InventoryMode originalMode;
+
+    @AfterEach
+    void restoreMode() {
+        if (originalMode != null) {
+            properties.getInventory().setMode(originalMode);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(LibraryProperties.InventoryMode.class)
+    void concurrentBorrowersNeitherOversellNorLoseUpdates(LibraryProperties.InventoryMode mode) throws Exception {
+        originalMode = properties.getInventory().getMode();
+        properties.getInventory().setMode(mode);
+        Book book = testData.book(COPIES);
+        List<User> borrowers = testData.students(BORROWERS);
+        LocalDate dueDate = LocalDate.now().plusDays(7);
+
+        ExecutorService executor = Executors.newFixedThreadPool(BORROWERS);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+        for (User borrower : borrowers) {
+            outcomes.add(executor.submit(() -> {
+                start.await();
+                try {
+                    borrowingService.borrowBook(new BorrowingRecordDTO.CreateDTO(
+                            borrower.getId(), book.getId(), dueDate, null));
+                    return true;
+                } catch (IllegalStateException e) {
+                    // No copy left
+                    return false;
+                } catch (OptimisticLockingFailureException e) {
+                    // Retries exhausted (optimistic mode only)
+                    if (mode != LibraryProperties.InventoryMode.OPTIMISTIC) {
+                        unexpected.add(e);
+                    }
+                    return false;
+                } catch (RuntimeException e) {
+                    unexpected.add(e);
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int borrowed = 0;
+        for (Future<Boolean> outcome : outcomes) {
+            if (outcome.get(2, TimeUnit.MINUTES)) {
+                borrowed++;
+            }
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(unexpected).isEmpty();
+        assertThat(borrowed).isPositive().isLessThanOrEqualTo(COPIES);
+        if (mode != LibraryProperties.InventoryMode.OPTIMISTIC) {
+            // Nothing is given up on, so every copy is lent
+            assertThat(borrowed).isEqualTo(COPIES);
+        }
+
+        Integer copiesAvailable = jdbcTemplate.queryForObject(
+                "SELECT copies_available FROM books WHERE id = ?", Integer.class, book.getId());
+        Long openLoans = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM borrowing_records WHERE book_id = ? AND status = 'BORROWED' AND deleted = false",
+                Long.class, book.getId());
+        Long countedLoans = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(active_loans), 0) FROM user_borrowing_summary", Long.class);
+
+        assertThat(copiesAvailable).isEqualTo(COPIES - borrowed);
+        assertThat(openLoans).isEqualTo(borrowed);
+        assertThat(countedLoans).isEqualTo(borrowed);
+    }
+}
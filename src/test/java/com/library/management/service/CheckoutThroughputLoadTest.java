@@ -0,0 +1,108 @@
+package com.library.management.service;
+
+import com.library.management.dto.BorrowingRecordDTO;
+import com.library.management.model.Book;
+import com.library.management.model.User;
+import com.library.management.support.Benchmarks;
+import com.library.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checkout Throughput Load Test
+ *
+ * Many users check out books in parallel through BorrowingService.borrowBook,
+ * each user once, spread over enough titles and copies that no checkout is
+ * refused. After a warm-up round the test measures checkouts per second and
+ * asserts the target.
+ *
+ * Settings: -Dbenchmark.checkout.users (default 10000), .books (500),
+ * .threads (16, keep below the connection pool size) and .target (2000
+ * checkouts per second).
+ */
+@Tag("benchmark")
+class CheckoutThroughputLoadTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sustainsTheTargetCheckoutRate() throws Exception {
+        int users = Benchmarks.intProperty("benchmark.checkout.users", 10_000);
+        int bookCount = Benchmarks.intProperty("benchmark.checkout.books", 500);
+        int threads = Benchmarks.intProperty("benchmark.checkout.threads", 16);
+        int target = Benchmarks.intProperty("benchmark.checkout.target", 2_000);
+        int warmupUsers = Math.max(threads, users / 10);
+
+        // Enough copies for the warm-up and the measured round together
+        int copies = (users + warmupUsers) / bookCount + 1;
+        List<Book> books = testData.books(bookCount, copies);
+        List<User> warmupBorrowers = testData.students(warmupUsers);
+        List<User> borrowers = testData.students(users);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            checkOut(executor, warmupBorrowers, books);
+
+            long start = System.nanoTime();
+            int completed = checkOut(executor, borrowers, books);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double rate = completed / seconds;
+
+            System.out.printf("%n%d checkouts on %d threads in %.2f s: %.0f checkouts/s (target %d)%n",
+                    completed, threads, seconds, rate, target);
+            assertThat(completed).isEqualTo(users);
+            assertThat(rate).isGreaterThanOrEqualTo(target);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Long openLoans = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM borrowing_records WHERE status = 'BORROWED' AND deleted = false", Long.class);
+        assertThat(openLoans).isEqualTo(users + warmupUsers);
+    }
+
+    /**
+     * Check out one book for every borrower, spread round-robin over the books
+     *
+     * @return number of successful checkouts
+     */
+    private int checkOut(ExecutorService executor, List<User> borrowers, List<Book> books) throws Exception {
+        LocalDate dueDate = LocalDate.now().plusDays(14);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Future<?>> checkouts = new ArrayList<>(borrowers.size());
+        for (int i = 0; i < borrowers.size(); i++) {
+            User borrower = borrowers.get(i);
+            Book book = books.get(i % books.size());
+            checkouts.add(executor.submit(() -> {
+                try {
+                    borrowingService.borrowBook(new BorrowingRecordDTO.CreateDTO(
+                            borrower.getId(), book.getId(), dueDate, null));
+                } catch (RuntimeException e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        for (Future<?> checkout : checkouts) {
+            checkout.get(10, TimeUnit.MINUTES);
+        }
+        assertThat(failures).isEmpty();
+        return borrowers.size() - failures.size();
+    }
+}
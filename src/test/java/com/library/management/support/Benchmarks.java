@@ -0,0 +1,85 @@
+package com.library.management.support;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmarks
+ *
+ * Helpers shared by the benchmarks and load tests (@Tag("benchmark"), run with
+ * mvn test -Pbenchmarks): settings read from system properties, so a run can
+ * be scaled with -D, and latency percentiles of a repeated action.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    /**
+     * @param name system property name
+     * @param defaultValue value when the property is not set
+     * @return the property as an int
+     */
+    public static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * @param name system property name, a comma-separated list such as 10000,100000
+     * @param defaultValue value when the property is not set
+     * @return the property as ints, in the given order
+     */
+    public static List<Integer> intListProperty(String name, String defaultValue) {
+        return Arrays.stream(System.getProperty(name, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .map(Integer::valueOf)
+                .toList();
+    }
+
+    /**
+     * Time an action repeatedly, after untimed warm-up runs
+     *
+     * @param warmups untimed runs
+     * @param iterations timed runs
+     * @param action the action
+     * @return the timings
+     */
+    public static Timings time(int warmups, int iterations, Runnable action) {
+        for (int i = 0; i < warmups; i++) {
+            action.run();
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            action.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new Timings(nanos);
+    }
+
+    /**
+     * Durations of the timed runs of an action, sorted
+     */
+    public record Timings(long[] nanos) {
+
+        /**
+         * @param percentile between 0 and 100
+         * @return the duration at that percentile (nearest rank), in milliseconds
+         */
+        public double percentileMillis(double percentile) {
+            int rank = (int) Math.ceil(percentile / 100.0 * nanos.length);
+            return nanos[Math.max(0, Math.min(nanos.length - 1, rank - 1))] / 1e6;
+        }
+
+        public double p50() {
+            return percentileMillis(50);
+        }
+
+        public double p99() {
+            return percentileMillis(99);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.library.management.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * PostgreSQL Integration Test Base
+ *
+ * Starts the whole application against one PostgreSQL container shared by all
+ * test classes, migrated by Flyway at context startup. The container is
+ * started once per JVM rather than per class, so the cached Spring context
+ * keeps a live database. Tests are skipped when no Docker daemon is available.
+ *
+ * Every test starts from empty tables (see TestData.clear).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import({TestData.class, QueryPlans.class})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("library_db");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @Autowired
+    protected TestData testData;
+
+    @BeforeEach
+    void clearTables() {
+        testData.clear();
+    }
+}
@@ -0,0 +1,131 @@
+package com.library.management.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Query Plans
+ *
+ * Explains SQL captured from Hibernate (see SqlCapture) and reports which
+ * indexes the plan uses and which tables it reads sequentially.
+ *
+ * The captured SQL still has its JDBC placeholders. They are numbered and the
+ * statement is explained with GENERIC_PLAN (PostgreSQL 16), which plans it as
+ * a prepared statement without argument values, as a cached plan would be.
+ *
+ * On a small test dataset PostgreSQL rightly prefers sequential scans, which
+ * says nothing about production volumes. Sequential scans are therefore
+ * disabled for the EXPLAIN: the planner then falls back to one only when no
+ * index can answer the query at all.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class QueryPlans {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Run an action and explain the first statement it sends for a table
+     *
+     * @param table table the statement must read (e.g. "borrowing_records")
+     * @param action the action, typically one repository call
+     * @return the plan of that statement
+     */
+    public Plan explainFirst(String table, Runnable action) {
+        List<String> statements = SqlCapture.capture(action);
+        String sql = statements.stream()
+                .filter(statement -> statement.toLowerCase(Locale.ROOT).contains(" from " + table))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No statement reads " + table + ": " + statements));
+        return explain(sql);
+    }
+
+    /**
+     * Explain one statement
+     *
+     * @param sql the statement, with JDBC placeholders
+     * @return its plan
+     */
+    public Plan explain(String sql) {
+        String json = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForObject("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numberPlaceholders(sql),
+                    String.class);
+        });
+
+        Set<String> indexes = new LinkedHashSet<>();
+        Set<String> sequentialScans = new LinkedHashSet<>();
+        try {
+            collect(objectMapper.readTree(json).path(0).path("Plan"), indexes, sequentialScans);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable plan for " + sql, e);
+        }
+        return new Plan(sql, indexes, sequentialScans, json);
+    }
+
+    /**
+     * Replace the JDBC placeholders outside string literals by $1, $2, ...
+     */
+    static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean quoted = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    /**
+     * Walk a plan tree and collect the used indexes and the sequentially scanned tables
+     */
+    private static void collect(JsonNode node, Set<String> indexes, Set<String> sequentialScans) {
+        if (node.hasNonNull("Index Name")) {
+            indexes.add(node.get("Index Name").asText());
+        }
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            sequentialScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, indexes, sequentialScans);
+        }
+    }
+
+    /**
+     * Plan of one statement
+     *
+     * @param sql the explained statement
+     * @param indexes index names found in the plan
+     * @param sequentialScans tables read by a sequential scan
+     * @param json the plan as returned by EXPLAIN (FORMAT JSON)
+     */
+    public record Plan(String sql, Set<String> indexes, Set<String> sequentialScans, String json) {
+
+        /**
+         * @param expected index names of which at least one must be used
+         * @return true if an expected index is used and nothing is scanned sequentially
+         */
+        public boolean usesAnyOf(Set<String> expected) {
+            return sequentialScans.isEmpty() && indexes.stream().anyMatch(expected::contains);
+        }
+    }
+}
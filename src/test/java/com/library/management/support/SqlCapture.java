@@ -0,0 +1,45 @@
+package com.library.management.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL Capture
+ *
+ * Hibernate statement inspector (hibernate.session_factory.statement_inspector
+ * in application-test.properties) that records the SQL of every statement
+ * Hibernate prepares on the current thread while a capture is running. The
+ * statements are left unchanged.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    /**
+     * Run an action and return the SQL Hibernate prepared for it on this thread
+     *
+     * @param action the action, typically one repository call
+     * @return the statements in execution order
+     */
+    public static List<String> capture(Runnable action) {
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,196 @@
+package com.library.management.support;
+
+import com.library.management.model.Book;
+import com.library.management.model.BorrowingRecord;
+import com.library.management.model.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.BorrowingRecordRepository;
+import com.library.management.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test Data
+ *
+ * Creates valid users, books and borrowing records for the integration tests,
+ * either one by one through the repositories or, for benchmark volumes, with
+ * set-based INSERTs. Every name, email, username and ISBN is unique within
+ * the JVM.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class TestData {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private static final String[] WORDS = {
+            "river", "empire", "garden", "winter", "signal", "harbor", "machine", "shadow",
+            "silver", "forest", "letter", "island", "theory", "voyage", "crystal", "market"
+    };
+
+    private static final String[] CATEGORIES = {"Fiction", "Science", "History", "Poetry", "Computing"};
+
+    private final UserRepository userRepository;
+    private final BookRepository bookRepository;
+    private final BorrowingRecordRepository borrowingRecordRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+
+    /**
+     * @return a new active student, saved
+     */
+    public User student() {
+        return userRepository.save(newUser(User.UserRole.STUDENT));
+    }
+
+    /**
+     * @param count number of students
+     * @return new active students, saved
+     */
+    public List<User> students(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(newUser(User.UserRole.STUDENT));
+        }
+        return userRepository.saveAll(users);
+    }
+
+    /**
+     * @param copies total copies, all available
+     * @return a new book, saved
+     */
+    public Book book(int copies) {
+        return bookRepository.save(newBook(copies));
+    }
+
+    /**
+     * @param count number of books
+     * @param copies total copies of each book, all available
+     * @return new books, saved
+     */
+    public List<Book> books(int count, int copies) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books.add(newBook(copies));
+        }
+        return bookRepository.saveAll(books);
+    }
+
+    /**
+     * Save a borrowing record directly, without the borrowing rules or copy counts
+     *
+     * @param user the borrower
+     * @param book the book
+     * @param status BORROWED, OVERDUE or RETURNED
+     * @param expectedReturnDate due date
+     * @return the saved record
+     */
+    public BorrowingRecord loan(User user, Book book, BorrowingRecord.BorrowingStatus status,
+                                LocalDate expectedReturnDate) {
+        BorrowingRecord record = new BorrowingRecord();
+        record.setUser(user);
+        record.setBook(book);
+        record.setBorrowedDate(expectedReturnDate.minusDays(14));
+        record.setExpectedReturnDate(expectedReturnDate);
+        record.setStatus(status);
+        if (status == BorrowingRecord.BorrowingStatus.RETURNED) {
+            record.setActualReturnDate(expectedReturnDate);
+        }
+        return borrowingRecordRepository.save(record);
+    }
+
+    /**
+     * Insert books with one set-based statement
+     *
+     * One book in ten has no copy left and is BORROWED; titles, authors and
+     * descriptions are drawn from a small vocabulary so text searches match a
+     * realistic fraction of the rows.
+     *
+     * @param count number of books
+     */
+    public void seedBooks(int count) {
+        long offset = SEQUENCE.getAndAdd(count);
+        jdbcTemplate.update("""
+                INSERT INTO books (id, created_at, updated_at, deleted, version, title, author, isbn, publisher,
+                                   publication_date, category, pages, price, description, copies_available,
+                                   total_copies, status, language)
+                SELECT nextval('books_seq'), LOCALTIMESTAMP - g * INTERVAL '1 second', NULL, false, 0,
+                       initcap(w.words[1 + g % 16]) || ' ' || w.words[1 + (g / 16) % 16] || ' ' || (? + g),
+                       'Author ' || (g % 5000),
+                       '978' || lpad((? + g)::text, 10, '0'),
+                       'Publisher ' || (g % 200),
+                       DATE '1990-01-01' + (g % 12000),
+                       c.categories[1 + g % 5],
+                       100 + g % 900,
+                       9.99 + g % 50,
+                       'A story of the ' || w.words[1 + (g / 7) % 16] || ' and the ' || w.words[1 + (g / 3) % 16],
+                       CASE WHEN g % 10 = 0 THEN 0 ELSE 3 END,
+                       3,
+                       CASE WHEN g % 10 = 0 THEN 'BORROWED' ELSE 'AVAILABLE' END,
+                       'English'
+                FROM generate_series(1, ?) g,
+                     (SELECT ?::text[] AS words) w,
+                     (SELECT ?::text[] AS categories) c
+                """, offset, offset, count, WORDS, CATEGORIES);
+        jdbcTemplate.execute("ANALYZE books");
+    }
+
+    /**
+     * Empty all tables and caches
+     */
+    public void clear() {
+        jdbcTemplate.execute("TRUNCATE borrowing_records, user_borrowing_summary, fine_accrual_runs, " +
+                "book_popularity_daily, borrowing_records_archive, books_archive, users_archive, books, users CASCADE");
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> {
+            var cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+
+    private static User newUser(User.UserRole role) {
+        long n = SEQUENCE.incrementAndGet();
+        User user = new User();
+        user.setFirstName("Reader");
+        user.setLastName("Number" + n);
+        user.setEmail("reader" + n + "@example.com");
+        user.setPhoneNumber("+4915100" + String.format("%06d", n % 1_000_000));
+        user.setDateOfBirth(LocalDate.of(2000, 1, 1));
+        user.setAddress(n + " Library Street, Springfield");
+        user.setUsername("reader_" + n);
+        user.setPassword("password123");
+        user.setRole(role);
+        user.setStatus(User.UserStatus.ACTIVE);
+        return user;
+    }
+
+    private static Book newBook(int copies) {
+        long n = SEQUENCE.incrementAndGet();
+        Book book = new Book();
+        book.setTitle("Test Book " + n);
+        book.setAuthor("Test Author");
+        book.setIsbn("978" + String.format("%010d", n));
+        book.setPublisher("Test Publisher");
+        book.setPublicationDate(LocalDate.of(2010, 1, 1));
+        book.setCategory("Fiction");
+        book.setPages(300);
+        book.setPrice(new BigDecimal("19.99"));
+        book.setCopiesAvailable(copies);
+        book.setTotalCopies(copies);
+        book.setStatus(Book.BookStatus.AVAILABLE);
+        book.setLanguage("English");
+        return book;
+    }
+}